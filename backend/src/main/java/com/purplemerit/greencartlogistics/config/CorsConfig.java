@@ -1,5 +1,6 @@
 package com.purplemerit.greencartlogistics.config;
 
+import com.purplemerit.greencartlogistics.controller.KeysetPagination;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -24,6 +25,7 @@ public class CorsConfig {
                         )
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
                         .allowedHeaders("*")
+                        .exposedHeaders(KeysetPagination.NEXT_CURSOR_HEADER)
                         .allowCredentials(false)
                         .maxAge(3600);
                         
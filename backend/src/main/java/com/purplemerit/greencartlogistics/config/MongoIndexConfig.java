@@ -0,0 +1,125 @@
+package com.purplemerit.greencartlogistics.config;
+
+import com.purplemerit.greencartlogistics.model.Driver;
+import com.purplemerit.greencartlogistics.model.Order;
+import com.purplemerit.greencartlogistics.model.Route;
+import com.purplemerit.greencartlogistics.model.SimulationOrderIdChunk;
+import com.purplemerit.greencartlogistics.model.SimulationResult;
+import com.purplemerit.greencartlogistics.model.User;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the indexes declared on the document classes once the application is ready.
+ * Every repository query is expected to be answered from one of these indexes. Failures are logged
+ * rather than stopping the application, and a unique index is skipped while its collection holds
+ * duplicate keys, since building it would fail; those duplicates need cleaning up first.
+ */
+@Configuration
+public class MongoIndexConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexConfig.class);
+
+    public static final List<Class<?>> INDEXED_DOCUMENTS = List.of(
+            Order.class, Driver.class, Route.class, SimulationResult.class, SimulationOrderIdChunk.class, User.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.mongodb.ensure-indexes:true}")
+    private boolean ensureIndexes;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (!ensureIndexes) {
+            logger.info("Index creation disabled, declared indexes are assumed to exist");
+            return;
+        }
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        int ensured = 0;
+        int skipped = 0;
+        try {
+            for (Class<?> type : INDEXED_DOCUMENTS) {
+                IndexOperations indexOperations = mongoTemplate.indexOps(type);
+                List<IndexInfo> existing = indexOperations.getIndexInfo();
+                for (IndexDefinition index : resolveIndexes(mappingContext, type)) {
+                    if (isUnique(index) && !exists(existing, index) && hasDuplicateKeys(type, index)) {
+                        logger.warn("Skipped unique index {} on {}: the collection holds duplicate keys",
+                                   index.getIndexKeys().toJson(), type.getSimpleName());
+                        skipped++;
+                        continue;
+                    }
+                    String name = indexOperations.ensureIndex(index);
+                    logger.debug("Ensured index {} on {}", name, type.getSimpleName());
+                    ensured++;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Could not ensure declared indexes after {} of them, queries may scan whole collections: {}",
+                        ensured, e.getMessage());
+            return;
+        }
+        logger.info("Ensured {} declared indexes on {} collections, {} skipped", ensured, INDEXED_DOCUMENTS.size(),
+                   skipped);
+    }
+
+    private boolean isUnique(IndexDefinition index) {
+        return Boolean.TRUE.equals(index.getIndexOptions().get("unique"));
+    }
+
+    private boolean exists(List<IndexInfo> existing, IndexDefinition index) {
+        List<String> fields = new ArrayList<>(index.getIndexKeys().keySet());
+        return existing.stream().anyMatch(info -> info.isUnique() && info.getIndexFields().stream()
+                .map(IndexField::getKey)
+                .collect(Collectors.toList())
+                .equals(fields));
+    }
+
+    /**
+     * Whether two documents share the key of a unique index, found with one grouping pass
+     */
+    private boolean hasDuplicateKeys(Class<?> type, IndexDefinition index) {
+        Document key = new Document();
+        for (String field : index.getIndexKeys().keySet()) {
+            key.append(field.replace('.', '_'), "$" + field);
+        }
+        List<Document> pipeline = List.of(
+                new Document("$group", new Document("_id", key).append("count", new Document("$sum", 1))),
+                new Document("$match", new Document("count", new Document("$gt", 1))),
+                new Document("$limit", 1));
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(type))
+                .aggregate(pipeline)
+                .allowDiskUse(true)
+                .first() != null;
+    }
+
+    /**
+     * Indexes declared on a document class through @Indexed and @CompoundIndex
+     */
+    public static List<IndexDefinition> resolveIndexes(
+            MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext, Class<?> type) {
+        List<IndexDefinition> indexes = new ArrayList<>();
+        new MongoPersistentEntityIndexResolver(mappingContext).resolveIndexFor(type).forEach(indexes::add);
+        return indexes;
+    }
+}
@@ -1,5 +1,6 @@
 package com.purplemerit.greencartlogistics.config;
 
+import com.purplemerit.greencartlogistics.controller.KeysetPagination;
 import com.purplemerit.greencartlogistics.security.AuthEntryPointJwt;
 import com.purplemerit.greencartlogistics.security.AuthTokenFilter;
 import com.purplemerit.greencartlogistics.service.UserDetailsServiceImpl;
@@ -77,6 +78,7 @@ public class SecurityConfig {
         configuration.addAllowedOriginPattern("*");
         configuration.addAllowedHeader("*");
         configuration.addAllowedMethod("*");
+        configuration.addExposedHeader(KeysetPagination.NEXT_CURSOR_HEADER);
         configuration.setAllowCredentials(false);
         configuration.setMaxAge(3600L);
         
@@ -0,0 +1,58 @@
+package com.purplemerit.greencartlogistics.config;
+
+import com.purplemerit.greencartlogistics.model.CompanyRules;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Versioned company rule sets a simulation can select by name.
+ * Version "v1" is always available and holds the original rules unless configured otherwise.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.simulation.rules")
+public class SimulationRulesProperties {
+
+    public static final String BUILT_IN_VERSION = "v1";
+
+    private String defaultVersion = BUILT_IN_VERSION;
+
+    private Map<String, CompanyRules> versions = new LinkedHashMap<>();
+
+    /**
+     * Rule set for the requested version, or the default version when none is requested
+     */
+    public CompanyRules resolve(String version) {
+        String effectiveVersion = resolveVersion(version);
+        CompanyRules rules = versions.get(effectiveVersion);
+        if (rules == null && BUILT_IN_VERSION.equals(effectiveVersion)) {
+            return CompanyRules.original();
+        }
+        if (rules == null) {
+            throw new RuntimeException("Unknown rules version: " + effectiveVersion);
+        }
+        return rules;
+    }
+
+    public String resolveVersion(String version) {
+        return version != null && !version.isBlank() ? version : defaultVersion;
+    }
+
+    public String getDefaultVersion() {
+        return defaultVersion;
+    }
+
+    public void setDefaultVersion(String defaultVersion) {
+        this.defaultVersion = defaultVersion;
+    }
+
+    public Map<String, CompanyRules> getVersions() {
+        return versions;
+    }
+
+    public void setVersions(Map<String, CompanyRules> versions) {
+        this.versions = versions;
+    }
+}
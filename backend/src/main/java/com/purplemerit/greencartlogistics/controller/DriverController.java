@@ -1,12 +1,16 @@
 package com.purplemerit.greencartlogistics.controller;
 
+import com.purplemerit.greencartlogistics.dto.MessageResponse;
 import com.purplemerit.greencartlogistics.model.Driver;
 import com.purplemerit.greencartlogistics.repository.DriverRepository;
+import com.purplemerit.greencartlogistics.service.IncrementalSimulationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -27,10 +31,27 @@ public class DriverController {
     @Autowired
     private DriverRepository driverRepository;
     
+    @Autowired
+    private IncrementalSimulationService incrementalSimulationService;
+    
+    @Autowired
+    private KeysetPagination keysetPagination;
+    
     @GetMapping
-    @Operation(summary = "Get all drivers", description = "Retrieve all drivers in the system")
-    public List<Driver> getAllDrivers() {
-        return driverRepository.findAll();
+    @Operation(summary = "Get all drivers", 
+               description = "Retrieve drivers in id order, one page at a time. When more follow, pass the " +
+                             "X-Next-Cursor response header back as the cursor parameter to get the next page")
+    public ResponseEntity<?> getAllDrivers(@RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) Integer limit) {
+        try {
+            String afterId = keysetPagination.decodeId(cursor);
+            Pageable pageable = keysetPagination.pageOf(limit);
+            Slice<Driver> page = afterId == null ? driverRepository.findAllByOrderByIdAsc(pageable)
+                    : driverRepository.findByIdGreaterThanOrderByIdAsc(afterId, pageable);
+            return keysetPagination.toResponse(page, driver -> new String[]{driver.getId()});
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
     }
     
     @GetMapping("/active")
@@ -66,7 +87,12 @@ public class DriverController {
             driver.setActive(driverDetails.isActive());
             driver.setHasFatiguePenalty(driverDetails.isHasFatiguePenalty());
             
-            return ResponseEntity.ok(driverRepository.save(driver));
+            Driver savedDriver = driverRepository.save(driver);
+            
+            // Replay the driver's deliveries in the latest simulation
+            incrementalSimulationService.driverUpdated(savedDriver);
+            
+            return ResponseEntity.ok(savedDriver);
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -0,0 +1,92 @@
+package com.purplemerit.greencartlogistics.controller;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination for list endpoints. A page is a plain JSON array; when more results follow,
+ * an opaque continuation token for the next page is returned in the {@value #NEXT_CURSOR_HEADER}
+ * header and passed back as the {@code cursor} query parameter. Tokens encode the sort key of the
+ * last returned document, so each page is an index range scan rather than a skip.
+ */
+@Component
+public class KeysetPagination {
+    
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
+    private static final String SEPARATOR = "|";
+    
+    @Value("${app.pagination.default-size:100}")
+    private int defaultSize;
+    
+    @Value("${app.pagination.max-size:500}")
+    private int maxSize;
+    
+    /**
+     * First page of the requested size, capped at the maximum page size
+     */
+    public Pageable pageOf(Integer limit) {
+        int size = limit != null && limit > 0 ? Math.min(limit, maxSize) : defaultSize;
+        return PageRequest.of(0, size);
+    }
+    
+    /**
+     * Decode a continuation token into its sort key parts
+     *
+     * @return the parts, or null for the first page
+     */
+    public String[] decode(String cursor, int parts) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, -1);
+            if (keys.length != parts || !ObjectId.isValid(keys[parts - 1])) {
+                throw new IllegalArgumentException();
+            }
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid continuation token");
+        }
+    }
+    
+    /**
+     * Decode a continuation token holding a document id
+     *
+     * @return the id, or null for the first page
+     */
+    public String decodeId(String cursor) {
+        String[] keys = decode(cursor, 1);
+        return keys != null ? keys[0] : null;
+    }
+    
+    /**
+     * The slice's content, with the token for the next page when there is one
+     *
+     * @param keyOf sort key parts of a document, ending with its id
+     */
+    public <T> ResponseEntity<List<T>> toResponse(Slice<T> slice, Function<T, String[]> keyOf) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (slice.hasNext() && slice.hasContent()) {
+            List<T> content = slice.getContent();
+            response.header(NEXT_CURSOR_HEADER, encode(keyOf.apply(content.get(content.size() - 1))));
+        }
+        return response.body(slice.getContent());
+    }
+    
+    static String encode(String... keys) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(SEPARATOR, keys).getBytes(StandardCharsets.UTF_8));
+    }
+}
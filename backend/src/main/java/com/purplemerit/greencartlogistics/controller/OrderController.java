@@ -1,16 +1,27 @@
 package com.purplemerit.greencartlogistics.controller;
 
+import com.purplemerit.greencartlogistics.dto.DeliveryPerformance;
+import com.purplemerit.greencartlogistics.dto.MessageResponse;
 import com.purplemerit.greencartlogistics.model.Order;
 import com.purplemerit.greencartlogistics.repository.OrderRepository;
+import com.purplemerit.greencartlogistics.service.DeliveryPerformanceService;
+import com.purplemerit.greencartlogistics.service.IncrementalSimulationService;
+import com.purplemerit.greencartlogistics.service.NdjsonExporter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,10 +38,49 @@ public class OrderController {
     @Autowired
     private OrderRepository orderRepository;
     
+    @Autowired
+    private IncrementalSimulationService incrementalSimulationService;
+    
+    @Autowired
+    private KeysetPagination keysetPagination;
+    
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+    
+    @Autowired
+    private DeliveryPerformanceService deliveryPerformanceService;
+    
     @GetMapping
-    @Operation(summary = "Get all orders", description = "Retrieve all orders in the system")
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    @Operation(summary = "Get all orders", 
+               description = "Retrieve orders in id order, one page at a time. When more follow, pass the " +
+                             "X-Next-Cursor response header back as the cursor parameter to get the next page")
+    public ResponseEntity<?> getAllOrders(@RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) Integer limit) {
+        try {
+            String afterId = keysetPagination.decodeId(cursor);
+            Pageable pageable = keysetPagination.pageOf(limit);
+            Slice<Order> page = afterId == null ? orderRepository.findAllByOrderByIdAsc(pageable)
+                    : orderRepository.findByIdGreaterThanOrderByIdAsc(afterId, pageable);
+            return keysetPagination.toResponse(page, order -> new String[]{order.getId()});
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping(value = "/export", produces = NdjsonExporter.MEDIA_TYPE)
+    @Operation(summary = "Export orders", 
+               description = "Stream orders as newline-delimited JSON, one order per line. Filters are optional " +
+                             "and combined; from (inclusive) and to (exclusive) bound the delivery time")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) Order.OrderStatus status,
+            @RequestParam(required = false) String routeId,
+            @RequestParam(required = false) String driverId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        StreamingResponseBody body = out -> ndjsonExporter.exportOrders(status, routeId, driverId, from, to, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonExporter.MEDIA_TYPE))
+                .body(body);
     }
     
     @GetMapping("/{id}")
@@ -76,7 +126,12 @@ public class OrderController {
             // Recalculate profit
             order.calculateProfit();
             
-            return ResponseEntity.ok(orderRepository.save(order));
+            Order savedOrder = orderRepository.save(order);
+            
+            // Re-simulate the order if the latest simulation delivered it
+            incrementalSimulationService.orderUpdated(savedOrder);
+            
+            return ResponseEntity.ok(savedOrder);
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -114,32 +169,10 @@ public class OrderController {
     }
     
     @GetMapping("/stats/delivery-performance")
-    @Operation(summary = "Get delivery performance stats", description = "Get on-time vs late delivery statistics")
-    public ResponseEntity<?> getDeliveryPerformanceStats() {
-        long onTimeDeliveries = orderRepository.countByIsDeliveredOnTime(true);
-        long lateDeliveries = orderRepository.countByIsDeliveredOnTime(false);
-        
-        return ResponseEntity.ok(new DeliveryStats(onTimeDeliveries, lateDeliveries));
-    }
-    
-    // Inner class for delivery stats response
-    public static class DeliveryStats {
-        private long onTimeDeliveries;
-        private long lateDeliveries;
-        private long totalDeliveries;
-        private double efficiencyScore;
-        
-        public DeliveryStats(long onTimeDeliveries, long lateDeliveries) {
-            this.onTimeDeliveries = onTimeDeliveries;
-            this.lateDeliveries = lateDeliveries;
-            this.totalDeliveries = onTimeDeliveries + lateDeliveries;
-            this.efficiencyScore = totalDeliveries > 0 ? (double) onTimeDeliveries / totalDeliveries * 100 : 0;
-        }
-        
-        // Getters
-        public long getOnTimeDeliveries() { return onTimeDeliveries; }
-        public long getLateDeliveries() { return lateDeliveries; }
-        public long getTotalDeliveries() { return totalDeliveries; }
-        public double getEfficiencyScore() { return efficiencyScore; }
+    @Operation(summary = "Get delivery performance stats", 
+               description = "Get on-time vs late delivery, profit, fuel and penalty totals of delivered orders, " +
+                             "overall and by route, traffic level, driver and day")
+    public DeliveryPerformance getDeliveryPerformanceStats() {
+        return deliveryPerformanceService.getDeliveryPerformance();
     }
 }
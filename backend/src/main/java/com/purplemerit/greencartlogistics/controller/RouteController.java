@@ -1,12 +1,16 @@
 package com.purplemerit.greencartlogistics.controller;
 
+import com.purplemerit.greencartlogistics.dto.MessageResponse;
 import com.purplemerit.greencartlogistics.model.Route;
 import com.purplemerit.greencartlogistics.repository.RouteRepository;
+import com.purplemerit.greencartlogistics.service.IncrementalSimulationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -27,10 +31,27 @@ public class RouteController {
     @Autowired
     private RouteRepository routeRepository;
     
+    @Autowired
+    private IncrementalSimulationService incrementalSimulationService;
+    
+    @Autowired
+    private KeysetPagination keysetPagination;
+    
     @GetMapping
-    @Operation(summary = "Get all routes", description = "Retrieve all routes in the system")
-    public List<Route> getAllRoutes() {
-        return routeRepository.findAll();
+    @Operation(summary = "Get all routes", 
+               description = "Retrieve routes in id order, one page at a time. When more follow, pass the " +
+                             "X-Next-Cursor response header back as the cursor parameter to get the next page")
+    public ResponseEntity<?> getAllRoutes(@RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) Integer limit) {
+        try {
+            String afterId = keysetPagination.decodeId(cursor);
+            Pageable pageable = keysetPagination.pageOf(limit);
+            Slice<Route> page = afterId == null ? routeRepository.findAllByOrderByIdAsc(pageable)
+                    : routeRepository.findByIdGreaterThanOrderByIdAsc(afterId, pageable);
+            return keysetPagination.toResponse(page, route -> new String[]{route.getId()});
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
     }
     
     @GetMapping("/active")
@@ -68,6 +89,7 @@ public class RouteController {
         
         if (optionalRoute.isPresent()) {
             Route route = optionalRoute.get();
+            String previousRouteId = route.getRouteId();
             route.setRouteId(routeDetails.getRouteId());
             route.setDistanceKm(routeDetails.getDistanceKm());
             route.setTrafficLevel(routeDetails.getTrafficLevel());
@@ -76,7 +98,12 @@ public class RouteController {
             route.setEndLocation(routeDetails.getEndLocation());
             route.setActive(routeDetails.isActive());
             
-            return ResponseEntity.ok(routeRepository.save(route));
+            Route savedRoute = routeRepository.save(route);
+            
+            // Re-simulate the latest simulation's orders on this route
+            incrementalSimulationService.routeUpdated(previousRouteId, savedRoute);
+            
+            return ResponseEntity.ok(savedRoute);
         } else {
             return ResponseEntity.notFound().build();
         }
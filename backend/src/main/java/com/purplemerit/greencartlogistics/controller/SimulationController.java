@@ -1,10 +1,18 @@
 package com.purplemerit.greencartlogistics.controller;
 
 import com.purplemerit.greencartlogistics.dto.MessageResponse;
+import com.purplemerit.greencartlogistics.dto.SimulationJobResponse;
 import com.purplemerit.greencartlogistics.dto.SimulationRequest;
+import com.purplemerit.greencartlogistics.dto.SimulationSummary;
+import com.purplemerit.greencartlogistics.dto.SimulationSweepRequest;
+import com.purplemerit.greencartlogistics.dto.SimulationSweepResponse;
 import com.purplemerit.greencartlogistics.model.SimulationResult;
 import com.purplemerit.greencartlogistics.security.UserPrincipal;
+import com.purplemerit.greencartlogistics.service.NdjsonExporter;
+import com.purplemerit.greencartlogistics.service.SimulationJob;
+import com.purplemerit.greencartlogistics.service.SimulationJobService;
 import com.purplemerit.greencartlogistics.service.SimulationService;
+import com.purplemerit.greencartlogistics.service.SimulationSweepService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,11 +20,19 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 /**
@@ -34,24 +50,45 @@ public class SimulationController {
     @Autowired
     private SimulationService simulationService;
     
+    @Autowired
+    private SimulationSweepService simulationSweepService;
+    
+    @Autowired
+    private SimulationJobService simulationJobService;
+    
+    @Autowired
+    private KeysetPagination keysetPagination;
+    
+    @Autowired
+    private NdjsonExporter ndjsonExporter;
+    
     @PostMapping("/run")
     @Operation(summary = "Run simulation", description = "Run delivery simulation with specified parameters")
     public ResponseEntity<?> runSimulation(@Valid @RequestBody SimulationRequest request, 
                                          Authentication authentication) {
+        return executeSimulation(request, authentication);
+    }
+    
+    @PostMapping("/dry-run")
+    @Operation(summary = "Run what-if simulation", 
+               description = "Run delivery simulation without modifying orders or saving the result")
+    public ResponseEntity<?> dryRunSimulation(@Valid @RequestBody SimulationRequest request, 
+                                            Authentication authentication) {
+        request.setDryRun(true);
+        return executeSimulation(request, authentication);
+    }
+    
+    private ResponseEntity<?> executeSimulation(SimulationRequest request, Authentication authentication) {
         try {
             UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
             
-            logger.info("Running simulation requested by user: {}", userPrincipal.getUsername());
+            logger.info("Running {}simulation requested by user: {}", 
+                       request.isDryRun() ? "dry-run " : "", userPrincipal.getUsername());
             
             // Validate input parameters
-            if (request.getNumberOfDrivers() <= 0) {
-                return ResponseEntity.badRequest()
-                        .body(new MessageResponse("Number of drivers must be greater than 0"));
-            }
-            
-            if (request.getMaxHoursPerDriver() <= 0 || request.getMaxHoursPerDriver() > 24) {
-                return ResponseEntity.badRequest()
-                        .body(new MessageResponse("Max hours per driver must be between 1 and 24"));
+            String invalid = validateParameters(request);
+            if (invalid != null) {
+                return ResponseEntity.badRequest().body(new MessageResponse(invalid));
             }
             
             SimulationResult result = simulationService.runSimulation(request, userPrincipal.getId());
@@ -71,12 +108,110 @@ public class SimulationController {
         }
     }
     
+    private String validateParameters(SimulationRequest request) {
+        if (request.getNumberOfDrivers() <= 0) {
+            return "Number of drivers must be greater than 0";
+        }
+        if (request.getMaxHoursPerDriver() <= 0 || request.getMaxHoursPerDriver() > 24) {
+            return "Max hours per driver must be between 1 and 24";
+        }
+        return null;
+    }
+    
+    @PostMapping("/jobs")
+    @Operation(summary = "Submit simulation job", 
+               description = "Queue a simulation to run in the background and return its job ID immediately")
+    public ResponseEntity<?> submitSimulationJob(@Valid @RequestBody SimulationRequest request, 
+                                               Authentication authentication) {
+        try {
+            UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+            
+            String invalid = validateParameters(request);
+            if (invalid != null) {
+                return ResponseEntity.badRequest().body(new MessageResponse(invalid));
+            }
+            
+            SimulationJob job = simulationJobService.submit(request, userPrincipal.getId());
+            return ResponseEntity.accepted().body(SimulationJobResponse.from(job));
+        } catch (RuntimeException e) {
+            logger.error("Simulation job submission failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new MessageResponse("Simulation job submission failed: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get simulation job", 
+               description = "Retrieve status, percent complete, ETA and, once completed, the result of a simulation job")
+    public ResponseEntity<SimulationJobResponse> getSimulationJob(@PathVariable String jobId, 
+                                                                Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return simulationJobService.getJob(jobId, userPrincipal.getId())
+                .map(job -> ResponseEntity.ok(SimulationJobResponse.from(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream simulation job progress", 
+               description = "Server-Sent Events stream of running KPIs (orders processed, profit, on-time ratio, " +
+                             "fuel per traffic level) at a fixed cadence, ending with a complete event")
+    public ResponseEntity<?> streamSimulationJob(@PathVariable String jobId, Authentication authentication) {
+        try {
+            UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+            return ResponseEntity.ok(simulationJobService.streamProgress(jobId, userPrincipal.getId()));
+        } catch (RuntimeException e) {
+            logger.error("Simulation job progress stream failed: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @DeleteMapping("/jobs/{jobId}")
+    @Operation(summary = "Cancel simulation job", description = "Cancel a queued or running simulation job")
+    public ResponseEntity<?> cancelSimulationJob(@PathVariable String jobId, Authentication authentication) {
+        try {
+            UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+            SimulationJob job = simulationJobService.cancel(jobId, userPrincipal.getId());
+            return ResponseEntity.ok(SimulationJobResponse.from(job));
+        } catch (RuntimeException e) {
+            logger.error("Simulation job cancellation failed: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Simulation job cancellation failed: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/sweep")
+    @Operation(summary = "Run parameter sweep", 
+               description = "Simulate every combination of driver count, max hours and start time ranges " +
+                             "in parallel without modifying orders, and return the profit/efficiency Pareto frontier. " +
+                             "Every scenario uses the same seed, echoed in the response")
+    public ResponseEntity<?> runSweep(@Valid @RequestBody SimulationSweepRequest request) {
+        try {
+            SimulationSweepResponse response = simulationSweepService.runSweep(request);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            logger.error("Simulation sweep failed: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Simulation sweep failed: " + e.getMessage()));
+        }
+    }
+    
     @GetMapping("/history")
-    @Operation(summary = "Get simulation history", description = "Retrieve all simulation results")
-    public ResponseEntity<List<SimulationResult>> getSimulationHistory() {
+    @Operation(summary = "Get simulation history", 
+               description = "Retrieve simulation results newest first, one page at a time. When more follow, " +
+                             "pass the X-Next-Cursor response header back as the cursor parameter")
+    public ResponseEntity<?> getSimulationHistory(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer limit) {
+        String[] before;
         try {
-            List<SimulationResult> history = simulationService.getSimulationHistory();
-            return ResponseEntity.ok(history);
+            before = decodeHistoryCursor(cursor);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+        try {
+            Slice<SimulationSummary> history = simulationService.getSimulationHistory(
+                    before != null ? LocalDateTime.parse(before[0]) : null, before != null ? before[1] : null,
+                    keysetPagination.pageOf(limit));
+            return keysetPagination.toResponse(history, this::historyKey);
         } catch (Exception e) {
             logger.error("Error retrieving simulation history: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -84,18 +219,60 @@ public class SimulationController {
     }
     
     @GetMapping("/history/my")
-    @Operation(summary = "Get my simulation history", description = "Retrieve simulation results for current user")
-    public ResponseEntity<List<SimulationResult>> getMySimulationHistory(Authentication authentication) {
+    @Operation(summary = "Get my simulation history", 
+               description = "Retrieve simulation results for current user newest first, one page at a time")
+    public ResponseEntity<?> getMySimulationHistory(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer limit,
+                                                    Authentication authentication) {
+        String[] before;
+        try {
+            before = decodeHistoryCursor(cursor);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
         try {
             UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-            List<SimulationResult> history = simulationService.getSimulationHistoryByUser(userPrincipal.getId());
-            return ResponseEntity.ok(history);
+            Slice<SimulationSummary> history = simulationService.getSimulationHistoryByUser(userPrincipal.getId(),
+                    before != null ? LocalDateTime.parse(before[0]) : null, before != null ? before[1] : null,
+                    keysetPagination.pageOf(limit));
+            return keysetPagination.toResponse(history, this::historyKey);
         } catch (Exception e) {
             logger.error("Error retrieving user simulation history: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
     
+    @GetMapping("/history/range")
+    @Operation(summary = "Get simulation history in a time window", 
+               description = "Retrieve up to limit simulation results run strictly between from and to, " +
+                             "newest first")
+    public ResponseEntity<?> getSimulationHistoryBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(simulationService.getSimulationHistoryBetween(from, to,
+                    keysetPagination.pageOf(limit)).getContent());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping(value = "/export", produces = NdjsonExporter.MEDIA_TYPE)
+    @Operation(summary = "Export simulation results", 
+               description = "Stream simulation results as newline-delimited JSON, one result per line. " +
+                             "Filters are optional and combined; from (inclusive) and to (exclusive) bound " +
+                             "the simulation time")
+    public ResponseEntity<StreamingResponseBody> exportSimulationResults(
+            @RequestParam(required = false) String driverId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        StreamingResponseBody body = out -> ndjsonExporter.exportSimulationResults(driverId, from, to, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NdjsonExporter.MEDIA_TYPE))
+                .body(body);
+    }
+    
     @GetMapping("/latest")
     @Operation(summary = "Get latest simulation", description = "Retrieve the most recent simulation result")
     public ResponseEntity<SimulationResult> getLatestSimulation() {
@@ -116,12 +293,61 @@ public class SimulationController {
     @Operation(summary = "Get simulation by ID", description = "Retrieve a specific simulation result by ID")
     public ResponseEntity<SimulationResult> getSimulationById(@PathVariable String id) {
         try {
-            // This would require adding a findById method to SimulationService
-            // For now, we'll return a not implemented response
-            return ResponseEntity.notFound().build();
+            return simulationService.getSimulation(id)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e) {
             logger.error("Error retrieving simulation by ID: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
+    
+    @GetMapping("/{id}/processed-orders")
+    @Operation(summary = "Get processed orders of a simulation", 
+               description = "Retrieve the order IDs delivered by a stored simulation")
+    public ResponseEntity<List<String>> getProcessedOrderIds(@PathVariable String id) {
+        try {
+            return simulationService.getProcessedOrderIds(id)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            logger.error("Error retrieving processed orders of simulation: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    @PostMapping("/{id}/replay")
+    @Operation(summary = "Replay simulation", 
+               description = "Re-execute a stored simulation with its original seed, drivers and orders " +
+                             "without modifying anything, reproducing its KPIs")
+    public ResponseEntity<?> replaySimulation(@PathVariable String id, Authentication authentication) {
+        try {
+            UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+            SimulationResult result = simulationService.replaySimulation(id, userPrincipal.getId());
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            logger.error("Simulation replay failed: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Simulation replay failed: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * History is keyed on simulation timestamp, with the id breaking ties
+     */
+    private String[] historyKey(SimulationSummary summary) {
+        return new String[]{summary.getSimulationTimestamp().toString(), summary.getId()};
+    }
+    
+    private String[] decodeHistoryCursor(String cursor) {
+        String[] before = keysetPagination.decode(cursor, 2);
+        if (before != null) {
+            try {
+                LocalDateTime.parse(before[0]);
+            } catch (DateTimeParseException e) {
+                throw new RuntimeException("Invalid continuation token");
+            }
+        }
+        return before;
+    }
 }
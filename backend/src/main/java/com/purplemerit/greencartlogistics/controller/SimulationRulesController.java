@@ -0,0 +1,69 @@
+package com.purplemerit.greencartlogistics.controller;
+
+import com.purplemerit.greencartlogistics.dto.MessageResponse;
+import com.purplemerit.greencartlogistics.model.CompanyRules;
+import com.purplemerit.greencartlogistics.model.SimulationRuleSet;
+import com.purplemerit.greencartlogistics.security.UserPrincipal;
+import com.purplemerit.greencartlogistics.service.SimulationRulesService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Controller for company rules versions selectable by simulations
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/simulation/rules")
+@Tag(name = "Simulation Rules", description = "Company rules version APIs")
+@SecurityRequirement(name = "bearerAuth")
+public class SimulationRulesController {
+
+    @Autowired
+    private SimulationRulesService simulationRulesService;
+
+    @GetMapping
+    @Operation(summary = "Get rules versions",
+               description = "Retrieve every rules version a simulation can select, by version name")
+    public Map<String, CompanyRules> getRulesVersions() {
+        return simulationRulesService.getVersions();
+    }
+
+    @GetMapping("/{version}")
+    @Operation(summary = "Get rules version", description = "Retrieve the rules of one version")
+    public ResponseEntity<?> getRulesVersion(@PathVariable String version) {
+        try {
+            return ResponseEntity.ok(simulationRulesService.resolve(version));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{version}")
+    @Operation(summary = "Add rules version",
+               description = "Store a new rules version without a restart. Admins only; versions cannot be replaced " +
+                             "once added, so create a new version to change the rules")
+    public ResponseEntity<?> createRulesVersion(@PathVariable String version, @RequestBody CompanyRules rules,
+                                              Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        boolean admin = userPrincipal.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        if (!admin) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new MessageResponse("Only admins can add rules versions"));
+        }
+        try {
+            SimulationRuleSet ruleSet = simulationRulesService.createVersion(version, rules, userPrincipal.getId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(ruleSet);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.purplemerit.greencartlogistics.dto;
+
+import java.util.List;
+
+/**
+ * DTO for delivery KPIs of all delivered orders, overall and grouped by route, traffic level, driver and day
+ */
+public class DeliveryPerformance {
+    
+    private DeliveryTotals overall;
+    
+    private List<DeliveryTotals> byRoute;
+    
+    private List<DeliveryTotals> byTrafficLevel;
+    
+    private List<DeliveryTotals> byDriver;
+    
+    private List<DeliveryTotals> byDay; // Keyed by yyyy-MM-dd of the delivery time
+    
+    // Constructors
+    public DeliveryPerformance() {}
+    
+    public DeliveryPerformance(DeliveryTotals overall, List<DeliveryTotals> byRoute,
+                               List<DeliveryTotals> byTrafficLevel, List<DeliveryTotals> byDriver,
+                               List<DeliveryTotals> byDay) {
+        this.overall = overall;
+        this.byRoute = byRoute;
+        this.byTrafficLevel = byTrafficLevel;
+        this.byDriver = byDriver;
+        this.byDay = byDay;
+    }
+    
+    // Overall counts, kept at the top level for existing clients
+    public long getOnTimeDeliveries() {
+        return overall.getOnTimeDeliveries();
+    }
+    
+    public long getLateDeliveries() {
+        return overall.getLateDeliveries();
+    }
+    
+    public long getTotalDeliveries() {
+        return overall.getTotalDeliveries();
+    }
+    
+    public double getEfficiencyScore() {
+        return overall.getEfficiencyScore();
+    }
+    
+    // Getters and Setters
+    public DeliveryTotals getOverall() {
+        return overall;
+    }
+    
+    public void setOverall(DeliveryTotals overall) {
+        this.overall = overall;
+    }
+    
+    public List<DeliveryTotals> getByRoute() {
+        return byRoute;
+    }
+    
+    public void setByRoute(List<DeliveryTotals> byRoute) {
+        this.byRoute = byRoute;
+    }
+    
+    public List<DeliveryTotals> getByTrafficLevel() {
+        return byTrafficLevel;
+    }
+    
+    public void setByTrafficLevel(List<DeliveryTotals> byTrafficLevel) {
+        this.byTrafficLevel = byTrafficLevel;
+    }
+    
+    public List<DeliveryTotals> getByDriver() {
+        return byDriver;
+    }
+    
+    public void setByDriver(List<DeliveryTotals> byDriver) {
+        this.byDriver = byDriver;
+    }
+    
+    public List<DeliveryTotals> getByDay() {
+        return byDay;
+    }
+    
+    public void setByDay(List<DeliveryTotals> byDay) {
+        this.byDay = byDay;
+    }
+}
@@ -0,0 +1,101 @@
+package com.purplemerit.greencartlogistics.dto;
+
+/**
+ * DTO for delivered-order KPIs summed over one group of orders
+ */
+public class DeliveryTotals {
+    
+    private String key; // Route id, traffic level, driver id or day; null for the overall totals
+    
+    private long onTimeDeliveries;
+    
+    private long lateDeliveries;
+    
+    private long totalDeliveries;
+    
+    private double efficiencyScore;
+    
+    private double totalProfit;
+    
+    private double totalFuelCost;
+    
+    private double totalPenalties;
+    
+    private double totalBonuses;
+    
+    // Constructors
+    public DeliveryTotals() {}
+    
+    // Getters and Setters
+    public String getKey() {
+        return key;
+    }
+    
+    public void setKey(String key) {
+        this.key = key;
+    }
+    
+    public long getOnTimeDeliveries() {
+        return onTimeDeliveries;
+    }
+    
+    public void setOnTimeDeliveries(long onTimeDeliveries) {
+        this.onTimeDeliveries = onTimeDeliveries;
+    }
+    
+    public long getLateDeliveries() {
+        return lateDeliveries;
+    }
+    
+    public void setLateDeliveries(long lateDeliveries) {
+        this.lateDeliveries = lateDeliveries;
+    }
+    
+    public long getTotalDeliveries() {
+        return totalDeliveries;
+    }
+    
+    public void setTotalDeliveries(long totalDeliveries) {
+        this.totalDeliveries = totalDeliveries;
+    }
+    
+    public double getEfficiencyScore() {
+        return efficiencyScore;
+    }
+    
+    public void setEfficiencyScore(double efficiencyScore) {
+        this.efficiencyScore = efficiencyScore;
+    }
+    
+    public double getTotalProfit() {
+        return totalProfit;
+    }
+    
+    public void setTotalProfit(double totalProfit) {
+        this.totalProfit = totalProfit;
+    }
+    
+    public double getTotalFuelCost() {
+        return totalFuelCost;
+    }
+    
+    public void setTotalFuelCost(double totalFuelCost) {
+        this.totalFuelCost = totalFuelCost;
+    }
+    
+    public double getTotalPenalties() {
+        return totalPenalties;
+    }
+    
+    public void setTotalPenalties(double totalPenalties) {
+        this.totalPenalties = totalPenalties;
+    }
+    
+    public double getTotalBonuses() {
+        return totalBonuses;
+    }
+    
+    public void setTotalBonuses(double totalBonuses) {
+        this.totalBonuses = totalBonuses;
+    }
+}
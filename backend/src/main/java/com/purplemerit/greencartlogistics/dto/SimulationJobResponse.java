@@ -0,0 +1,82 @@
+package com.purplemerit.greencartlogistics.dto;
+
+import com.purplemerit.greencartlogistics.model.SimulationResult;
+import com.purplemerit.greencartlogistics.service.SimulationJob;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the status of a background simulation job
+ */
+public class SimulationJobResponse {
+    
+    private String jobId;
+    
+    private SimulationJob.Status status;
+    
+    private double percentComplete;
+    
+    private Long etaSeconds; // Estimated seconds until a running job finishes, null when unknown
+    
+    private LocalDateTime submittedAt;
+    
+    private LocalDateTime startedAt;
+    
+    private LocalDateTime finishedAt;
+    
+    private SimulationResult result; // Present once the job has completed
+    
+    private String error;
+    
+    public static SimulationJobResponse from(SimulationJob job) {
+        SimulationJobResponse response = new SimulationJobResponse();
+        response.jobId = job.getId();
+        response.status = job.getStatus();
+        response.percentComplete = job.getPercentComplete();
+        Duration eta = job.getEstimatedTimeRemaining();
+        response.etaSeconds = eta != null ? eta.toSeconds() : null;
+        response.submittedAt = job.getSubmittedAt();
+        response.startedAt = job.getStartedAt();
+        response.finishedAt = job.getFinishedAt();
+        response.result = job.getResult();
+        response.error = job.getError();
+        return response;
+    }
+    
+    public String getJobId() {
+        return jobId;
+    }
+    
+    public SimulationJob.Status getStatus() {
+        return status;
+    }
+    
+    public double getPercentComplete() {
+        return percentComplete;
+    }
+    
+    public Long getEtaSeconds() {
+        return etaSeconds;
+    }
+    
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public SimulationResult getResult() {
+        return result;
+    }
+    
+    public String getError() {
+        return error;
+    }
+}
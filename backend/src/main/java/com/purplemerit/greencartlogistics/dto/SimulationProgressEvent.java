@@ -0,0 +1,84 @@
+package com.purplemerit.greencartlogistics.dto;
+
+import com.purplemerit.greencartlogistics.service.KpiAccumulator;
+import com.purplemerit.greencartlogistics.service.SimulationJob;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * DTO for a live KPI snapshot of a running simulation job, pushed over Server-Sent Events
+ */
+public class SimulationProgressEvent {
+    
+    private String jobId;
+    
+    private SimulationJob.Status status;
+    
+    private long ordersProcessed;
+    
+    private long totalOrders;
+    
+    private double percentComplete;
+    
+    private Long etaSeconds;
+    
+    private double runningProfit;
+    
+    private double onTimeRatio; // Share of deliveries so far that were on time, 0-1
+    
+    private Map<String, Double> fuelCostBreakdown; // Fuel cost so far per traffic level
+    
+    public static SimulationProgressEvent from(SimulationJob job) {
+        KpiAccumulator kpis = job.getKpis();
+        SimulationProgressEvent event = new SimulationProgressEvent();
+        event.jobId = job.getId();
+        event.status = job.getStatus();
+        event.ordersProcessed = job.getCompleted();
+        event.totalOrders = job.getTotal();
+        event.percentComplete = job.getPercentComplete();
+        Duration eta = job.getEstimatedTimeRemaining();
+        event.etaSeconds = eta != null ? eta.toSeconds() : null;
+        event.runningProfit = kpis.getTotalProfit();
+        event.onTimeRatio = kpis.getTotalDeliveries() > 0
+                ? (double) kpis.getOnTimeDeliveries() / kpis.getTotalDeliveries() : 0.0;
+        event.fuelCostBreakdown = kpis.getFuelCostBreakdown();
+        return event;
+    }
+    
+    public String getJobId() {
+        return jobId;
+    }
+    
+    public SimulationJob.Status getStatus() {
+        return status;
+    }
+    
+    public long getOrdersProcessed() {
+        return ordersProcessed;
+    }
+    
+    public long getTotalOrders() {
+        return totalOrders;
+    }
+    
+    public double getPercentComplete() {
+        return percentComplete;
+    }
+    
+    public Long getEtaSeconds() {
+        return etaSeconds;
+    }
+    
+    public double getRunningProfit() {
+        return runningProfit;
+    }
+    
+    public double getOnTimeRatio() {
+        return onTimeRatio;
+    }
+    
+    public Map<String, Double> getFuelCostBreakdown() {
+        return fuelCostBreakdown;
+    }
+}
@@ -1,5 +1,7 @@
 package com.purplemerit.greencartlogistics.dto;
 
+import com.purplemerit.greencartlogistics.model.AllocationStrategy;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -23,6 +25,30 @@ public class SimulationRequest {
     
     private String notes;
     
+    // Run against an in-memory overlay of order state without persisting anything
+    private boolean dryRun;
+    
+    // Number of independent Monte Carlo replicas; more than 1 adds KPI distributions to the result
+    @Min(value = 1, message = "Replications must be at least 1")
+    @Max(value = 1000, message = "Replications cannot exceed 1000")
+    private Integer replications;
+    
+    // Seed for the simulation random stream; runs with the same seed and data produce identical KPIs
+    private Long seed;
+    
+    // How orders are distributed across drivers
+    @NotNull(message = "Allocation strategy is required")
+    private AllocationStrategy allocationStrategy = AllocationStrategy.ROUND_ROBIN;
+    
+    // Read pending orders from a database cursor in chunks instead of loading the whole backlog
+    private boolean streaming;
+    
+    // Simulate each origin warehouse's drivers and orders separately, in parallel
+    private boolean partitionByWarehouse;
+    
+    // Company rules version to judge deliveries by (app.simulation.rules.versions); default version when empty
+    private String rulesVersion;
+    
     public SimulationRequest() {}
     
     public SimulationRequest(Integer numberOfDrivers, LocalTime routeStartTime, Integer maxHoursPerDriver) {
@@ -62,4 +88,60 @@ public class SimulationRequest {
     public void setNotes(String notes) {
         this.notes = notes;
     }
+    
+    public boolean isDryRun() {
+        return dryRun;
+    }
+    
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+    
+    public Integer getReplications() {
+        return replications;
+    }
+    
+    public void setReplications(Integer replications) {
+        this.replications = replications;
+    }
+    
+    public Long getSeed() {
+        return seed;
+    }
+    
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+    
+    public AllocationStrategy getAllocationStrategy() {
+        return allocationStrategy;
+    }
+    
+    public void setAllocationStrategy(AllocationStrategy allocationStrategy) {
+        this.allocationStrategy = allocationStrategy;
+    }
+    
+    public boolean isStreaming() {
+        return streaming;
+    }
+    
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+    
+    public boolean isPartitionByWarehouse() {
+        return partitionByWarehouse;
+    }
+    
+    public void setPartitionByWarehouse(boolean partitionByWarehouse) {
+        this.partitionByWarehouse = partitionByWarehouse;
+    }
+    
+    public String getRulesVersion() {
+        return rulesVersion;
+    }
+    
+    public void setRulesVersion(String rulesVersion) {
+        this.rulesVersion = rulesVersion;
+    }
 }
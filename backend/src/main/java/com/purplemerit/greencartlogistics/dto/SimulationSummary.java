@@ -0,0 +1,187 @@
+package com.purplemerit.greencartlogistics.dto;
+
+import com.purplemerit.greencartlogistics.model.AllocationStrategy;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * DTO for a row of simulation history: the run parameters and headline KPIs of a SimulationResult,
+ * read from the database without its breakdowns, distributions and order id lists
+ */
+public class SimulationSummary {
+    
+    private String id;
+    
+    private LocalDateTime simulationTimestamp;
+    
+    private String simulatedBy;
+    
+    private Integer numberOfDrivers;
+    
+    private LocalTime routeStartTime;
+    
+    private Integer maxHoursPerDriver;
+    
+    private AllocationStrategy allocationStrategy;
+    
+    private String rulesVersion;
+    
+    private Double totalProfit;
+    
+    private Double efficiencyScore;
+    
+    private Integer onTimeDeliveries;
+    
+    private Integer lateDeliveries;
+    
+    private Integer totalDeliveries;
+    
+    private Double totalFuelCost;
+    
+    private Double totalPenalties;
+    
+    private Double totalBonuses;
+    
+    private String notes;
+    
+    // Constructors
+    public SimulationSummary() {}
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public LocalDateTime getSimulationTimestamp() {
+        return simulationTimestamp;
+    }
+    
+    public void setSimulationTimestamp(LocalDateTime simulationTimestamp) {
+        this.simulationTimestamp = simulationTimestamp;
+    }
+    
+    public String getSimulatedBy() {
+        return simulatedBy;
+    }
+    
+    public void setSimulatedBy(String simulatedBy) {
+        this.simulatedBy = simulatedBy;
+    }
+    
+    public Integer getNumberOfDrivers() {
+        return numberOfDrivers;
+    }
+    
+    public void setNumberOfDrivers(Integer numberOfDrivers) {
+        this.numberOfDrivers = numberOfDrivers;
+    }
+    
+    public LocalTime getRouteStartTime() {
+        return routeStartTime;
+    }
+    
+    public void setRouteStartTime(LocalTime routeStartTime) {
+        this.routeStartTime = routeStartTime;
+    }
+    
+    public Integer getMaxHoursPerDriver() {
+        return maxHoursPerDriver;
+    }
+    
+    public void setMaxHoursPerDriver(Integer maxHoursPerDriver) {
+        this.maxHoursPerDriver = maxHoursPerDriver;
+    }
+    
+    public AllocationStrategy getAllocationStrategy() {
+        return allocationStrategy;
+    }
+    
+    public void setAllocationStrategy(AllocationStrategy allocationStrategy) {
+        this.allocationStrategy = allocationStrategy;
+    }
+    
+    public String getRulesVersion() {
+        return rulesVersion;
+    }
+    
+    public void setRulesVersion(String rulesVersion) {
+        this.rulesVersion = rulesVersion;
+    }
+    
+    public Double getTotalProfit() {
+        return totalProfit;
+    }
+    
+    public void setTotalProfit(Double totalProfit) {
+        this.totalProfit = totalProfit;
+    }
+    
+    public Double getEfficiencyScore() {
+        return efficiencyScore;
+    }
+    
+    public void setEfficiencyScore(Double efficiencyScore) {
+        this.efficiencyScore = efficiencyScore;
+    }
+    
+    public Integer getOnTimeDeliveries() {
+        return onTimeDeliveries;
+    }
+    
+    public void setOnTimeDeliveries(Integer onTimeDeliveries) {
+        this.onTimeDeliveries = onTimeDeliveries;
+    }
+    
+    public Integer getLateDeliveries() {
+        return lateDeliveries;
+    }
+    
+    public void setLateDeliveries(Integer lateDeliveries) {
+        this.lateDeliveries = lateDeliveries;
+    }
+    
+    public Integer getTotalDeliveries() {
+        return totalDeliveries;
+    }
+    
+    public void setTotalDeliveries(Integer totalDeliveries) {
+        this.totalDeliveries = totalDeliveries;
+    }
+    
+    public Double getTotalFuelCost() {
+        return totalFuelCost;
+    }
+    
+    public void setTotalFuelCost(Double totalFuelCost) {
+        this.totalFuelCost = totalFuelCost;
+    }
+    
+    public Double getTotalPenalties() {
+        return totalPenalties;
+    }
+    
+    public void setTotalPenalties(Double totalPenalties) {
+        this.totalPenalties = totalPenalties;
+    }
+    
+    public Double getTotalBonuses() {
+        return totalBonuses;
+    }
+    
+    public void setTotalBonuses(Double totalBonuses) {
+        this.totalBonuses = totalBonuses;
+    }
+    
+    public String getNotes() {
+        return notes;
+    }
+    
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+}
@@ -0,0 +1,192 @@
+package com.purplemerit.greencartlogistics.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a parameter sweep: every combination of the given ranges is simulated
+ */
+public class SimulationSweepRequest {
+    
+    @NotNull(message = "Number of drivers range is required")
+    @Valid
+    private IntRange numberOfDrivers;
+    
+    @NotNull(message = "Max hours per driver range is required")
+    @Valid
+    private IntRange maxHoursPerDriver;
+    
+    @NotNull(message = "Route start time range is required")
+    @Valid
+    private TimeRange routeStartTime;
+    
+    // Company rules version every scenario is judged by; default version when empty
+    private String rulesVersion;
+    
+    // Seed shared by every scenario so they differ only in their parameters; random when empty
+    private Long seed;
+    
+    public SimulationSweepRequest() {}
+    
+    public SimulationSweepRequest(IntRange numberOfDrivers, IntRange maxHoursPerDriver, TimeRange routeStartTime) {
+        this.numberOfDrivers = numberOfDrivers;
+        this.maxHoursPerDriver = maxHoursPerDriver;
+        this.routeStartTime = routeStartTime;
+    }
+    
+    public IntRange getNumberOfDrivers() {
+        return numberOfDrivers;
+    }
+    
+    public void setNumberOfDrivers(IntRange numberOfDrivers) {
+        this.numberOfDrivers = numberOfDrivers;
+    }
+    
+    public IntRange getMaxHoursPerDriver() {
+        return maxHoursPerDriver;
+    }
+    
+    public void setMaxHoursPerDriver(IntRange maxHoursPerDriver) {
+        this.maxHoursPerDriver = maxHoursPerDriver;
+    }
+    
+    public TimeRange getRouteStartTime() {
+        return routeStartTime;
+    }
+    
+    public void setRouteStartTime(TimeRange routeStartTime) {
+        this.routeStartTime = routeStartTime;
+    }
+    
+    public String getRulesVersion() {
+        return rulesVersion;
+    }
+    
+    public void setRulesVersion(String rulesVersion) {
+        this.rulesVersion = rulesVersion;
+    }
+    
+    public Long getSeed() {
+        return seed;
+    }
+    
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+    
+    /**
+     * Inclusive integer range with a step
+     */
+    public static class IntRange {
+        
+        @NotNull(message = "Range start is required")
+        @Min(value = 1, message = "Range start must be at least 1")
+        private Integer from;
+        
+        @NotNull(message = "Range end is required")
+        @Min(value = 1, message = "Range end must be at least 1")
+        private Integer to;
+        
+        @Min(value = 1, message = "Range step must be at least 1")
+        private int step = 1;
+        
+        public IntRange() {}
+        
+        public IntRange(Integer from, Integer to, int step) {
+            this.from = from;
+            this.to = to;
+            this.step = step;
+        }
+        
+        /**
+         * Number of values in the range, computed without building them
+         */
+        public long count() {
+            if (step <= 0) {
+                throw new RuntimeException("Range step must be at least 1");
+            }
+            return to < from ? 0 : ((long) to - from) / step + 1;
+        }
+        
+        /**
+         * Largest value in the range; only meaningful when the range is not empty
+         */
+        public int last() {
+            return (int) (from + (count() - 1) * step);
+        }
+        
+        public List<Integer> values() {
+            long count = count();
+            List<Integer> values = new ArrayList<>((int) Math.min(count, Integer.MAX_VALUE));
+            for (long i = 0; i < count; i++) {
+                values.add((int) (from + i * step));
+            }
+            return values;
+        }
+        
+        public Integer getFrom() { return from; }
+        public void setFrom(Integer from) { this.from = from; }
+        public Integer getTo() { return to; }
+        public void setTo(Integer to) { this.to = to; }
+        public int getStep() { return step; }
+        public void setStep(int step) { this.step = step; }
+    }
+    
+    /**
+     * Inclusive time-of-day range stepped in minutes
+     */
+    public static class TimeRange {
+        
+        @NotNull(message = "Range start is required")
+        private LocalTime from;
+        
+        @NotNull(message = "Range end is required")
+        private LocalTime to;
+        
+        @Min(value = 1, message = "Range step must be at least 1 minute")
+        private int stepMinutes = 60;
+        
+        public TimeRange() {}
+        
+        public TimeRange(LocalTime from, LocalTime to, int stepMinutes) {
+            this.from = from;
+            this.to = to;
+            this.stepMinutes = stepMinutes;
+        }
+        
+        /**
+         * Number of values in the range, computed without building them
+         */
+        public long count() {
+            if (stepMinutes <= 0) {
+                throw new RuntimeException("Range step must be at least 1 minute");
+            }
+            long fromMinute = from.getHour() * 60L + from.getMinute();
+            long toMinute = to.getHour() * 60L + to.getMinute();
+            return toMinute < fromMinute ? 0 : (toMinute - fromMinute) / stepMinutes + 1;
+        }
+        
+        public List<LocalTime> values() {
+            long count = count();
+            int fromMinute = from.getHour() * 60 + from.getMinute();
+            List<LocalTime> values = new ArrayList<>((int) count);
+            for (long i = 0; i < count; i++) {
+                int minute = (int) (fromMinute + i * stepMinutes);
+                values.add(LocalTime.of(minute / 60, minute % 60));
+            }
+            return values;
+        }
+        
+        public LocalTime getFrom() { return from; }
+        public void setFrom(LocalTime from) { this.from = from; }
+        public LocalTime getTo() { return to; }
+        public void setTo(LocalTime to) { this.to = to; }
+        public int getStepMinutes() { return stepMinutes; }
+        public void setStepMinutes(int stepMinutes) { this.stepMinutes = stepMinutes; }
+    }
+}
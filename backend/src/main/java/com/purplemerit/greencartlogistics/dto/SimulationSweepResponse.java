@@ -0,0 +1,79 @@
+package com.purplemerit.greencartlogistics.dto;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * DTO for parameter sweep results and their profit/efficiency Pareto frontier
+ */
+public class SimulationSweepResponse {
+    
+    private List<ScenarioResult> scenarios;
+    
+    private List<ScenarioResult> paretoFrontier;
+    
+    private long seed;
+    
+    private long elapsedMillis;
+    
+    public SimulationSweepResponse(List<ScenarioResult> scenarios, List<ScenarioResult> paretoFrontier, 
+                                   long seed, long elapsedMillis) {
+        this.scenarios = scenarios;
+        this.paretoFrontier = paretoFrontier;
+        this.seed = seed;
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public List<ScenarioResult> getScenarios() {
+        return scenarios;
+    }
+    
+    public List<ScenarioResult> getParetoFrontier() {
+        return paretoFrontier;
+    }
+    
+    public int getScenarioCount() {
+        return scenarios.size();
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    /**
+     * KPIs of a single parameter combination
+     */
+    public static class ScenarioResult {
+        private final int numberOfDrivers;
+        private final int maxHoursPerDriver;
+        private final LocalTime routeStartTime;
+        private final double totalProfit;
+        private final double efficiencyScore;
+        private final int totalDeliveries;
+        private final int lateDeliveries;
+        
+        public ScenarioResult(int numberOfDrivers, int maxHoursPerDriver, LocalTime routeStartTime,
+                              double totalProfit, double efficiencyScore, int totalDeliveries, int lateDeliveries) {
+            this.numberOfDrivers = numberOfDrivers;
+            this.maxHoursPerDriver = maxHoursPerDriver;
+            this.routeStartTime = routeStartTime;
+            this.totalProfit = totalProfit;
+            this.efficiencyScore = efficiencyScore;
+            this.totalDeliveries = totalDeliveries;
+            this.lateDeliveries = lateDeliveries;
+        }
+        
+        // Getters
+        public int getNumberOfDrivers() { return numberOfDrivers; }
+        public int getMaxHoursPerDriver() { return maxHoursPerDriver; }
+        public LocalTime getRouteStartTime() { return routeStartTime; }
+        public double getTotalProfit() { return totalProfit; }
+        public double getEfficiencyScore() { return efficiencyScore; }
+        public int getTotalDeliveries() { return totalDeliveries; }
+        public int getLateDeliveries() { return lateDeliveries; }
+    }
+}
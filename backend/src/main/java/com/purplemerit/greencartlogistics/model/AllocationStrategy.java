@@ -0,0 +1,13 @@
+package com.purplemerit.greencartlogistics.model;
+
+/**
+ * How a simulation picks the driver for each order
+ */
+public enum AllocationStrategy {
+    /** Cycle through drivers in order, skipping the order when the chosen driver is out of hours */
+    ROUND_ROBIN,
+    /** Give each order to the driver with the fewest accumulated hours who can still fit it */
+    LEAST_LOADED,
+    /** Plan up front which orders each driver takes so that expected profit is maximized within max hours */
+    PROFIT_MAX
+}
@@ -0,0 +1,108 @@
+package com.purplemerit.greencartlogistics.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tunable parameters of the company delivery rules.
+ * Variants are configured per version under app.simulation.rules or stored in the simulation_rules
+ * collection. Unset fields default to the original rules, except the traffic surcharges, which start
+ * empty so a version lists exactly the traffic levels it charges for.
+ */
+public class CompanyRules {
+    
+    // Company Rule 1: penalty when delivery takes longer than base route time + grace minutes
+    private Double latePenalty = 50.0;
+    
+    private Integer lateGraceMinutes = 10;
+    
+    // Company Rule 2: fatigued drivers are this much slower
+    private Double fatigueFactor = 1.3;
+    
+    // Company Rule 3: bonus rate for on-time orders above the value threshold
+    private Double highValueThreshold = 1000.0;
+    
+    private Double highValueBonusRate = 0.1;
+    
+    // Company Rule 4: fuel cost per km, plus a surcharge per km by traffic level
+    private Double fuelCostPerKm = 5.0;
+    
+    private Map<String, Double> trafficSurchargePerKm = new LinkedHashMap<>();
+    
+    // Constructors
+    public CompanyRules() {}
+    
+    /**
+     * The original company rules, including the ₹2/km surcharge on high traffic routes
+     */
+    public static CompanyRules original() {
+        CompanyRules rules = new CompanyRules();
+        rules.getTrafficSurchargePerKm().put("High", 2.0);
+        return rules;
+    }
+    
+    /**
+     * Company Rule 4: fuel cost of one delivery on the route
+     */
+    public double fuelCost(Route route) {
+        double surcharge = trafficSurchargePerKm.getOrDefault(route.getTrafficLevel(), 0.0);
+        return route.getDistanceKm() * fuelCostPerKm + route.getDistanceKm() * surcharge;
+    }
+    
+    // Getters and Setters
+    public Double getLatePenalty() {
+        return latePenalty;
+    }
+    
+    public void setLatePenalty(Double latePenalty) {
+        this.latePenalty = latePenalty;
+    }
+    
+    public Integer getLateGraceMinutes() {
+        return lateGraceMinutes;
+    }
+    
+    public void setLateGraceMinutes(Integer lateGraceMinutes) {
+        this.lateGraceMinutes = lateGraceMinutes;
+    }
+    
+    public Double getFatigueFactor() {
+        return fatigueFactor;
+    }
+    
+    public void setFatigueFactor(Double fatigueFactor) {
+        this.fatigueFactor = fatigueFactor;
+    }
+    
+    public Double getHighValueThreshold() {
+        return highValueThreshold;
+    }
+    
+    public void setHighValueThreshold(Double highValueThreshold) {
+        this.highValueThreshold = highValueThreshold;
+    }
+    
+    public Double getHighValueBonusRate() {
+        return highValueBonusRate;
+    }
+    
+    public void setHighValueBonusRate(Double highValueBonusRate) {
+        this.highValueBonusRate = highValueBonusRate;
+    }
+    
+    public Double getFuelCostPerKm() {
+        return fuelCostPerKm;
+    }
+    
+    public void setFuelCostPerKm(Double fuelCostPerKm) {
+        this.fuelCostPerKm = fuelCostPerKm;
+    }
+    
+    public Map<String, Double> getTrafficSurchargePerKm() {
+        return trafficSurchargePerKm;
+    }
+    
+    public void setTrafficSurchargePerKm(Map<String, Double> trafficSurchargePerKm) {
+        this.trafficSurchargePerKm = trafficSurchargePerKm;
+    }
+}
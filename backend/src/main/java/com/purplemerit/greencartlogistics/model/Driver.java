@@ -1,6 +1,7 @@
 package com.purplemerit.greencartlogistics.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotBlank;
@@ -12,6 +13,7 @@ import java.util.List;
 /**
  * Driver entity representing delivery drivers in the system
  */
+@CompoundIndex(name = "active_shift_hours", def = "{'isActive': 1, 'currentShiftHours': 1}")
 @Document(collection = "drivers")
 public class Driver {
     
@@ -0,0 +1,87 @@
+package com.purplemerit.greencartlogistics.model;
+
+/**
+ * Utilization of one driver within a simulation
+ */
+public class DriverBreakdown {
+    
+    private String driverId;
+    
+    private String driverName;
+    
+    private boolean hasFatiguePenalty;
+    
+    private Integer ordersDelivered;
+    
+    private Double hoursUsed; // Fatigue-adjusted hours allocated to the driver
+    
+    private Double idleHours; // Hours left before the driver reaches max hours per driver
+    
+    private Double totalProfit;
+    
+    // Constructors
+    public DriverBreakdown() {}
+    
+    public DriverBreakdown(String driverId, String driverName, boolean hasFatiguePenalty) {
+        this.driverId = driverId;
+        this.driverName = driverName;
+        this.hasFatiguePenalty = hasFatiguePenalty;
+    }
+    
+    // Getters and Setters
+    public String getDriverId() {
+        return driverId;
+    }
+    
+    public void setDriverId(String driverId) {
+        this.driverId = driverId;
+    }
+    
+    public String getDriverName() {
+        return driverName;
+    }
+    
+    public void setDriverName(String driverName) {
+        this.driverName = driverName;
+    }
+    
+    public boolean isHasFatiguePenalty() {
+        return hasFatiguePenalty;
+    }
+    
+    public void setHasFatiguePenalty(boolean hasFatiguePenalty) {
+        this.hasFatiguePenalty = hasFatiguePenalty;
+    }
+    
+    public Integer getOrdersDelivered() {
+        return ordersDelivered;
+    }
+    
+    public void setOrdersDelivered(Integer ordersDelivered) {
+        this.ordersDelivered = ordersDelivered;
+    }
+    
+    public Double getHoursUsed() {
+        return hoursUsed;
+    }
+    
+    public void setHoursUsed(Double hoursUsed) {
+        this.hoursUsed = hoursUsed;
+    }
+    
+    public Double getIdleHours() {
+        return idleHours;
+    }
+    
+    public void setIdleHours(Double idleHours) {
+        this.idleHours = idleHours;
+    }
+    
+    public Double getTotalProfit() {
+        return totalProfit;
+    }
+    
+    public void setTotalProfit(Double totalProfit) {
+        this.totalProfit = totalProfit;
+    }
+}
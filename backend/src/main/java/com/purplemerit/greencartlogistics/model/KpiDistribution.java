@@ -0,0 +1,105 @@
+package com.purplemerit.greencartlogistics.model;
+
+import java.util.Arrays;
+
+/**
+ * Summary statistics of one KPI across Monte Carlo simulation replicas
+ */
+public class KpiDistribution {
+    
+    private Double mean;
+    
+    private Double stdDev;
+    
+    private Double p5;
+    
+    private Double p95;
+    
+    // Constructors
+    public KpiDistribution() {}
+    
+    public KpiDistribution(Double mean, Double stdDev, Double p5, Double p95) {
+        this.mean = mean;
+        this.stdDev = stdDev;
+        this.p5 = p5;
+        this.p95 = p95;
+    }
+    
+    /**
+     * Build the distribution of a KPI from one sample per replica
+     * Standard deviation is the sample standard deviation; percentiles are linearly interpolated
+     */
+    public static KpiDistribution fromSamples(double[] samples) {
+        int n = samples.length;
+        if (n == 0) {
+            return new KpiDistribution(0.0, 0.0, 0.0, 0.0);
+        }
+        
+        double sum = 0;
+        for (double sample : samples) {
+            sum += sample;
+        }
+        double mean = sum / n;
+        
+        double squaredDeviations = 0;
+        for (double sample : samples) {
+            squaredDeviations += (sample - mean) * (sample - mean);
+        }
+        double stdDev = n > 1 ? Math.sqrt(squaredDeviations / (n - 1)) : 0.0;
+        
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        
+        return new KpiDistribution(mean, stdDev, percentile(sorted, 0.05), percentile(sorted, 0.95));
+    }
+    
+    private static double percentile(double[] sorted, double fraction) {
+        double rank = fraction * (sorted.length - 1);
+        int lower = (int) Math.floor(rank);
+        int upper = (int) Math.ceil(rank);
+        return sorted[lower] + (rank - lower) * (sorted[upper] - sorted[lower]);
+    }
+    
+    // Getters and Setters
+    public Double getMean() {
+        return mean;
+    }
+    
+    public void setMean(Double mean) {
+        this.mean = mean;
+    }
+    
+    public Double getStdDev() {
+        return stdDev;
+    }
+    
+    public void setStdDev(Double stdDev) {
+        this.stdDev = stdDev;
+    }
+    
+    public Double getP5() {
+        return p5;
+    }
+    
+    public void setP5(Double p5) {
+        this.p5 = p5;
+    }
+    
+    public Double getP95() {
+        return p95;
+    }
+    
+    public void setP95(Double p95) {
+        this.p95 = p95;
+    }
+    
+    @Override
+    public String toString() {
+        return "KpiDistribution{" +
+                "mean=" + mean +
+                ", stdDev=" + stdDev +
+                ", p5=" + p5 +
+                ", p95=" + p95 +
+                '}';
+    }
+}
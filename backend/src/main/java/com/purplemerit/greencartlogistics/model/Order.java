@@ -1,6 +1,9 @@
 package com.purplemerit.greencartlogistics.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotBlank;
@@ -10,6 +13,7 @@ import java.time.LocalDateTime;
 /**
  * Order entity representing delivery orders in the system
  */
+@CompoundIndex(name = "status_id", def = "{'status': 1, '_id': 1}") // status lookups and pending-order cursors in id order
 @Document(collection = "orders")
 public class Order {
     
@@ -17,16 +21,19 @@ public class Order {
     private String id;
     
     @NotBlank(message = "Order ID is required")
+    @Indexed(unique = true)
     private String orderId;
     
     @Min(value = 0, message = "Order value must be positive")
     private Double valueRs;
     
     @NotBlank(message = "Assigned route is required")
+    @Indexed
     private String assignedRouteId;
     
     private LocalDateTime deliveryTimestamp;
     
+    @Indexed
     private String assignedDriverId;
     
     private OrderStatus status;
@@ -45,6 +52,14 @@ public class Order {
     
     private LocalDateTime updatedAt;
     
+    // Lease held by the simulation run currently processing this order; internal, so never read from or written to JSON
+    @JsonIgnore
+    @Indexed(sparse = true)
+    private String claimToken;
+    
+    @JsonIgnore
+    private LocalDateTime claimExpiresAt;
+    
     // Enums
     public enum OrderStatus {
         PENDING, ASSIGNED, IN_TRANSIT, DELIVERED, CANCELLED
@@ -202,6 +217,22 @@ public class Order {
         this.updatedAt = LocalDateTime.now();
     }
     
+    public String getClaimToken() {
+        return claimToken;
+    }
+    
+    public void setClaimToken(String claimToken) {
+        this.claimToken = claimToken;
+    }
+    
+    public LocalDateTime getClaimExpiresAt() {
+        return claimExpiresAt;
+    }
+    
+    public void setClaimExpiresAt(LocalDateTime claimExpiresAt) {
+        this.claimExpiresAt = claimExpiresAt;
+    }
+    
     @Override
     public String toString() {
         return "Order{" +
@@ -1,6 +1,8 @@
 package com.purplemerit.greencartlogistics.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotBlank;
@@ -11,6 +13,7 @@ import java.time.LocalDateTime;
 /**
  * Route entity representing delivery routes in the system
  */
+@CompoundIndex(name = "active_distance", def = "{'isActive': 1, 'distanceKm': 1}")
 @Document(collection = "routes")
 public class Route {
     
@@ -18,12 +21,14 @@ public class Route {
     private String id;
     
     @NotBlank(message = "Route ID is required")
+    @Indexed(unique = true)
     private String routeId;
     
     @Min(value = 0, message = "Distance must be positive")
     private Double distanceKm;
     
     @Pattern(regexp = "Low|Medium|High", message = "Traffic level must be Low, Medium, or High")
+    @Indexed
     private String trafficLevel;
     
     @Min(value = 0, message = "Base time must be positive")
@@ -143,16 +148,11 @@ public class Route {
     }
     
     /**
-     * Calculate fuel cost based on distance and traffic level
-     * Base cost: ₹5/km per route
-     * If traffic level is "High" → +₹2/km fuel surcharge
+     * Calculate fuel cost based on distance and traffic level under the given company rules
+     * Original rules: ₹5/km per route, and +₹2/km fuel surcharge if traffic level is "High"
      */
-    public Double calculateFuelCost() {
-        double baseCost = distanceKm * 5.0; // ₹5/km
-        if ("High".equals(trafficLevel)) {
-            baseCost += distanceKm * 2.0; // +₹2/km surcharge
-        }
-        return baseCost;
+    public Double calculateFuelCost(CompanyRules rules) {
+        return rules.fuelCost(this);
     }
     
     @Override
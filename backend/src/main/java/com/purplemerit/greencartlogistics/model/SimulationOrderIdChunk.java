@@ -0,0 +1,84 @@
+package com.purplemerit.greencartlogistics.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+/**
+ * One bounded chunk of the order ids a simulation used, stored beside the simulation result
+ * so results stay small no matter how many orders a run touched
+ */
+@CompoundIndex(name = "simulation_kind_sequence", def = "{'simulationId': 1, 'kind': 1, 'sequence': 1}")
+@Document(collection = "simulation_order_ids")
+public class SimulationOrderIdChunk {
+    
+    @Id
+    private String id;
+    
+    private String simulationId;
+    
+    private Kind kind;
+    
+    private Integer sequence; // Position of this chunk within the simulation's list
+    
+    private List<String> orderIds;
+    
+    // Enums
+    public enum Kind {
+        INPUT, // Order document ids the run was given, in simulation order
+        PROCESSED // Business order ids the run delivered
+    }
+    
+    // Constructors
+    public SimulationOrderIdChunk() {}
+    
+    public SimulationOrderIdChunk(String simulationId, Kind kind, Integer sequence, List<String> orderIds) {
+        this.simulationId = simulationId;
+        this.kind = kind;
+        this.sequence = sequence;
+        this.orderIds = orderIds;
+    }
+    
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getSimulationId() {
+        return simulationId;
+    }
+    
+    public void setSimulationId(String simulationId) {
+        this.simulationId = simulationId;
+    }
+    
+    public Kind getKind() {
+        return kind;
+    }
+    
+    public void setKind(Kind kind) {
+        this.kind = kind;
+    }
+    
+    public Integer getSequence() {
+        return sequence;
+    }
+    
+    public void setSequence(Integer sequence) {
+        this.sequence = sequence;
+    }
+    
+    public List<String> getOrderIds() {
+        return orderIds;
+    }
+    
+    public void setOrderIds(List<String> orderIds) {
+        this.orderIds = orderIds;
+    }
+}
@@ -1,8 +1,12 @@
 package com.purplemerit.greencartlogistics.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
@@ -11,6 +15,10 @@ import java.util.Map;
 /**
  * SimulationResult entity to store simulation results with timestamp
  */
+@CompoundIndexes({
+    @CompoundIndex(name = "timestamp_id", def = "{'simulationTimestamp': -1, '_id': -1}"),
+    @CompoundIndex(name = "simulated_by_timestamp_id", def = "{'simulatedBy': 1, 'simulationTimestamp': -1, '_id': -1}")
+})
 @Document(collection = "simulation_results")
 public class SimulationResult {
     
@@ -23,6 +31,10 @@ public class SimulationResult {
     
     private Integer maxHoursPerDriver;
     
+    private AllocationStrategy allocationStrategy;
+    
+    private String rulesVersion; // Company rules version deliveries were judged by
+    
     private Double totalProfit;
     
     private Double efficiencyScore;
@@ -41,6 +53,7 @@ public class SimulationResult {
     
     private Map<String, Double> fuelCostBreakdown;
     
+    @Transient // Stored in chunks beside the result, see SimulationOrderIdChunk
     private List<String> processedOrderIds;
     
     private String simulatedBy; // User ID who ran the simulation
@@ -49,6 +62,38 @@ public class SimulationResult {
     
     private String notes;
     
+    private boolean dryRun; // True when nothing was persisted for this run
+    
+    private boolean streamed; // True when pending orders were read from a cursor in chunks
+    
+    private boolean cancelled; // True when a streamed run stopped early; KPIs cover only the orders it wrote
+    
+    private boolean partitionedByWarehouse; // True when each origin warehouse was simulated separately
+    
+    private List<WarehouseBreakdown> warehouseBreakdown; // Per-warehouse KPIs of a partitioned run
+    
+    private List<DriverBreakdown> driverBreakdown; // Hours, deliveries and profit of each driver
+    
+    private Integer replications; // Number of Monte Carlo replicas behind the distributions below
+    
+    private KpiDistribution profitDistribution;
+    
+    private KpiDistribution efficiencyDistribution;
+    
+    private KpiDistribution lateDeliveriesDistribution;
+    
+    private Long seed; // Random seed the run was executed with, used for replay
+    
+    private LocalDate simulationDate; // Virtual day deliveries were simulated on
+    
+    // Inputs of the run, in the order they were simulated, so it can be replayed
+    private List<String> driverIds;
+    
+    private String inputHash; // Fingerprint of the run's inputs, checked before a replay
+    
+    @Transient // Stored in chunks beside the result, see SimulationOrderIdChunk
+    private List<String> inputOrderIds;
+    
     // Constructors
     public SimulationResult() {
         this.simulationTimestamp = LocalDateTime.now();
@@ -94,6 +139,14 @@ public class SimulationResult {
         this.maxHoursPerDriver = maxHoursPerDriver;
     }
     
+    public AllocationStrategy getAllocationStrategy() {
+        return allocationStrategy;
+    }
+    
+    public void setAllocationStrategy(AllocationStrategy allocationStrategy) {
+        this.allocationStrategy = allocationStrategy;
+    }
+    
     public Double getTotalProfit() {
         return totalProfit;
     }
@@ -198,6 +251,134 @@ public class SimulationResult {
         this.notes = notes;
     }
     
+    public boolean isDryRun() {
+        return dryRun;
+    }
+    
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+    
+    public Integer getReplications() {
+        return replications;
+    }
+    
+    public void setReplications(Integer replications) {
+        this.replications = replications;
+    }
+    
+    public KpiDistribution getProfitDistribution() {
+        return profitDistribution;
+    }
+    
+    public void setProfitDistribution(KpiDistribution profitDistribution) {
+        this.profitDistribution = profitDistribution;
+    }
+    
+    public KpiDistribution getEfficiencyDistribution() {
+        return efficiencyDistribution;
+    }
+    
+    public void setEfficiencyDistribution(KpiDistribution efficiencyDistribution) {
+        this.efficiencyDistribution = efficiencyDistribution;
+    }
+    
+    public KpiDistribution getLateDeliveriesDistribution() {
+        return lateDeliveriesDistribution;
+    }
+    
+    public void setLateDeliveriesDistribution(KpiDistribution lateDeliveriesDistribution) {
+        this.lateDeliveriesDistribution = lateDeliveriesDistribution;
+    }
+    
+    public Long getSeed() {
+        return seed;
+    }
+    
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+    
+    public LocalDate getSimulationDate() {
+        return simulationDate;
+    }
+    
+    public void setSimulationDate(LocalDate simulationDate) {
+        this.simulationDate = simulationDate;
+    }
+    
+    public List<String> getDriverIds() {
+        return driverIds;
+    }
+    
+    public void setDriverIds(List<String> driverIds) {
+        this.driverIds = driverIds;
+    }
+    
+    public List<String> getInputOrderIds() {
+        return inputOrderIds;
+    }
+    
+    public void setInputOrderIds(List<String> inputOrderIds) {
+        this.inputOrderIds = inputOrderIds;
+    }
+    
+    public boolean isStreamed() {
+        return streamed;
+    }
+    
+    public void setStreamed(boolean streamed) {
+        this.streamed = streamed;
+    }
+    
+    public boolean isPartitionedByWarehouse() {
+        return partitionedByWarehouse;
+    }
+    
+    public void setPartitionedByWarehouse(boolean partitionedByWarehouse) {
+        this.partitionedByWarehouse = partitionedByWarehouse;
+    }
+    
+    public List<WarehouseBreakdown> getWarehouseBreakdown() {
+        return warehouseBreakdown;
+    }
+    
+    public void setWarehouseBreakdown(List<WarehouseBreakdown> warehouseBreakdown) {
+        this.warehouseBreakdown = warehouseBreakdown;
+    }
+    
+    public String getRulesVersion() {
+        return rulesVersion;
+    }
+    
+    public void setRulesVersion(String rulesVersion) {
+        this.rulesVersion = rulesVersion;
+    }
+    
+    public List<DriverBreakdown> getDriverBreakdown() {
+        return driverBreakdown;
+    }
+    
+    public void setDriverBreakdown(List<DriverBreakdown> driverBreakdown) {
+        this.driverBreakdown = driverBreakdown;
+    }
+    
+    public String getInputHash() {
+        return inputHash;
+    }
+    
+    public void setInputHash(String inputHash) {
+        this.inputHash = inputHash;
+    }
+    
+    public boolean isCancelled() {
+        return cancelled;
+    }
+    
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+    
     @Override
     public String toString() {
         return "SimulationResult{" +
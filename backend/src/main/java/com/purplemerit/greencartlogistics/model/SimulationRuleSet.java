@@ -0,0 +1,66 @@
+package com.purplemerit.greencartlogistics.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A company rules version added at runtime, beside the versions configured under app.simulation.rules.
+ * Versions are never changed once stored, so results recorded under a version keep their meaning.
+ */
+@Document(collection = "simulation_rules")
+public class SimulationRuleSet {
+    
+    @Id
+    private String version;
+    
+    private CompanyRules rules;
+    
+    private String createdBy;
+    
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public SimulationRuleSet() {}
+    
+    public SimulationRuleSet(String version, CompanyRules rules, String createdBy) {
+        this.version = version;
+        this.rules = rules;
+        this.createdBy = createdBy;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public String getVersion() {
+        return version;
+    }
+    
+    public void setVersion(String version) {
+        this.version = version;
+    }
+    
+    public CompanyRules getRules() {
+        return rules;
+    }
+    
+    public void setRules(CompanyRules rules) {
+        this.rules = rules;
+    }
+    
+    public String getCreatedBy() {
+        return createdBy;
+    }
+    
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
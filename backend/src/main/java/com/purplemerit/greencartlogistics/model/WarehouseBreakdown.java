@@ -0,0 +1,107 @@
+package com.purplemerit.greencartlogistics.model;
+
+/**
+ * KPIs of one origin warehouse within a warehouse-partitioned simulation
+ */
+public class WarehouseBreakdown {
+    
+    private String warehouse;
+    
+    private Integer numberOfDrivers;
+    
+    private Integer pendingOrders;
+    
+    private Integer totalDeliveries;
+    
+    private Integer onTimeDeliveries;
+    
+    private Integer lateDeliveries;
+    
+    private Double totalProfit;
+    
+    private Double totalFuelCost;
+    
+    private Double efficiencyScore;
+    
+    // Constructors
+    public WarehouseBreakdown() {}
+    
+    public WarehouseBreakdown(String warehouse, Integer numberOfDrivers, Integer pendingOrders) {
+        this.warehouse = warehouse;
+        this.numberOfDrivers = numberOfDrivers;
+        this.pendingOrders = pendingOrders;
+    }
+    
+    // Getters and Setters
+    public String getWarehouse() {
+        return warehouse;
+    }
+    
+    public void setWarehouse(String warehouse) {
+        this.warehouse = warehouse;
+    }
+    
+    public Integer getNumberOfDrivers() {
+        return numberOfDrivers;
+    }
+    
+    public void setNumberOfDrivers(Integer numberOfDrivers) {
+        this.numberOfDrivers = numberOfDrivers;
+    }
+    
+    public Integer getPendingOrders() {
+        return pendingOrders;
+    }
+    
+    public void setPendingOrders(Integer pendingOrders) {
+        this.pendingOrders = pendingOrders;
+    }
+    
+    public Integer getTotalDeliveries() {
+        return totalDeliveries;
+    }
+    
+    public void setTotalDeliveries(Integer totalDeliveries) {
+        this.totalDeliveries = totalDeliveries;
+    }
+    
+    public Integer getOnTimeDeliveries() {
+        return onTimeDeliveries;
+    }
+    
+    public void setOnTimeDeliveries(Integer onTimeDeliveries) {
+        this.onTimeDeliveries = onTimeDeliveries;
+    }
+    
+    public Integer getLateDeliveries() {
+        return lateDeliveries;
+    }
+    
+    public void setLateDeliveries(Integer lateDeliveries) {
+        this.lateDeliveries = lateDeliveries;
+    }
+    
+    public Double getTotalProfit() {
+        return totalProfit;
+    }
+    
+    public void setTotalProfit(Double totalProfit) {
+        this.totalProfit = totalProfit;
+    }
+    
+    public Double getTotalFuelCost() {
+        return totalFuelCost;
+    }
+    
+    public void setTotalFuelCost(Double totalFuelCost) {
+        this.totalFuelCost = totalFuelCost;
+    }
+    
+    public Double getEfficiencyScore() {
+        return efficiencyScore;
+    }
+    
+    public void setEfficiencyScore(Double efficiencyScore) {
+        this.efficiencyScore = efficiencyScore;
+    }
+}
@@ -1,6 +1,8 @@
 package com.purplemerit.greencartlogistics.repository;
 
 import com.purplemerit.greencartlogistics.model.Driver;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -17,4 +19,9 @@ public interface DriverRepository extends MongoRepository<Driver, String> {
     List<Driver> findByIsActiveTrueOrderByCurrentShiftHours();
     
     long countByIsActiveTrue();
+    
+    // Keyset pages in id order
+    Slice<Driver> findAllByOrderByIdAsc(Pageable pageable);
+    
+    Slice<Driver> findByIdGreaterThanOrderByIdAsc(String id, Pageable pageable);
 }
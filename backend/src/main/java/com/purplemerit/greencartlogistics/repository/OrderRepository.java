@@ -1,6 +1,8 @@
 package com.purplemerit.greencartlogistics.repository;
 
 import com.purplemerit.greencartlogistics.model.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -26,4 +28,9 @@ public interface OrderRepository extends MongoRepository<Order, String> {
     long countByStatus(Order.OrderStatus status);
     
     long countByIsDeliveredOnTime(boolean onTime);
+    
+    // Keyset pages in id order
+    Slice<Order> findAllByOrderByIdAsc(Pageable pageable);
+    
+    Slice<Order> findByIdGreaterThanOrderByIdAsc(String id, Pageable pageable);
 }
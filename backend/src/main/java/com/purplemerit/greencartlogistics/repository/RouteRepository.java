@@ -1,6 +1,8 @@
 package com.purplemerit.greencartlogistics.repository;
 
 import com.purplemerit.greencartlogistics.model.Route;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -20,4 +22,9 @@ public interface RouteRepository extends MongoRepository<Route, String> {
     List<Route> findByTrafficLevel(String trafficLevel);
     
     List<Route> findByIsActiveTrueOrderByDistanceKm();
+    
+    // Keyset pages in id order
+    Slice<Route> findAllByOrderByIdAsc(Pageable pageable);
+    
+    Slice<Route> findByIdGreaterThanOrderByIdAsc(String id, Pageable pageable);
 }
@@ -0,0 +1,17 @@
+package com.purplemerit.greencartlogistics.repository;
+
+import com.purplemerit.greencartlogistics.model.SimulationOrderIdChunk;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for SimulationOrderIdChunk entity
+ */
+@Repository
+public interface SimulationOrderIdChunkRepository extends MongoRepository<SimulationOrderIdChunk, String> {
+    
+    List<SimulationOrderIdChunk> findBySimulationIdAndKindOrderBySequence(String simulationId,
+                                                                          SimulationOrderIdChunk.Kind kind);
+}
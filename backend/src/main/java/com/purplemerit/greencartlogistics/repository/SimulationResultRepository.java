@@ -1,7 +1,12 @@
 package com.purplemerit.greencartlogistics.repository;
 
+import com.purplemerit.greencartlogistics.dto.SimulationSummary;
 import com.purplemerit.greencartlogistics.model.SimulationResult;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -20,4 +25,33 @@ public interface SimulationResultRepository extends MongoRepository<SimulationRe
     List<SimulationResult> findBySimulationTimestampBetween(LocalDateTime start, LocalDateTime end);
     
     SimulationResult findTopByOrderBySimulationTimestampDesc();
+    
+    // History rows read only the fields of SimulationSummary
+    String SUMMARY_FIELDS = "{ 'simulationTimestamp': 1, 'simulatedBy': 1, 'numberOfDrivers': 1, " +
+            "'routeStartTime': 1, 'maxHoursPerDriver': 1, 'allocationStrategy': 1, 'rulesVersion': 1, " +
+            "'totalProfit': 1, 'efficiencyScore': 1, 'onTimeDeliveries': 1, 'lateDeliveries': 1, " +
+            "'totalDeliveries': 1, 'totalFuelCost': 1, 'totalPenalties': 1, 'totalBonuses': 1, 'notes': 1 }";
+    
+    // Keyset pages, newest first; the id breaks ties between runs with the same timestamp
+    Slice<SimulationSummary> findSummariesByOrderBySimulationTimestampDescIdDesc(Pageable pageable);
+    
+    @Query(value = "{ '$or': [ { 'simulationTimestamp': { '$lt': ?0 } }, " +
+                   "{ 'simulationTimestamp': ?0, '_id': { '$lt': ?1 } } ] }",
+           fields = SUMMARY_FIELDS,
+           sort = "{ 'simulationTimestamp': -1, '_id': -1 }")
+    Slice<SimulationSummary> findSummariesBefore(LocalDateTime simulationTimestamp, ObjectId id, Pageable pageable);
+    
+    Slice<SimulationSummary> findSummariesBySimulatedByOrderBySimulationTimestampDescIdDesc(String simulatedBy,
+                                                                                           Pageable pageable);
+    
+    @Query(value = "{ 'simulatedBy': ?0, '$or': [ { 'simulationTimestamp': { '$lt': ?1 } }, " +
+                   "{ 'simulationTimestamp': ?1, '_id': { '$lt': ?2 } } ] }",
+           fields = SUMMARY_FIELDS,
+           sort = "{ 'simulationTimestamp': -1, '_id': -1 }")
+    Slice<SimulationSummary> findSummariesBefore(String simulatedBy, LocalDateTime simulationTimestamp, ObjectId id,
+                                                 Pageable pageable);
+    
+    // Newest runs inside a time window (both bounds exclusive)
+    Slice<SimulationSummary> findSummariesBySimulationTimestampBetweenOrderBySimulationTimestampDescIdDesc(
+            LocalDateTime start, LocalDateTime end, Pageable pageable);
 }
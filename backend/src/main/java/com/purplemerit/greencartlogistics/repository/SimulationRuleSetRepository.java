@@ -0,0 +1,12 @@
+package com.purplemerit.greencartlogistics.repository;
+
+import com.purplemerit.greencartlogistics.model.SimulationRuleSet;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for SimulationRuleSet entity, keyed by version name
+ */
+@Repository
+public interface SimulationRuleSetRepository extends MongoRepository<SimulationRuleSet, String> {
+}
@@ -0,0 +1,74 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.model.CompanyRules;
+
+/**
+ * A company rule set compiled against a snapshot's routes into flat per-route arrays,
+ * so applying the rules to a delivery is arithmetic on indices with no lookups or
+ * string comparisons. Compiled once per simulation and shared read-only by its runs.
+ */
+final class CompiledRules {
+
+    final double latePenalty;
+
+    final double fatigueFactor;
+
+    final double highValueThreshold;
+
+    final double highValueBonusRate;
+
+    final int lateGraceMinutes;
+
+    // Latest actual minutes that still count as on time, per route
+    final int[] onTimeLimitMinutes;
+
+    final double[] fuelCost;
+
+    CompiledRules(CompanyRules rules, RouteTable routes) {
+        this.latePenalty = rules.getLatePenalty();
+        this.fatigueFactor = rules.getFatigueFactor();
+        this.highValueThreshold = rules.getHighValueThreshold();
+        this.highValueBonusRate = rules.getHighValueBonusRate();
+        this.lateGraceMinutes = rules.getLateGraceMinutes();
+        this.onTimeLimitMinutes = new int[routes.size()];
+        this.fuelCost = new double[routes.size()];
+        for (int r = 0; r < routes.size(); r++) {
+            onTimeLimitMinutes[r] = routes.baseMinutes[r] + lateGraceMinutes;
+            fuelCost[r] = rules.fuelCost(routes.routes[r]);
+        }
+    }
+
+    /**
+     * Company Rule 1: a delivery is late when it takes longer than base route time + grace minutes
+     */
+    boolean isOnTime(int route, int actualTimeMinutes) {
+        return actualTimeMinutes <= onTimeLimitMinutes[route];
+    }
+
+    /**
+     * Company Rule 1: late deliveries pay the late penalty
+     */
+    double penalty(boolean onTime) {
+        return onTime ? 0.0 : latePenalty;
+    }
+
+    /**
+     * Company Rule 3: orders above the value threshold delivered on time earn the bonus rate
+     */
+    double bonus(double value, boolean onTime) {
+        return value > highValueThreshold && onTime ? value * highValueBonusRate : 0.0;
+    }
+
+    /**
+     * Profit the rules are expected to yield for an order on the route, averaged over the
+     * uniform ±jitterMinutes spread of actual delivery times
+     */
+    double expectedProfit(double value, int route, int jitterMinutes) {
+        int outcomes = 2 * jitterMinutes + 1;
+        int onTimeOutcomes = Math.max(0, Math.min(outcomes, lateGraceMinutes + jitterMinutes + 1));
+        double onTimeProbability = (double) onTimeOutcomes / outcomes;
+
+        double bonus = value > highValueThreshold ? value * highValueBonusRate : 0.0;
+        return value + onTimeProbability * bonus - (1 - onTimeProbability) * latePenalty - fuelCost[route];
+    }
+}
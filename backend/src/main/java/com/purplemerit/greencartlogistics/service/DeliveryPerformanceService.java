@@ -0,0 +1,133 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.dto.DeliveryPerformance;
+import com.purplemerit.greencartlogistics.dto.DeliveryTotals;
+import com.purplemerit.greencartlogistics.model.Order;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+
+/**
+ * Delivery KPIs of delivered orders, computed in the database by a single aggregation.
+ * Pending and cancelled orders are excluded, so they are never counted as late.
+ */
+@Service
+public class DeliveryPerformanceService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * On-time, late, profit, fuel, penalty and bonus totals overall and by route, traffic level, driver and day
+     */
+    public DeliveryPerformance getDeliveryPerformance() {
+        Document facets = mongoTemplate.aggregate(pipeline(ZoneId.systemDefault()), Order.class, Document.class)
+                .getUniqueMappedResult();
+        List<DeliveryTotals> overall = totalsOf(facets, "overall");
+        return new DeliveryPerformance(
+                overall.isEmpty() ? totals(new Document()) : overall.get(0),
+                totalsOf(facets, "byRoute"),
+                totalsOf(facets, "byTrafficLevel"),
+                totalsOf(facets, "byDriver"),
+                totalsOf(facets, "byDay"));
+    }
+
+    /**
+     * Delivered orders are trimmed to the summed fields once, then every grouping runs as a facet
+     * over that one pass. Traffic levels are looked up per route group rather than per order.
+     *
+     * @param zone zone delivery days are counted in; delivery times are stored as UTC instants of local times
+     */
+    Aggregation pipeline(ZoneId zone) {
+        Sort byKey = Sort.by(Sort.Direction.ASC, "_id");
+        return newAggregation(
+                match(Criteria.where("status").is(Order.OrderStatus.DELIVERED)),
+                project("assignedRouteId", "assignedDriverId", "isDeliveredOnTime", "profit", "fuelCost",
+                        "penalty", "bonus")
+                        .and(DateOperators.DateToString.dateOf("deliveryTimestamp").toString("%Y-%m-%d")
+                                .withTimezone(DateOperators.Timezone.fromZone(zone)))
+                        .as("day"),
+                facet(sumOrders(group()))
+                        .as("overall")
+                        .and(sumOrders(group("assignedRouteId")), sort(byKey))
+                        .as("byRoute")
+                        .and(sumOrders(group("assignedRouteId")),
+                                lookup("routes", "_id", "routeId", "route"),
+                                unwind("route", true),
+                                sumGroups(group("route.trafficLevel")),
+                                sort(byKey))
+                        .as("byTrafficLevel")
+                        .and(sumOrders(group("assignedDriverId")), sort(byKey))
+                        .as("byDriver")
+                        .and(sumOrders(group("day")), sort(byKey))
+                        .as("byDay"));
+    }
+
+    private GroupOperation sumOrders(GroupOperation group) {
+        ComparisonOperators.Eq onTime = ComparisonOperators.valueOf("isDeliveredOnTime").equalToValue(true);
+        return group
+                .sum(ConditionalOperators.when(onTime).then(1).otherwise(0)).as("onTimeDeliveries")
+                .sum(ConditionalOperators.when(onTime).then(0).otherwise(1)).as("lateDeliveries")
+                .sum("profit").as("totalProfit")
+                .sum("fuelCost").as("totalFuelCost")
+                .sum("penalty").as("totalPenalties")
+                .sum("bonus").as("totalBonuses");
+    }
+
+    private GroupOperation sumGroups(GroupOperation group) {
+        return group
+                .sum("onTimeDeliveries").as("onTimeDeliveries")
+                .sum("lateDeliveries").as("lateDeliveries")
+                .sum("totalProfit").as("totalProfit")
+                .sum("totalFuelCost").as("totalFuelCost")
+                .sum("totalPenalties").as("totalPenalties")
+                .sum("totalBonuses").as("totalBonuses");
+    }
+
+    private List<DeliveryTotals> totalsOf(Document facets, String facet) {
+        if (facets == null) {
+            return Collections.emptyList();
+        }
+        List<DeliveryTotals> totals = new ArrayList<>();
+        for (Document group : facets.getList(facet, Document.class, Collections.emptyList())) {
+            totals.add(totals(group));
+        }
+        return totals;
+    }
+
+    private DeliveryTotals totals(Document group) {
+        DeliveryTotals totals = new DeliveryTotals();
+        Object key = group.get("_id");
+        totals.setKey(key != null ? key.toString() : null);
+        totals.setOnTimeDeliveries(number(group, "onTimeDeliveries").longValue());
+        totals.setLateDeliveries(number(group, "lateDeliveries").longValue());
+        totals.setTotalDeliveries(totals.getOnTimeDeliveries() + totals.getLateDeliveries());
+        totals.setEfficiencyScore(totals.getTotalDeliveries() > 0
+                ? (double) totals.getOnTimeDeliveries() / totals.getTotalDeliveries() * 100 : 0);
+        totals.setTotalProfit(number(group, "totalProfit").doubleValue());
+        totals.setTotalFuelCost(number(group, "totalFuelCost").doubleValue());
+        totals.setTotalPenalties(number(group, "totalPenalties").doubleValue());
+        totals.setTotalBonuses(number(group, "totalBonuses").doubleValue());
+        return totals;
+    }
+
+    private Number number(Document group, String field) {
+        Object value = group.get(field);
+        return value instanceof Number ? (Number) value : 0;
+    }
+}
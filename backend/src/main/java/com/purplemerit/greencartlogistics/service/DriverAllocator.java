@@ -0,0 +1,207 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.model.AllocationStrategy;
+import com.purplemerit.greencartlogistics.model.Driver;
+
+import java.util.List;
+
+/**
+ * Tracks accumulated driving hours per driver and decides which driver takes the next order.
+ * Drivers are addressed by their index in the simulation's driver list.
+ */
+abstract class DriverAllocator {
+
+    protected final double[] hours;
+
+    protected final boolean[] fatigued;
+
+    protected final double maxHours;
+
+    // Company Rule 2: fatigued drivers (>8 hours yesterday) are slower by this factor
+    protected final double fatigueFactor;
+
+    protected DriverAllocator(List<Driver> drivers, double maxHours, double fatigueFactor) {
+        this.hours = new double[drivers.size()];
+        this.fatigued = new boolean[drivers.size()];
+        for (int i = 0; i < fatigued.length; i++) {
+            fatigued[i] = drivers.get(i).isHasFatiguePenalty();
+        }
+        this.maxHours = maxHours;
+        this.fatigueFactor = fatigueFactor;
+    }
+
+    static DriverAllocator create(AllocationStrategy strategy, List<Driver> drivers, double maxHours,
+                                  double fatigueFactor) {
+        if (strategy == AllocationStrategy.LEAST_LOADED) {
+            return new LeastLoadedAllocator(drivers, maxHours, fatigueFactor);
+        }
+        return new RoundRobinAllocator(drivers, maxHours, fatigueFactor);
+    }
+
+    /**
+     * Allocator that follows a precomputed plan of driver index per order
+     */
+    static DriverAllocator planned(List<Driver> drivers, double maxHours, double fatigueFactor, int[] plan) {
+        return new PlannedAllocator(drivers, maxHours, fatigueFactor, plan);
+    }
+
+    /**
+     * Pick the driver for an order of the given base duration
+     *
+     * @param order index of the order in the snapshot's pending orders
+     * @return driver index, or -1 when the order cannot be assigned
+     */
+    abstract int select(int order, double baseHours);
+
+    /**
+     * Record that the driver took an order needing the given (fatigue-adjusted) hours
+     */
+    void assign(int driver, double hoursNeeded) {
+        hours[driver] += hoursNeeded;
+    }
+
+    double hoursOf(int driver) {
+        return hours[driver];
+    }
+
+    double hoursNeeded(int driver, double baseHours) {
+        return fatigued[driver] ? baseHours * fatigueFactor : baseHours;
+    }
+
+    /**
+     * Original allocation: drivers take turns and an order is skipped when its driver is out of hours
+     */
+    static final class RoundRobinAllocator extends DriverAllocator {
+
+        private int next;
+
+        RoundRobinAllocator(List<Driver> drivers, double maxHours, double fatigueFactor) {
+            super(drivers, maxHours, fatigueFactor);
+        }
+
+        @Override
+        int select(int order, double baseHours) {
+            int driver = next % hours.length;
+            next++;
+            return hours[driver] + hoursNeeded(driver, baseHours) <= maxHours ? driver : -1;
+        }
+    }
+
+    /**
+     * Least-loaded allocation backed by two binary min-heaps on accumulated hours,
+     * one for rested and one for fatigued drivers. Within each heap every driver needs
+     * the same hours for a given order, so the root is the best candidate of its group
+     * and selection is O(log d).
+     */
+    static final class LeastLoadedAllocator extends DriverAllocator {
+
+        private final DriverHeap rested;
+
+        private final DriverHeap tired;
+
+        LeastLoadedAllocator(List<Driver> drivers, double maxHours, double fatigueFactor) {
+            super(drivers, maxHours, fatigueFactor);
+            this.rested = new DriverHeap(hours.length);
+            this.tired = new DriverHeap(hours.length);
+            for (int i = 0; i < hours.length; i++) {
+                (fatigued[i] ? tired : rested).add(i);
+            }
+        }
+
+        @Override
+        int select(int order, double baseHours) {
+            int restedCandidate = fits(rested.peek(), baseHours) ? rested.peek() : -1;
+            int tiredCandidate = fits(tired.peek(), baseHours) ? tired.peek() : -1;
+
+            if (restedCandidate < 0) {
+                return tiredCandidate;
+            }
+            if (tiredCandidate < 0) {
+                return restedCandidate;
+            }
+            return hours[tiredCandidate] < hours[restedCandidate] ? tiredCandidate : restedCandidate;
+        }
+
+        @Override
+        void assign(int driver, double hoursNeeded) {
+            super.assign(driver, hoursNeeded);
+            // The assigned driver is always the root of its heap
+            (fatigued[driver] ? tired : rested).siftDownRoot();
+        }
+
+        private boolean fits(int driver, double baseHours) {
+            return driver >= 0 && hours[driver] + hoursNeeded(driver, baseHours) <= maxHours;
+        }
+
+        /**
+         * Array-backed min-heap of driver indices keyed on their accumulated hours
+         */
+        private final class DriverHeap {
+
+            private final int[] heap;
+
+            private int size;
+
+            DriverHeap(int capacity) {
+                this.heap = new int[capacity];
+            }
+
+            void add(int driver) {
+                int i = size++;
+                heap[i] = driver;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (hours[heap[parent]] <= hours[heap[i]]) {
+                        break;
+                    }
+                    swap(i, parent);
+                    i = parent;
+                }
+            }
+
+            int peek() {
+                return size > 0 ? heap[0] : -1;
+            }
+
+            void siftDownRoot() {
+                int i = 0;
+                while (true) {
+                    int left = 2 * i + 1;
+                    if (left >= size) {
+                        return;
+                    }
+                    int smallest = left + 1 < size && hours[heap[left + 1]] < hours[heap[left]] ? left + 1 : left;
+                    if (hours[heap[i]] <= hours[heap[smallest]]) {
+                        return;
+                    }
+                    swap(i, smallest);
+                    i = smallest;
+                }
+            }
+
+            private void swap(int a, int b) {
+                int tmp = heap[a];
+                heap[a] = heap[b];
+                heap[b] = tmp;
+            }
+        }
+    }
+
+    /**
+     * Replays a plan computed up front, e.g. by the profit-maximizing solver
+     */
+    static final class PlannedAllocator extends DriverAllocator {
+
+        private final int[] plan;
+
+        PlannedAllocator(List<Driver> drivers, double maxHours, double fatigueFactor, int[] plan) {
+            super(drivers, maxHours, fatigueFactor);
+            this.plan = plan;
+        }
+
+        @Override
+        int select(int order, double baseHours) {
+            return plan[order];
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.purplemerit.greencartlogistics.service;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Priority queue of simulation events ordered by virtual time.
+ *
+ * Events are stored as primitives in parallel arrays forming a binary min-heap: a long key
+ * packing the virtual time (seconds) in the high 32 bits and an insertion sequence in the low
+ * 32 bits, so events at the same instant come out first-in first-out, and an int payload
+ * that the engine uses to encode event type and order index. No objects are allocated per event.
+ */
+final class EventQueue {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+
+    private int[] payloads;
+
+    private int size;
+
+    private int sequence;
+
+    EventQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    EventQueue(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        this.keys = new long[capacity];
+        this.payloads = new int[capacity];
+    }
+
+    /**
+     * Schedule an event at the given virtual time in seconds
+     */
+    void push(long timeSeconds, int payload) {
+        if (timeSeconds < 0 || timeSeconds > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Event time out of range: " + timeSeconds);
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            payloads = Arrays.copyOf(payloads, size * 2);
+        }
+
+        long key = (timeSeconds << 32) | (sequence++ & 0xFFFFFFFFL);
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            keys[i] = keys[parent];
+            payloads[i] = payloads[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        payloads[i] = payload;
+    }
+
+    /**
+     * Virtual time of the next event
+     */
+    long peekTime() {
+        if (size == 0) {
+            throw new NoSuchElementException("Event queue is empty");
+        }
+        return keys[0] >>> 32;
+    }
+
+    /**
+     * Remove the next event and return its payload
+     */
+    int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException("Event queue is empty");
+        }
+        int payload = payloads[0];
+        long lastKey = keys[--size];
+        int lastPayload = payloads[size];
+
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (lastKey <= keys[child]) {
+                break;
+            }
+            keys[i] = keys[child];
+            payloads[i] = payloads[child];
+            i = child;
+        }
+        keys[i] = lastKey;
+        payloads[i] = lastPayload;
+        return payload;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+}
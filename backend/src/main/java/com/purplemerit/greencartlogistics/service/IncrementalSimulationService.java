@@ -0,0 +1,152 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.model.Driver;
+import com.purplemerit.greencartlogistics.model.Order;
+import com.purplemerit.greencartlogistics.model.Route;
+import com.purplemerit.greencartlogistics.model.SimulationResult;
+import com.purplemerit.greencartlogistics.repository.RouteRepository;
+import com.purplemerit.greencartlogistics.repository.SimulationResultRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the latest simulation current when a route, order or driver it used is edited,
+ * by re-simulating only the orders that depend on the change and patching the stored KPIs.
+ * The dependency index lives in memory for the latest simulation run by this instance;
+ * edits made while it is unavailable (after a restart, a streamed run, or a newer run
+ * elsewhere) leave the stored simulation untouched.
+ */
+@Service
+public class IncrementalSimulationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalSimulationService.class);
+
+    @Autowired
+    private SimulationResultRepository simulationResultRepository;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private OrderOutcomeWriter orderOutcomeWriter;
+
+    private SimulationDependencyIndex index;
+
+    /**
+     * Index a persisted simulation so later edits can be applied to it incrementally
+     */
+    public synchronized void register(SimulationResult result, SimulationSnapshot snapshot,
+                                      List<OrderOutcome> orderOutcomes) {
+        index = SimulationDependencyIndex.of(result, snapshot, orderOutcomes);
+    }
+
+    /**
+     * Drop the index, e.g. when the latest simulation cannot be indexed
+     */
+    public synchronized void clear() {
+        index = null;
+    }
+
+    /**
+     * Re-simulate the orders on an edited route
+     *
+     * @param previousRouteId the route id before the edit
+     */
+    public synchronized Optional<SimulationResult> routeUpdated(String previousRouteId, Route route) {
+        SimulationDependencyIndex current = currentIndex();
+        if (current == null) {
+            return Optional.empty();
+        }
+        return apply(current, current.routeUpdated(previousRouteId, route), "route " + route.getRouteId(), null);
+    }
+
+    /**
+     * Re-simulate an edited order that is still delivered, patching the stored KPIs and the orders
+     * its driver delivers after it. The edited order itself keeps the fields the user saved.
+     * An order taken out of the delivered set, e.g. cancelled or back to pending, no longer matches
+     * the stored run, so the index is dropped and later edits wait for a full rerun.
+     */
+    public synchronized Optional<SimulationResult> orderUpdated(Order order) {
+        SimulationDependencyIndex current = currentIndex();
+        if (current == null || !current.containsOrder(order.getId())) {
+            return Optional.empty();
+        }
+        if (order.getStatus() != Order.OrderStatus.DELIVERED) {
+            logger.info("Order {} is now {}, latest simulation needs a full rerun to reflect it",
+                       order.getOrderId(), order.getStatus());
+            index = null;
+            return Optional.empty();
+        }
+        Optional<Route> route = routeRepository.findByRouteId(order.getAssignedRouteId());
+        if (route.isEmpty()) {
+            logger.warn("Route {} not found for order {}, latest simulation needs a full rerun to reflect it",
+                       order.getAssignedRouteId(), order.getOrderId());
+            index = null;
+            return Optional.empty();
+        }
+
+        return apply(current, current.orderUpdated(order, route.get()), "order " + order.getOrderId(), order.getId());
+    }
+
+    /**
+     * Replay the delivery times of an edited driver
+     */
+    public synchronized Optional<SimulationResult> driverUpdated(Driver driver) {
+        SimulationDependencyIndex current = currentIndex();
+        if (current == null) {
+            return Optional.empty();
+        }
+        return apply(current, current.driverUpdated(driver), "driver " + driver.getName(), null);
+    }
+
+    /**
+     * The index, if it still belongs to the latest stored simulation
+     */
+    private SimulationDependencyIndex currentIndex() {
+        if (index == null) {
+            return null;
+        }
+        SimulationResult latest = simulationResultRepository.findTopByOrderBySimulationTimestampDesc();
+        if (latest == null || !Objects.equals(index.getSimulationId(), latest.getId())) {
+            index = null;
+        }
+        return index;
+    }
+
+    /**
+     * Write the re-simulated outcomes and patch the stored KPIs
+     *
+     * @param editedOrderId order whose outcome fields were just saved by the user and are left as saved, or null
+     */
+    private Optional<SimulationResult> apply(SimulationDependencyIndex current, SimulationDependencyIndex.Patch patch,
+                                             String change, String editedOrderId) {
+        if (patch.isEmpty()) {
+            return Optional.empty();
+        }
+        SimulationResult result = simulationResultRepository.findById(current.getSimulationId()).orElse(null);
+        if (result == null) {
+            index = null;
+            return Optional.empty();
+        }
+
+        List<OrderOutcome> outcomes = patch.getOrderOutcomes().stream()
+                .filter(outcome -> !outcome.getOrder().getId().equals(editedOrderId))
+                .collect(Collectors.toList());
+        if (!outcomes.isEmpty()) {
+            orderOutcomeWriter.write(outcomes);
+        }
+        patch.applyTo(result);
+        SimulationResult saved = simulationResultRepository.save(result);
+
+        logger.info("Re-simulated {} order(s) of simulation {} after a change to {}. Total profit: ₹{}",
+                   patch.getOrderOutcomes().size(), saved.getId(), change, saved.getTotalProfit());
+        return Optional.of(saved);
+    }
+}
@@ -0,0 +1,195 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.model.SimulationResult;
+import com.purplemerit.greencartlogistics.model.WarehouseBreakdown;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running KPI totals for a simulation, fed one delivered order at a time
+ * so the KPIs come out of the allocation pass without re-reading orders
+ */
+public class KpiAccumulator {
+
+    private double totalProfit;
+
+    private double totalPenalties;
+
+    private double totalBonuses;
+
+    private double totalFuelCost;
+
+    private int onTimeDeliveries;
+
+    private int lateDeliveries;
+
+    private final Map<String, Double> fuelCostBreakdown = new HashMap<>();
+
+    // Fuel cost per interned traffic level from the hot path, folded into the map when read
+    private final String[] trafficLevels;
+
+    private final double[] fuelByTrafficLevel;
+
+    private final boolean[] trafficLevelSeen;
+
+    public KpiAccumulator() {
+        this(new String[0]);
+    }
+
+    /**
+     * @param trafficLevels traffic levels that {@link #accept(double, double, double, double, boolean, int)}
+     *                      refers to by index
+     */
+    KpiAccumulator(String[] trafficLevels) {
+        this.trafficLevels = trafficLevels;
+        this.fuelByTrafficLevel = new double[trafficLevels.length];
+        this.trafficLevelSeen = new boolean[trafficLevels.length];
+    }
+
+    /**
+     * Record one delivered order
+     */
+    public void accept(OrderOutcome outcome, String trafficLevel) {
+        totalProfit += outcome.getProfit();
+        totalPenalties += outcome.getPenalty();
+        totalBonuses += outcome.getBonus();
+        totalFuelCost += outcome.getFuelCost();
+
+        if (outcome.isDeliveredOnTime()) {
+            onTimeDeliveries++;
+        } else {
+            lateDeliveries++;
+        }
+
+        fuelCostBreakdown.merge(trafficLevel, outcome.getFuelCost(), Double::sum);
+    }
+
+    /**
+     * Record one delivered order from primitives, with the traffic level as an index
+     * into the levels this accumulator was created with; allocates nothing
+     */
+    void accept(double profit, double penalty, double bonus, double fuelCost, boolean onTime, int trafficLevel) {
+        totalProfit += profit;
+        totalPenalties += penalty;
+        totalBonuses += bonus;
+        totalFuelCost += fuelCost;
+
+        if (onTime) {
+            onTimeDeliveries++;
+        } else {
+            lateDeliveries++;
+        }
+
+        fuelByTrafficLevel[trafficLevel] += fuelCost;
+        trafficLevelSeen[trafficLevel] = true;
+    }
+
+    /**
+     * Add another accumulator's totals into this one
+     */
+    public void merge(KpiAccumulator other) {
+        totalProfit += other.totalProfit;
+        totalPenalties += other.totalPenalties;
+        totalBonuses += other.totalBonuses;
+        totalFuelCost += other.totalFuelCost;
+        onTimeDeliveries += other.onTimeDeliveries;
+        lateDeliveries += other.lateDeliveries;
+        other.foldTrafficLevels();
+        other.fuelCostBreakdown.forEach((trafficLevel, cost) -> fuelCostBreakdown.merge(trafficLevel, cost, Double::sum));
+    }
+
+    /**
+     * Point-in-time copy, safe to hand to another thread while this accumulator keeps growing
+     */
+    public KpiAccumulator copy() {
+        KpiAccumulator copy = new KpiAccumulator();
+        copy.totalProfit = totalProfit;
+        copy.totalPenalties = totalPenalties;
+        copy.totalBonuses = totalBonuses;
+        copy.totalFuelCost = totalFuelCost;
+        copy.onTimeDeliveries = onTimeDeliveries;
+        copy.lateDeliveries = lateDeliveries;
+        foldTrafficLevels();
+        copy.fuelCostBreakdown.putAll(fuelCostBreakdown);
+        return copy;
+    }
+
+    public double getTotalProfit() {
+        return totalProfit;
+    }
+
+    public double getTotalPenalties() {
+        return totalPenalties;
+    }
+
+    public double getTotalBonuses() {
+        return totalBonuses;
+    }
+
+    public double getTotalFuelCost() {
+        return totalFuelCost;
+    }
+
+    public int getOnTimeDeliveries() {
+        return onTimeDeliveries;
+    }
+
+    public int getLateDeliveries() {
+        return lateDeliveries;
+    }
+
+    public int getTotalDeliveries() {
+        return onTimeDeliveries + lateDeliveries;
+    }
+
+    /**
+     * Company Rule 6: Efficiency = (OnTime Deliveries / Total Deliveries) × 100
+     */
+    public double getEfficiencyScore() {
+        int totalDeliveries = getTotalDeliveries();
+        return totalDeliveries > 0 ? (double) onTimeDeliveries / totalDeliveries * 100 : 0;
+    }
+
+    public Map<String, Double> getFuelCostBreakdown() {
+        foldTrafficLevels();
+        return fuelCostBreakdown;
+    }
+
+    private void foldTrafficLevels() {
+        for (int t = 0; t < trafficLevels.length; t++) {
+            if (trafficLevelSeen[t]) {
+                fuelCostBreakdown.merge(trafficLevels[t], fuelByTrafficLevel[t], Double::sum);
+                fuelByTrafficLevel[t] = 0;
+                trafficLevelSeen[t] = false;
+            }
+        }
+    }
+
+    /**
+     * Copy the accumulated KPIs onto a simulation result
+     */
+    public void applyTo(SimulationResult result) {
+        result.setTotalProfit(totalProfit);
+        result.setTotalPenalties(totalPenalties);
+        result.setTotalBonuses(totalBonuses);
+        result.setTotalFuelCost(totalFuelCost);
+        result.setEfficiencyScore(getEfficiencyScore());
+        result.setOnTimeDeliveries(onTimeDeliveries);
+        result.setLateDeliveries(lateDeliveries);
+        result.setTotalDeliveries(getTotalDeliveries());
+        result.setFuelCostBreakdown(getFuelCostBreakdown());
+    }
+
+    /**
+     * Copy the accumulated KPIs onto a warehouse breakdown
+     */
+    public void applyTo(WarehouseBreakdown breakdown) {
+        breakdown.setTotalProfit(totalProfit);
+        breakdown.setTotalFuelCost(totalFuelCost);
+        breakdown.setEfficiencyScore(getEfficiencyScore());
+        breakdown.setOnTimeDeliveries(onTimeDeliveries);
+        breakdown.setLateDeliveries(lateDeliveries);
+        breakdown.setTotalDeliveries(getTotalDeliveries());
+    }
+}
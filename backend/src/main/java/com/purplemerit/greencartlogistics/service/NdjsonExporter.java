@@ -0,0 +1,126 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.purplemerit.greencartlogistics.model.Order;
+import com.purplemerit.greencartlogistics.model.SimulationResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes orders and simulation results as newline-delimited JSON straight from a database cursor,
+ * so memory use stays the same however many documents are exported
+ */
+@Component
+public class NdjsonExporter {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.export.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Export the orders matching every given filter; null filters are ignored
+     *
+     * @param from earliest delivery time, inclusive
+     * @param to latest delivery time, exclusive
+     * @return number of orders written
+     */
+    public long exportOrders(Order.OrderStatus status, String routeId, String driverId,
+                             LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        return export(ordersQuery(status, routeId, driverId, from, to), Order.class, out);
+    }
+
+    /**
+     * Export the simulation results matching every given filter; null filters are ignored.
+     * Order id lists are not part of the export, see the processed-orders endpoint.
+     *
+     * @param driverId only runs that had this driver available
+     * @param from earliest simulation time, inclusive
+     * @param to latest simulation time, exclusive
+     * @return number of results written
+     */
+    public long exportSimulationResults(String driverId, LocalDateTime from, LocalDateTime to,
+                                        OutputStream out) throws IOException {
+        return export(simulationResultsQuery(driverId, from, to), SimulationResult.class, out);
+    }
+
+    Query ordersQuery(Order.OrderStatus status, String routeId, String driverId,
+                      LocalDateTime from, LocalDateTime to) {
+        Criteria criteria = new Criteria();
+        if (status != null) {
+            criteria.and("status").is(status);
+        }
+        if (routeId != null) {
+            criteria.and("assignedRouteId").is(routeId);
+        }
+        if (driverId != null) {
+            criteria.and("assignedDriverId").is(driverId);
+        }
+        addTimeRange(criteria, "deliveryTimestamp", from, to);
+        return Query.query(criteria);
+    }
+
+    Query simulationResultsQuery(String driverId, LocalDateTime from, LocalDateTime to) {
+        Criteria criteria = new Criteria();
+        if (driverId != null) {
+            criteria.and("driverIds").is(driverId);
+        }
+        addTimeRange(criteria, "simulationTimestamp", from, to);
+        return Query.query(criteria);
+    }
+
+    private void addTimeRange(Criteria criteria, String field, LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null) {
+            criteria.and(field).gte(from).lt(to);
+        } else if (from != null) {
+            criteria.and(field).gte(from);
+        } else if (to != null) {
+            criteria.and(field).lt(to);
+        }
+    }
+
+    private <T> long export(Query query, Class<T> type, OutputStream out) throws IOException {
+        int effectiveBatchSize = Math.max(1, batchSize);
+        query.with(Sort.by(Sort.Direction.ASC, "id")).cursorBatchSize(effectiveBatchSize);
+
+        // Flushing is left to the loop below rather than done after every document
+        ObjectWriter writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long written = 0;
+        try (Stream<T> documents = mongoTemplate.stream(query, type);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // The servlet container owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null); // lines are ended explicitly instead
+            Iterator<T> cursor = documents.iterator();
+            while (cursor.hasNext()) {
+                writer.writeValue(generator, cursor.next());
+                generator.writeRaw('\n');
+                if (++written % effectiveBatchSize == 0) {
+                    generator.flush(); // push each cursor batch to the client as it is read
+                }
+            }
+            generator.flush();
+        }
+        return written;
+    }
+}
@@ -0,0 +1,80 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.model.Order;
+
+import java.time.LocalDateTime;
+
+/**
+ * Result of simulating the delivery of a single order.
+ * Computed without mutating the order so it can be persisted, or discarded, after the run.
+ */
+public final class OrderOutcome {
+
+    private final Order order;
+
+    private final String driverId;
+
+    private final LocalDateTime deliveryTimestamp;
+
+    private final boolean deliveredOnTime;
+
+    private final double penalty;
+
+    private final double bonus;
+
+    private final double fuelCost;
+
+    // Simulated travel time including jitter, before any fatigue slowdown
+    private final int actualTimeMinutes;
+
+    public OrderOutcome(Order order, String driverId, LocalDateTime deliveryTimestamp, boolean deliveredOnTime,
+                        double penalty, double bonus, double fuelCost, int actualTimeMinutes) {
+        this.order = order;
+        this.driverId = driverId;
+        this.deliveryTimestamp = deliveryTimestamp;
+        this.deliveredOnTime = deliveredOnTime;
+        this.penalty = penalty;
+        this.bonus = bonus;
+        this.fuelCost = fuelCost;
+        this.actualTimeMinutes = actualTimeMinutes;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public String getDriverId() {
+        return driverId;
+    }
+
+    public LocalDateTime getDeliveryTimestamp() {
+        return deliveryTimestamp;
+    }
+
+    public boolean isDeliveredOnTime() {
+        return deliveredOnTime;
+    }
+
+    public double getPenalty() {
+        return penalty;
+    }
+
+    public double getBonus() {
+        return bonus;
+    }
+
+    public double getFuelCost() {
+        return fuelCost;
+    }
+
+    public int getActualTimeMinutes() {
+        return actualTimeMinutes;
+    }
+
+    /**
+     * Company Rule 5: profit = order value + bonus – penalties – fuel cost
+     */
+    public double getProfit() {
+        return order.getValueRs() + bonus - penalty - fuelCost;
+    }
+}
@@ -0,0 +1,121 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.purplemerit.greencartlogistics.model.Order;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Persists simulated order outcomes with batched bulk {@code $set} updates
+ * instead of rewriting each full order document
+ */
+@Component
+public class OrderOutcomeWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderOutcomeWriter.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.simulation.bulk-write.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.simulation.bulk-write.ordered:false}")
+    private boolean ordered;
+
+    /**
+     * Write all outcomes, flushing one bulk operation per batch
+     *
+     * @return number of order documents modified
+     */
+    public int write(List<OrderOutcome> outcomes) {
+        return write(outcomes, null);
+    }
+
+    /**
+     * Write the outcomes of orders claimed under the token, releasing each claim with its outcome.
+     * Orders whose lease has since passed to another run are left untouched.
+     *
+     * @return number of order documents modified
+     */
+    public int write(List<OrderOutcome> outcomes, String claimToken) {
+        if (outcomes.isEmpty()) {
+            return 0;
+        }
+
+        int effectiveBatchSize = Math.max(1, batchSize);
+        BulkOperations.BulkMode mode = ordered ? BulkOperations.BulkMode.ORDERED : BulkOperations.BulkMode.UNORDERED;
+        LocalDateTime updatedAt = LocalDateTime.now();
+
+        int modified = 0;
+        int batches = 0;
+        BulkOperations bulkOps = null;
+        int pending = 0;
+
+        for (OrderOutcome outcome : outcomes) {
+            if (bulkOps == null) {
+                bulkOps = mongoTemplate.bulkOps(mode, Order.class);
+            }
+            bulkOps.updateOne(byId(outcome.getOrder(), claimToken), toUpdate(outcome, updatedAt));
+            pending++;
+
+            if (pending == effectiveBatchSize) {
+                modified += execute(bulkOps);
+                batches++;
+                bulkOps = null;
+                pending = 0;
+            }
+        }
+
+        if (pending > 0) {
+            modified += execute(bulkOps);
+            batches++;
+        }
+
+        if (claimToken != null && modified < outcomes.size()) {
+            logger.warn("{} of {} order outcomes were not written, their claims expired during the run",
+                       outcomes.size() - modified, outcomes.size());
+        }
+        logger.debug("Wrote {} order outcomes in {} bulk batch(es), {} modified", outcomes.size(), batches, modified);
+        return modified;
+    }
+
+    private int execute(BulkOperations bulkOps) {
+        BulkWriteResult result = bulkOps.execute();
+        return result != null ? result.getModifiedCount() : 0;
+    }
+
+    private Query byId(Order order, String claimToken) {
+        Criteria criteria = Criteria.where("id").is(order.getId());
+        if (claimToken != null) {
+            criteria.and("claimToken").is(claimToken);
+        }
+        return Query.query(criteria);
+    }
+
+    private Update toUpdate(OrderOutcome outcome, LocalDateTime updatedAt) {
+        return new Update()
+                .set("assignedDriverId", outcome.getDriverId())
+                .set("status", Order.OrderStatus.DELIVERED)
+                .set("isDeliveredOnTime", outcome.isDeliveredOnTime())
+                .set("penalty", outcome.getPenalty())
+                .set("bonus", outcome.getBonus())
+                .set("fuelCost", outcome.getFuelCost())
+                .set("profit", outcome.getProfit())
+                .set("deliveryTimestamp", outcome.getDeliveryTimestamp())
+                .set("updatedAt", updatedAt)
+                .unset("claimToken")
+                .unset("claimExpiresAt");
+    }
+}
@@ -0,0 +1,41 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.model.Order;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Pending orders as parallel primitive arrays indexed by the order's position,
+ * with each order's route resolved once to its index in a {@link RouteTable}
+ */
+final class OrderTable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderTable.class);
+
+    final List<Order> orders;
+
+    // Index into the route table, -1 when the order's route is not active
+    final int[] route;
+
+    final double[] value;
+
+    OrderTable(List<Order> orders, RouteTable routes) {
+        this.orders = orders;
+        this.route = new int[orders.size()];
+        this.value = new double[orders.size()];
+        for (int i = 0; i < route.length; i++) {
+            Order order = orders.get(i);
+            route[i] = routes.indexOf(order.getAssignedRouteId());
+            value[i] = order.getValueRs();
+            if (route[i] < 0) {
+                logger.warn("Route {} not found for order {}", order.getAssignedRouteId(), order.getOrderId());
+            }
+        }
+    }
+
+    int size() {
+        return route.length;
+    }
+}
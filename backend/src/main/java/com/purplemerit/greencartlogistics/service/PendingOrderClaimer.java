@@ -0,0 +1,146 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.purplemerit.greencartlogistics.model.Order;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Leases pending orders to one simulation run at a time. Orders are claimed in batches with a
+ * conditional update on their status and lease, so concurrent runs, on this instance or another
+ * replica, each get a disjoint set of orders. A run claims only enough route hours to cover its
+ * fleet, leaving the rest of the backlog to other runs. A lease that is never released expires on its own.
+ */
+@Component
+public class PendingOrderClaimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PendingOrderClaimer.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.simulation.claims.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.simulation.claims.lease-seconds:600}")
+    private long leaseSeconds;
+
+    /**
+     * A fresh token identifying one run's claims
+     */
+    public String newToken() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Claim pending orders not leased to another run, in id order, until their route hours cover the budget
+     *
+     * @param hours      driving hours the run can spend; the order that crosses it is still claimed
+     * @param routeHours base hours of an order on the given route id
+     * @return the claimed orders, in id order
+     */
+    public List<Order> claim(String token, double hours, ToDoubleFunction<String> routeHours) {
+        List<Order> claimed = new ArrayList<>();
+        forEachBatch(token, hours, routeHours, claimed::addAll);
+        return claimed;
+    }
+
+    /**
+     * Claim pending orders one batch at a time until their route hours cover the budget,
+     * handing each batch to the consumer before the next is claimed
+     *
+     * @return number of orders claimed
+     */
+    public long forEachBatch(String token, double hours, ToDoubleFunction<String> routeHours,
+                             Consumer<List<Order>> consumer) {
+        long claimed = 0;
+        double remaining = hours;
+        List<Order> batch;
+        while (remaining > 0 && !(batch = claimBatch(token, remaining, routeHours)).isEmpty()) {
+            claimed += batch.size();
+            for (Order order : batch) {
+                remaining -= routeHours.applyAsDouble(order.getAssignedRouteId());
+            }
+            consumer.accept(batch);
+        }
+        return claimed;
+    }
+
+    /**
+     * Give back the orders still leased under the token, e.g. those the run did not deliver
+     *
+     * @return number of orders released
+     */
+    public long release(String token) {
+        UpdateResult result = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("claimToken").is(token)),
+                new Update().unset("claimToken").unset("claimExpiresAt"),
+                Order.class);
+        long released = result != null ? result.getModifiedCount() : 0;
+        if (released > 0) {
+            logger.debug("Released {} unprocessed order claim(s)", released);
+        }
+        return released;
+    }
+
+    /**
+     * Claim the next batch of unleased pending orders, no more than the remaining hours need.
+     * Other runs may win some of the candidates between the read and the conditional update;
+     * candidates are re-read until this run wins at least one or none are left.
+     */
+    List<Order> claimBatch(String token, double hours, ToDoubleFunction<String> routeHours) {
+        int effectiveBatchSize = Math.max(1, batchSize);
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            Query candidates = Query.query(claimable(now))
+                    .with(Sort.by("id"))
+                    .limit(effectiveBatchSize);
+            candidates.fields().include("id").include("assignedRouteId");
+            List<String> ids = new ArrayList<>();
+            double budget = hours;
+            for (Order candidate : mongoTemplate.find(candidates, Order.class)) {
+                if (budget <= 0) {
+                    break;
+                }
+                ids.add(candidate.getId());
+                budget -= routeHours.applyAsDouble(candidate.getAssignedRouteId());
+            }
+            if (ids.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            UpdateResult result = mongoTemplate.updateMulti(
+                    Query.query(new Criteria().andOperator(Criteria.where("id").in(ids), claimable(now))),
+                    new Update().set("claimToken", token).set("claimExpiresAt", now.plusSeconds(leaseSeconds)),
+                    Order.class);
+            if (result != null && result.getModifiedCount() > 0) {
+                return mongoTemplate.find(Query.query(Criteria.where("id").in(ids).and("claimToken").is(token))
+                        .with(Sort.by("id")), Order.class);
+            }
+        }
+    }
+
+    /**
+     * Pending and not leased, or leased by a run whose lease has run out
+     */
+    private Criteria claimable(LocalDateTime now) {
+        return Criteria.where("status").is(Order.OrderStatus.PENDING)
+                .orOperator(Criteria.where("claimExpiresAt").is(null), Criteria.where("claimExpiresAt").lt(now));
+    }
+}
@@ -0,0 +1,59 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.model.Order;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads pending orders through a database cursor in bounded chunks,
+ * so at most one chunk of orders is held in memory at a time
+ */
+@Component
+public class PendingOrderReader {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.simulation.streaming.chunk-size:5000}")
+    private int chunkSize;
+
+    /**
+     * Hand every pending order to the consumer, one chunk at a time, in natural order
+     *
+     * @return number of orders read
+     */
+    public long forEachChunk(Consumer<List<Order>> consumer) {
+        int effectiveChunkSize = Math.max(1, chunkSize);
+        Query query = Query.query(Criteria.where("status").is(Order.OrderStatus.PENDING))
+                .cursorBatchSize(effectiveChunkSize);
+
+        long read = 0;
+        try (Stream<Order> orders = mongoTemplate.stream(query, Order.class)) {
+            Iterator<Order> cursor = orders.iterator();
+            List<Order> chunk = new ArrayList<>(effectiveChunkSize);
+            while (cursor.hasNext()) {
+                chunk.add(cursor.next());
+                if (chunk.size() == effectiveChunkSize) {
+                    read += chunk.size();
+                    consumer.accept(chunk);
+                    chunk = new ArrayList<>(effectiveChunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                read += chunk.size();
+                consumer.accept(chunk);
+            }
+        }
+        return read;
+    }
+}
@@ -0,0 +1,150 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.model.Driver;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Plans which orders each driver takes so that expected profit is as high as possible.
+ *
+ * Drivers are bins holding maxHoursPerDriver; an order weighs its route's base time
+ * (times the fatigue factor for a fatigued driver) and is worth the profit the compiled
+ * company rules are expected to yield for it.
+ * The plan starts from value-density first-fit-decreasing and is then improved by
+ * swapping unplanned orders in for lower-value planned ones until nothing improves
+ * or the evaluation budget runs out. The budget counts candidate orders tried and planned
+ * orders compared against them rather than wall-clock time, so the same inputs always
+ * yield the same plan and PROFIT_MAX runs replay exactly.
+ */
+final class ProfitMaximizingSolver {
+
+    static final long DEFAULT_MAX_EVALUATIONS = 100_000_000L;
+
+    private final long maxEvaluations;
+
+    ProfitMaximizingSolver(long maxEvaluations) {
+        this.maxEvaluations = maxEvaluations;
+    }
+
+    /**
+     * @return driver index planned for each order, or -1 for orders left unassigned
+     */
+    int[] solve(List<Driver> drivers, double maxHours, OrderTable orders, RouteTable routes, CompiledRules rules) {
+        int[] plan = new int[orders.size()];
+        Arrays.fill(plan, -1);
+
+        double[] weight = new double[orders.size()];
+        double[] value = new double[orders.size()];
+        int candidateCount = 0;
+        Integer[] candidates = new Integer[orders.size()];
+        for (int i = 0; i < orders.size(); i++) {
+            int route = orders.route[i];
+            if (route < 0) {
+                continue;
+            }
+            weight[i] = routes.baseMinutes[route] / 60.0;
+            value[i] = rules.expectedProfit(orders.value[i], route, SimulationEngine.JITTER_MINUTES);
+            // Delivering an order that loses money only lowers total profit
+            if (value[i] > 0) {
+                candidates[candidateCount++] = i;
+            }
+        }
+        candidates = Arrays.copyOf(candidates, candidateCount);
+
+        double[] factor = new double[drivers.size()];
+        for (int d = 0; d < factor.length; d++) {
+            factor[d] = drivers.get(d).isHasFatiguePenalty() ? rules.fatigueFactor : 1.0;
+        }
+        double[] load = new double[drivers.size()];
+
+        // Value-density first-fit-decreasing
+        Arrays.sort(candidates, Comparator.comparingDouble((Integer i) -> density(value[i], weight[i])).reversed());
+        int[] planned = new int[candidateCount];
+        int plannedCount = 0;
+        for (int i : candidates) {
+            int driver = firstFit(weight[i], factor, load, maxHours);
+            if (driver >= 0) {
+                plan[i] = driver;
+                load[driver] += weight[i] * factor[driver];
+                planned[plannedCount++] = i;
+            }
+        }
+
+        // Local improvement: try the most valuable leftovers against the planned orders
+        Arrays.sort(candidates, Comparator.comparingDouble((Integer i) -> value[i]).reversed());
+        boolean improved = true;
+        long evaluations = 0;
+        while (improved && plannedCount > 0) {
+            improved = false;
+            double minPlannedValue = minValue(planned, plannedCount, value);
+            for (int u : candidates) {
+                if (++evaluations > maxEvaluations) {
+                    return plan;
+                }
+                if (plan[u] >= 0) {
+                    continue;
+                }
+
+                // Freed capacity from earlier swaps may fit the order outright
+                int driver = firstFit(weight[u], factor, load, maxHours);
+                if (driver >= 0) {
+                    plan[u] = driver;
+                    load[driver] += weight[u] * factor[driver];
+                    planned[plannedCount++] = u;
+                    improved = true;
+                    continue;
+                }
+                if (value[u] <= minPlannedValue) {
+                    continue;
+                }
+
+                evaluations += plannedCount;
+                int bestSlot = -1;
+                double bestGain = 0;
+                for (int slot = 0; slot < plannedCount; slot++) {
+                    int a = planned[slot];
+                    int d = plan[a];
+                    double gain = value[u] - value[a];
+                    if (gain > bestGain && load[d] - weight[a] * factor[d] + weight[u] * factor[d] <= maxHours) {
+                        bestGain = gain;
+                        bestSlot = slot;
+                    }
+                }
+                if (bestSlot >= 0) {
+                    int a = planned[bestSlot];
+                    int d = plan[a];
+                    load[d] += (weight[u] - weight[a]) * factor[d];
+                    plan[a] = -1;
+                    plan[u] = d;
+                    planned[bestSlot] = u;
+                    minPlannedValue = minValue(planned, plannedCount, value);
+                    improved = true;
+                }
+            }
+        }
+        return plan;
+    }
+
+    private static double density(double value, double weight) {
+        return weight > 0 ? value / weight : Double.POSITIVE_INFINITY;
+    }
+
+    private static int firstFit(double weight, double[] factor, double[] load, double maxHours) {
+        for (int d = 0; d < load.length; d++) {
+            if (load[d] + weight * factor[d] <= maxHours) {
+                return d;
+            }
+        }
+        return -1;
+    }
+
+    private static double minValue(int[] planned, int plannedCount, double[] value) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int slot = 0; slot < plannedCount; slot++) {
+            min = Math.min(min, value[planned[slot]]);
+        }
+        return min;
+    }
+}
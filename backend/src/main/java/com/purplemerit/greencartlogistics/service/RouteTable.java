@@ -0,0 +1,63 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.model.Route;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes of a snapshot interned to dense int indices, with the values the simulation
+ * reads per delivery laid out as primitive arrays. Traffic levels are interned too,
+ * so fuel totals per traffic level can be kept in a double[]. Rule-dependent values
+ * such as fuel cost live in {@link CompiledRules}.
+ */
+final class RouteTable {
+
+    private final Map<String, Integer> indexByRouteId;
+
+    final Route[] routes;
+
+    final int[] baseMinutes;
+
+    final int[] trafficLevel;
+
+    final String[] trafficLevels;
+
+    RouteTable(Collection<Route> activeRoutes) {
+        int size = activeRoutes.size();
+        this.indexByRouteId = new HashMap<>(size * 2);
+        this.routes = new Route[size];
+        this.baseMinutes = new int[size];
+        this.trafficLevel = new int[size];
+
+        Map<String, Integer> trafficIndex = new HashMap<>();
+        List<String> levels = new ArrayList<>();
+        int r = 0;
+        for (Route route : activeRoutes) {
+            indexByRouteId.put(route.getRouteId(), r);
+            routes[r] = route;
+            baseMinutes[r] = route.getBaseTimeMinutes();
+            trafficLevel[r] = trafficIndex.computeIfAbsent(route.getTrafficLevel(), level -> {
+                levels.add(level);
+                return levels.size() - 1;
+            });
+            r++;
+        }
+        this.trafficLevels = levels.toArray(new String[0]);
+    }
+
+    /**
+     * @return index of the route, or -1 when it is not an active route
+     */
+    int indexOf(String routeId) {
+        Integer index = indexByRouteId.get(routeId);
+        return index != null ? index : -1;
+    }
+
+    int size() {
+        return routes.length;
+    }
+}
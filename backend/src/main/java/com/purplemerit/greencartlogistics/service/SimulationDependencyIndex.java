@@ -0,0 +1,437 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.model.CompanyRules;
+import com.purplemerit.greencartlogistics.model.Driver;
+import com.purplemerit.greencartlogistics.model.DriverBreakdown;
+import com.purplemerit.greencartlogistics.model.Order;
+import com.purplemerit.greencartlogistics.model.Route;
+import com.purplemerit.greencartlogistics.model.SimulationResult;
+import com.purplemerit.greencartlogistics.model.WarehouseBreakdown;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Which delivered orders of a persisted simulation depend on which route and driver, together with
+ * what is needed to redo a single delivery: the jitter drawn for each order and every driver's
+ * delivery sequence. A change to one route, order or driver re-applies the company rules to the
+ * orders it touches and replays the affected drivers' clocks; the allocation made by the run is
+ * kept as it was, so a change that would alter which orders fit a driver's hours needs a full rerun.
+ * Not thread-safe; callers serialize access.
+ */
+final class SimulationDependencyIndex {
+
+    private final String simulationId;
+
+    private final LocalDateTime clockOrigin;
+
+    private final CompanyRules rules;
+
+    private final List<Route> routes;
+
+    private RouteTable routeTable;
+
+    private CompiledRules compiledRules;
+
+    // Per delivered order, by position in delivery order. Only ids and the fields the rules read
+    // are kept, so the index does not hold on to the run's order entities.
+    private final String[] ids;
+
+    private final String[] orderIds;
+
+    private final double[] valueRs;
+
+    private final int[] routeOf;
+
+    private final int[] jitterMinutes;
+
+    // Order value and warehouse the current outcome was counted under
+    private final double[] simulatedValue;
+
+    private final String[] warehouseOf;
+
+    private final int[] driverOf;
+
+    private final Outcome[] outcomes;
+
+    private final String[] driverIds;
+
+    private final boolean[] fatigued;
+
+    // Positions each driver delivered, in delivery order
+    private final int[][] queues;
+
+    private final Map<String, Integer> positionByOrderId = new HashMap<>();
+
+    private final Map<String, Integer> driverIndexById = new HashMap<>();
+
+    private SimulationDependencyIndex(SimulationResult result, SimulationSnapshot snapshot,
+                                      List<OrderOutcome> orderOutcomes) {
+        this.simulationId = result.getId();
+        this.clockOrigin = result.getSimulationDate().atTime(result.getRouteStartTime());
+        this.rules = snapshot.getRules();
+        this.routes = new ArrayList<>(snapshot.getRoutesById().values());
+        compile();
+
+        List<Driver> drivers = snapshot.driversFor(result.getNumberOfDrivers());
+        this.driverIds = new String[drivers.size()];
+        this.fatigued = new boolean[drivers.size()];
+        for (int d = 0; d < drivers.size(); d++) {
+            driverIds[d] = drivers.get(d).getId();
+            fatigued[d] = drivers.get(d).isHasFatiguePenalty();
+            driverIndexById.put(driverIds[d], d);
+        }
+
+        int size = orderOutcomes.size();
+        this.ids = new String[size];
+        this.orderIds = new String[size];
+        this.valueRs = new double[size];
+        this.routeOf = new int[size];
+        this.jitterMinutes = new int[size];
+        this.simulatedValue = new double[size];
+        this.warehouseOf = new String[size];
+        this.driverOf = new int[size];
+        this.outcomes = new Outcome[size];
+        int[] queueSizes = new int[drivers.size()];
+        for (int p = 0; p < size; p++) {
+            OrderOutcome outcome = orderOutcomes.get(p);
+            Order order = outcome.getOrder();
+            ids[p] = order.getId();
+            orderIds[p] = order.getOrderId();
+            valueRs[p] = order.getValueRs();
+            routeOf[p] = routeTable.indexOf(order.getAssignedRouteId());
+            Route route = routes.get(routeOf[p]);
+            jitterMinutes[p] = outcome.getActualTimeMinutes() - route.getBaseTimeMinutes();
+            simulatedValue[p] = valueRs[p];
+            warehouseOf[p] = warehouseOf(route);
+            driverOf[p] = driverIndexById.get(outcome.getDriverId());
+            outcomes[p] = new Outcome(outcome.isDeliveredOnTime(), outcome.getPenalty(), outcome.getBonus(),
+                    outcome.getFuelCost(), route.getTrafficLevel(), outcome.getDeliveryTimestamp());
+            positionByOrderId.put(ids[p], p);
+            queueSizes[driverOf[p]]++;
+        }
+
+        this.queues = new int[drivers.size()][];
+        for (int d = 0; d < queues.length; d++) {
+            queues[d] = new int[queueSizes[d]];
+            queueSizes[d] = 0;
+        }
+        for (int p = 0; p < size; p++) {
+            queues[driverOf[p]][queueSizes[driverOf[p]]++] = p;
+        }
+    }
+
+    /**
+     * Index the delivered orders of a simulation that has just been persisted
+     */
+    static SimulationDependencyIndex of(SimulationResult result, SimulationSnapshot snapshot,
+                                        List<OrderOutcome> orderOutcomes) {
+        return new SimulationDependencyIndex(result, snapshot, orderOutcomes);
+    }
+
+    String getSimulationId() {
+        return simulationId;
+    }
+
+    boolean containsOrder(String orderId) {
+        return positionByOrderId.containsKey(orderId);
+    }
+
+    /**
+     * Route details changed: re-apply the rules to every order on the route and replay its drivers.
+     * A new start location moves the route's orders to that warehouse's breakdown.
+     *
+     * @param previousRouteId the route's id before the update, as the simulated orders refer to it
+     */
+    Patch routeUpdated(String previousRouteId, Route route) {
+        int index = routeTable.indexOf(previousRouteId);
+        if (index < 0) {
+            return new Patch();
+        }
+        routes.set(index, route);
+        compile();
+
+        Set<Integer> positions = new TreeSet<>();
+        Set<Integer> drivers = new TreeSet<>();
+        for (int p = 0; p < ids.length; p++) {
+            if (routeOf[p] == index) {
+                positions.add(p);
+                drivers.add(driverOf[p]);
+            }
+        }
+        return resimulate(positions, drivers);
+    }
+
+    /**
+     * Order value or route changed: re-apply the rules to the order and replay its driver.
+     * The order keeps the jitter it was simulated with.
+     *
+     * @param route the order's current route
+     */
+    Patch orderUpdated(Order order, Route route) {
+        Integer position = positionByOrderId.get(order.getId());
+        if (position == null) {
+            return new Patch();
+        }
+        int index = routeTable.indexOf(route.getRouteId());
+        if (index < 0) {
+            routes.add(route);
+            compile();
+            index = routes.size() - 1;
+        }
+        valueRs[position] = order.getValueRs();
+        routeOf[position] = index;
+        return resimulate(Set.of(position), Set.of(driverOf[position]));
+    }
+
+    /**
+     * Driver fatigue changed: outcomes do not depend on it, but the driver's delivery times do
+     */
+    Patch driverUpdated(Driver driver) {
+        Integer index = driverIndexById.get(driver.getId());
+        if (index == null || fatigued[index] == driver.isHasFatiguePenalty()) {
+            return new Patch();
+        }
+        fatigued[index] = driver.isHasFatiguePenalty();
+        return resimulate(Set.of(), Set.of(index));
+    }
+
+    private void compile() {
+        this.routeTable = new RouteTable(routes);
+        this.compiledRules = new CompiledRules(rules, routeTable);
+    }
+
+    private static String warehouseOf(Route route) {
+        return route.getStartLocation() != null ? route.getStartLocation() : WarehousePartitioning.UNASSIGNED;
+    }
+
+    private Patch resimulate(Set<Integer> positions, Set<Integer> drivers) {
+        Patch patch = new Patch();
+        Set<Integer> changed = new TreeSet<>(positions);
+
+        for (int p : positions) {
+            int route = routeOf[p];
+            int actualTimeMinutes = routeTable.baseMinutes[route] + jitterMinutes[p];
+            double value = valueRs[p];
+            String warehouse = warehouseOf(routeTable.routes[route]);
+            boolean onTime = compiledRules.isOnTime(route, actualTimeMinutes);
+
+            Outcome previous = outcomes[p];
+            outcomes[p] = new Outcome(onTime, compiledRules.penalty(onTime), compiledRules.bonus(value, onTime),
+                    compiledRules.fuelCost[route], routeTable.routes[route].getTrafficLevel(), previous.deliveredAt);
+            patch.record(previous, simulatedValue[p], -1, warehouseOf[p], driverIds[driverOf[p]]);
+            patch.record(outcomes[p], value, 1, warehouse, driverIds[driverOf[p]]);
+            simulatedValue[p] = value;
+            warehouseOf[p] = warehouse;
+        }
+
+        // Drivers start at the route start time and take their next order as soon as a delivery ends
+        for (int d : drivers) {
+            long clock = 0;
+            double hoursUsed = 0;
+            for (int p : queues[d]) {
+                double baseHours = routeTable.baseMinutes[routeOf[p]] / 60.0;
+                hoursUsed += fatigued[d] ? baseHours * compiledRules.fatigueFactor : baseHours;
+                double travelHours = (routeTable.baseMinutes[routeOf[p]] + jitterMinutes[p]) / 60.0;
+                clock += SimulationEngine.travelSeconds(fatigued[d] ? travelHours * compiledRules.fatigueFactor
+                        : travelHours);
+                LocalDateTime deliveredAt = clockOrigin.plusSeconds(clock);
+                if (!deliveredAt.equals(outcomes[p].deliveredAt)) {
+                    outcomes[p] = outcomes[p].deliveredAt(deliveredAt);
+                    changed.add(p);
+                }
+            }
+            patch.hoursByDriver.put(driverIds[d], hoursUsed);
+            patch.fatiguedByDriver.put(driverIds[d], fatigued[d]);
+        }
+
+        for (int p : changed) {
+            Outcome outcome = outcomes[p];
+            // Carries just what the outcome writer needs: the id to update and the value profit is computed from
+            Order order = new Order(orderIds[p], valueRs[p], routeTable.routes[routeOf[p]].getRouteId(), null);
+            order.setId(ids[p]);
+            patch.orderOutcomes.add(new OrderOutcome(order, driverIds[driverOf[p]], outcome.deliveredAt,
+                    outcome.onTime, outcome.penalty, outcome.bonus, outcome.fuelCost,
+                    routeTable.baseMinutes[routeOf[p]] + jitterMinutes[p]));
+        }
+        return patch;
+    }
+
+    /**
+     * Rule outcome of one delivery
+     */
+    private static final class Outcome {
+
+        private final boolean onTime;
+
+        private final double penalty;
+
+        private final double bonus;
+
+        private final double fuelCost;
+
+        private final String trafficLevel;
+
+        private final LocalDateTime deliveredAt;
+
+        Outcome(boolean onTime, double penalty, double bonus, double fuelCost, String trafficLevel,
+                LocalDateTime deliveredAt) {
+            this.onTime = onTime;
+            this.penalty = penalty;
+            this.bonus = bonus;
+            this.fuelCost = fuelCost;
+            this.trafficLevel = trafficLevel;
+            this.deliveredAt = deliveredAt;
+        }
+
+        Outcome deliveredAt(LocalDateTime deliveredAt) {
+            return new Outcome(onTime, penalty, bonus, fuelCost, trafficLevel, deliveredAt);
+        }
+
+        /**
+         * Company Rule 5: profit = order value + bonus – penalties – fuel cost
+         */
+        double profit(double value) {
+            return value + bonus - penalty - fuelCost;
+        }
+    }
+
+    /**
+     * Re-simulated order outcomes and the resulting KPI changes, to be written and applied to the stored result
+     */
+    static final class Patch {
+
+        private final List<OrderOutcome> orderOutcomes = new ArrayList<>();
+
+        private final KpiDelta total = new KpiDelta();
+
+        private final Map<String, KpiDelta> byWarehouse = new LinkedHashMap<>();
+
+        private final Map<String, Double> fuelCostByTrafficLevel = new LinkedHashMap<>();
+
+        private final Map<String, Double> profitByDriver = new HashMap<>();
+
+        // Hours and fatigue of every replayed driver, replacing the stored values
+        private final Map<String, Double> hoursByDriver = new HashMap<>();
+
+        private final Map<String, Boolean> fatiguedByDriver = new HashMap<>();
+
+        /**
+         * Add (sign 1) or take back (sign -1) one delivery's contribution to the KPIs
+         */
+        private void record(Outcome outcome, double value, int sign, String warehouse, String driverId) {
+            total.record(outcome, value, sign);
+            byWarehouse.computeIfAbsent(warehouse, key -> new KpiDelta()).record(outcome, value, sign);
+            fuelCostByTrafficLevel.merge(outcome.trafficLevel, sign * outcome.fuelCost, Double::sum);
+            profitByDriver.merge(driverId, sign * outcome.profit(value), Double::sum);
+        }
+
+        boolean isEmpty() {
+            return orderOutcomes.isEmpty();
+        }
+
+        List<OrderOutcome> getOrderOutcomes() {
+            return orderOutcomes;
+        }
+
+        /**
+         * Shift the stored KPIs by the changes; the number of deliveries is unchanged.
+         * Replication distributions describe the original run and are left as they are.
+         */
+        void applyTo(SimulationResult result) {
+            result.setTotalProfit(result.getTotalProfit() + total.profit);
+            result.setTotalPenalties(result.getTotalPenalties() + total.penalties);
+            result.setTotalBonuses(result.getTotalBonuses() + total.bonuses);
+            result.setTotalFuelCost(result.getTotalFuelCost() + total.fuelCost);
+            result.setOnTimeDeliveries(result.getOnTimeDeliveries() + total.onTime);
+            result.setLateDeliveries(result.getLateDeliveries() + total.late);
+            result.setEfficiencyScore(efficiency(result.getOnTimeDeliveries(), result.getTotalDeliveries()));
+
+            Map<String, Double> fuelCostBreakdown = result.getFuelCostBreakdown() != null
+                    ? new HashMap<>(result.getFuelCostBreakdown()) : new HashMap<>();
+            fuelCostByTrafficLevel.forEach((trafficLevel, cost) ->
+                    fuelCostBreakdown.merge(trafficLevel, cost, Double::sum));
+            result.setFuelCostBreakdown(fuelCostBreakdown);
+
+            if (result.getWarehouseBreakdown() != null) {
+                Map<String, WarehouseBreakdown> breakdowns = new LinkedHashMap<>();
+                for (WarehouseBreakdown breakdown : result.getWarehouseBreakdown()) {
+                    breakdowns.put(breakdown.getWarehouse(), breakdown);
+                }
+                byWarehouse.forEach((warehouse, delta) -> {
+                    // A route moved to a warehouse the run had no orders from gets a breakdown of its own
+                    WarehouseBreakdown breakdown = breakdowns.computeIfAbsent(warehouse, key -> {
+                        WarehouseBreakdown added = new WarehouseBreakdown(key, 0, 0);
+                        added.setTotalDeliveries(0);
+                        added.setOnTimeDeliveries(0);
+                        added.setLateDeliveries(0);
+                        added.setTotalProfit(0.0);
+                        added.setTotalFuelCost(0.0);
+                        return added;
+                    });
+                    breakdown.setTotalDeliveries(breakdown.getTotalDeliveries() + delta.onTime + delta.late);
+                    breakdown.setTotalProfit(breakdown.getTotalProfit() + delta.profit);
+                    breakdown.setTotalFuelCost(breakdown.getTotalFuelCost() + delta.fuelCost);
+                    breakdown.setOnTimeDeliveries(breakdown.getOnTimeDeliveries() + delta.onTime);
+                    breakdown.setLateDeliveries(breakdown.getLateDeliveries() + delta.late);
+                    breakdown.setEfficiencyScore(efficiency(breakdown.getOnTimeDeliveries(),
+                            breakdown.getTotalDeliveries()));
+                });
+                result.setWarehouseBreakdown(new ArrayList<>(breakdowns.values()));
+            }
+
+            if (result.getDriverBreakdown() != null) {
+                for (DriverBreakdown breakdown : result.getDriverBreakdown()) {
+                    String driverId = breakdown.getDriverId();
+                    breakdown.setTotalProfit(breakdown.getTotalProfit() + profitByDriver.getOrDefault(driverId, 0.0));
+                    Double hoursUsed = hoursByDriver.get(driverId);
+                    if (hoursUsed != null) {
+                        breakdown.setHoursUsed(hoursUsed);
+                        breakdown.setIdleHours(Math.max(0, result.getMaxHoursPerDriver() - hoursUsed));
+                        breakdown.setHasFatiguePenalty(fatiguedByDriver.get(driverId));
+                    }
+                }
+            }
+        }
+
+        /**
+         * Company Rule 6: Efficiency = (OnTime Deliveries / Total Deliveries) × 100
+         */
+        private static double efficiency(int onTimeDeliveries, int totalDeliveries) {
+            return totalDeliveries > 0 ? (double) onTimeDeliveries / totalDeliveries * 100 : 0;
+        }
+    }
+
+    private static final class KpiDelta {
+
+        private double profit;
+
+        private double penalties;
+
+        private double bonuses;
+
+        private double fuelCost;
+
+        private int onTime;
+
+        private int late;
+
+        void record(Outcome outcome, double value, int sign) {
+            profit += sign * outcome.profit(value);
+            penalties += sign * outcome.penalty;
+            bonuses += sign * outcome.bonus;
+            fuelCost += sign * outcome.fuelCost;
+            if (outcome.onTime) {
+                onTime += sign;
+            } else {
+                late += sign;
+            }
+        }
+    }
+}
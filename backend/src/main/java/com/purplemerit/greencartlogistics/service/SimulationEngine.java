@@ -0,0 +1,346 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.dto.SimulationRequest;
+import com.purplemerit.greencartlogistics.model.AllocationStrategy;
+import com.purplemerit.greencartlogistics.model.Driver;
+import com.purplemerit.greencartlogistics.model.DriverBreakdown;
+import com.purplemerit.greencartlogistics.model.Order;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Pure in-memory simulation engine.
+ * Allocates orders to drivers, then plays the day out as a discrete-event simulation on a virtual
+ * clock starting at the route start time: orders move ASSIGNED → IN_TRANSIT → DELIVERED and each
+ * driver picks up their next order when the previous delivery ends. Never touches the database.
+ */
+public class SimulationEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulationEngine.class);
+
+    // Event types, stored in the low bit of an event payload
+    private static final int DEPART = 0;
+
+    private static final int DELIVER = 1;
+
+    // Deliveries between progress reports
+    private static final int PROGRESS_INTERVAL = 1024;
+
+    // Actual travel time varies uniformly by up to this many minutes either side of the base time
+    static final int JITTER_MINUTES = 5;
+
+    // Order states tracked per run, as Order.OrderStatus ordinals
+    private static final byte ASSIGNED = (byte) Order.OrderStatus.ASSIGNED.ordinal();
+
+    private static final byte IN_TRANSIT = (byte) Order.OrderStatus.IN_TRANSIT.ordinal();
+
+    private static final byte DELIVERED = (byte) Order.OrderStatus.DELIVERED.ordinal();
+
+    private volatile long solverMaxEvaluations = ProfitMaximizingSolver.DEFAULT_MAX_EVALUATIONS;
+
+    /**
+     * Evaluations the profit-maximizing allocation may spend improving its plan per run
+     */
+    public void setSolverMaxEvaluations(long solverMaxEvaluations) {
+        this.solverMaxEvaluations = solverMaxEvaluations;
+    }
+
+    /**
+     * Allocate the snapshot's pending orders to drivers and simulate each delivery,
+     * drawing delivery-time jitter from the given random stream
+     */
+    public SimulationOutcome run(SimulationSnapshot snapshot, SimulationRequest request, SplittableRandom random) {
+        return run(snapshot, request, random, SimulationProgressListener.NONE);
+    }
+
+    /**
+     * Same as {@link #run(SimulationSnapshot, SimulationRequest, SplittableRandom)}, reporting delivered
+     * out of assigned orders to the listener as the run progresses
+     */
+    public SimulationOutcome run(SimulationSnapshot snapshot, SimulationRequest request, SplittableRandom random,
+                                 SimulationProgressListener listener) {
+        List<OrderOutcome> orderOutcomes = new ArrayList<>();
+        Run run = simulate(snapshot, request, random, orderOutcomes, listener);
+        return new SimulationOutcome(orderOutcomes, run.kpis, run.getDriverBreakdown());
+    }
+
+    /**
+     * Run the simulation for its KPIs only, without retaining per-order outcomes.
+     * Safe to call concurrently against the same snapshot as long as each call has its own random stream.
+     */
+    public KpiAccumulator evaluate(SimulationSnapshot snapshot, SimulationRequest request, SplittableRandom random) {
+        return simulate(snapshot, request, random, null, SimulationProgressListener.NONE).kpis;
+    }
+
+    /**
+     * Start an incremental run that takes pending orders chunk by chunk, carrying driver hours and
+     * clocks from one chunk to the next. Used to stream backlogs too large to hold in memory;
+     * the snapshot supplies drivers, routes and date, its pending orders are ignored.
+     */
+    public Run start(SimulationSnapshot snapshot, SimulationRequest request, SplittableRandom random) {
+        if (request.getAllocationStrategy() == AllocationStrategy.PROFIT_MAX) {
+            throw new RuntimeException("Profit-maximizing allocation plans the whole backlog at once " +
+                                     "and cannot run on streamed orders");
+        }
+        List<Driver> drivers = snapshot.driversFor(request.getNumberOfDrivers());
+        return new Run(snapshot, request, random, drivers,
+                DriverAllocator.create(request.getAllocationStrategy(), drivers, request.getMaxHoursPerDriver(),
+                        snapshot.getCompiledRules().fatigueFactor),
+                SimulationProgressListener.NONE);
+    }
+
+    private Run simulate(SimulationSnapshot snapshot, SimulationRequest request, SplittableRandom random,
+                                    List<OrderOutcome> orderOutcomes, SimulationProgressListener listener) {
+        List<Driver> drivers = snapshot.driversFor(request.getNumberOfDrivers());
+        OrderTable orders = snapshot.getPendingOrderTable();
+
+        Run run = new Run(snapshot, request, random, drivers,
+                createAllocator(request, drivers, orders, snapshot.getRouteTable(), snapshot.getCompiledRules()),
+                listener);
+        run.process(orders, orderOutcomes);
+
+        logger.debug("Processed {} simulation events for {} deliveries",
+                    run.processedEvents, run.kpis.getTotalDeliveries());
+        return run;
+    }
+
+    /**
+     * State of one simulation run: driver hours and clocks, the random stream and KPI totals.
+     * The delivery loop reads orders and routes from the snapshot's primitive tables only.
+     */
+    public static final class Run {
+
+        private final List<Driver> drivers;
+
+        private final RouteTable routes;
+
+        private final CompiledRules rules;
+
+        private final String[] driverIds;
+
+        private final SplittableRandom random;
+
+        private final DriverAllocator allocator;
+
+        private final LocalDateTime clockOrigin;
+
+        // Virtual time (seconds since route start) each driver finishes their last delivery
+        private final long[] driverFreeAt;
+
+        private final SimulationProgressListener listener;
+
+        private final KpiAccumulator kpis;
+
+        // Per-driver totals, indexed like the driver list; hours come from the allocator
+        private final int[] deliveriesByDriver;
+
+        private final double[] profitByDriver;
+
+        private long processedEvents;
+
+        private Run(SimulationSnapshot snapshot, SimulationRequest request, SplittableRandom random,
+                    List<Driver> drivers, DriverAllocator allocator, SimulationProgressListener listener) {
+            this.drivers = drivers;
+            this.routes = snapshot.getRouteTable();
+            this.rules = snapshot.getCompiledRules();
+            this.driverIds = new String[drivers.size()];
+            for (int d = 0; d < driverIds.length; d++) {
+                driverIds[d] = drivers.get(d).getId();
+            }
+            this.random = random;
+            this.allocator = allocator;
+            this.clockOrigin = snapshot.getSimulationDate().atTime(request.getRouteStartTime());
+            this.driverFreeAt = new long[drivers.size()];
+            this.listener = listener;
+            this.kpis = new KpiAccumulator(routes.trafficLevels);
+            this.deliveriesByDriver = new int[drivers.size()];
+            this.profitByDriver = new double[drivers.size()];
+        }
+
+        /**
+         * Allocate and deliver the next chunk of pending orders
+         *
+         * @return outcomes of the orders in this chunk that were delivered
+         */
+        public List<OrderOutcome> accept(List<Order> orders) {
+            List<OrderOutcome> orderOutcomes = new ArrayList<>();
+            process(new OrderTable(orders, routes), orderOutcomes);
+            return orderOutcomes;
+        }
+
+        /**
+         * KPI totals across every chunk accepted so far
+         */
+        public KpiAccumulator getKpis() {
+            return kpis;
+        }
+
+        /**
+         * Hours, deliveries and profit of each driver across every chunk accepted so far
+         */
+        public List<DriverBreakdown> getDriverBreakdown() {
+            List<DriverBreakdown> breakdown = new ArrayList<>(drivers.size());
+            for (int d = 0; d < drivers.size(); d++) {
+                Driver driver = drivers.get(d);
+                DriverBreakdown driverBreakdown = new DriverBreakdown(driver.getId(), driver.getName(),
+                        driver.isHasFatiguePenalty());
+                driverBreakdown.setOrdersDelivered(deliveriesByDriver[d]);
+                driverBreakdown.setHoursUsed(allocator.hoursOf(d));
+                driverBreakdown.setIdleHours(Math.max(0, allocator.maxHours - allocator.hoursOf(d)));
+                driverBreakdown.setTotalProfit(profitByDriver[d]);
+                breakdown.add(driverBreakdown);
+            }
+            return breakdown;
+        }
+
+        private void process(OrderTable orders, List<OrderOutcome> orderOutcomes) {
+            int[] routeOf = orders.route;
+            int[] baseMinutes = routes.baseMinutes;
+
+            // Allocation: every order a driver can fit within max hours (fatigue-adjusted) becomes ASSIGNED
+            // and joins that driver's queue, kept as index-linked lists to avoid per-order objects
+            byte[] status = new byte[orders.size()];
+            int[] driverOf = new int[orders.size()];
+            int[] nextInQueue = new int[orders.size()];
+            int[] queueHead = new int[drivers.size()];
+            int[] queueTail = new int[drivers.size()];
+            Arrays.fill(queueHead, -1);
+
+            int assigned = 0;
+            for (int i = 0; i < orders.size(); i++) {
+                int route = routeOf[i];
+                if (route < 0) {
+                    continue;
+                }
+
+                double baseTimeHours = baseMinutes[route] / 60.0;
+                int driverIndex = allocator.select(i, baseTimeHours);
+                if (driverIndex < 0) {
+                    continue;
+                }
+                allocator.assign(driverIndex, allocator.hoursNeeded(driverIndex, baseTimeHours));
+
+                status[i] = ASSIGNED;
+                assigned++;
+                driverOf[i] = driverIndex;
+                nextInQueue[i] = -1;
+                if (queueHead[driverIndex] < 0) {
+                    queueHead[driverIndex] = i;
+                } else {
+                    nextInQueue[queueTail[driverIndex]] = i;
+                }
+                queueTail[driverIndex] = i;
+            }
+
+            // Dispatch: drivers are resources that start their next order the moment the previous delivery ends
+            EventQueue events = new EventQueue(drivers.size() * 2);
+            for (int driverIndex = 0; driverIndex < drivers.size(); driverIndex++) {
+                if (queueHead[driverIndex] >= 0) {
+                    events.push(driverFreeAt[driverIndex], event(DEPART, queueHead[driverIndex]));
+                }
+            }
+
+            int[] actualMinutes = new int[orders.size()];
+            int delivered = 0;
+
+            while (!events.isEmpty()) {
+                long now = events.peekTime();
+                int payload = events.poll();
+                int i = payload >>> 1;
+                int driverIndex = driverOf[i];
+                int route = routeOf[i];
+                processedEvents++;
+
+                if ((payload & 1) == DEPART) {
+                    transition(status, i, ASSIGNED, IN_TRANSIT);
+
+                    // Add some randomness for simulation (±5 minutes)
+                    actualMinutes[i] = baseMinutes[route] + random.nextInt(2 * JITTER_MINUTES + 1) - JITTER_MINUTES;
+
+                    // Fatigued drivers are slower, so they stay on the road longer
+                    double travelHours = allocator.hoursNeeded(driverIndex, actualMinutes[i] / 60.0);
+                    events.push(now + travelSeconds(travelHours), event(DELIVER, i));
+                } else {
+                    transition(status, i, IN_TRANSIT, DELIVERED);
+
+                    deliver(orders, i, route, driverIndex, now, actualMinutes[i], orderOutcomes);
+                    if (++delivered % PROGRESS_INTERVAL == 0) {
+                        listener.onProgress(delivered, assigned, kpis);
+                    }
+
+                    // The driver is free again; dispatch their next order
+                    if (nextInQueue[i] >= 0) {
+                        events.push(now, event(DEPART, nextInQueue[i]));
+                    } else {
+                        driverFreeAt[driverIndex] = now;
+                    }
+                }
+            }
+            listener.onProgress(delivered, assigned, kpis);
+        }
+
+        /**
+         * Apply the compiled company rules to a completed delivery and record it in the KPI totals.
+         * An {@link OrderOutcome} is only created when outcomes are being kept.
+         */
+        private void deliver(OrderTable orders, int order, int route, int driverIndex, long now,
+                             int actualTimeMinutes, List<OrderOutcome> orderOutcomes) {
+            double value = orders.value[order];
+            double fuelCost = rules.fuelCost[route];
+            boolean isOnTime = rules.isOnTime(route, actualTimeMinutes);
+            double penalty = rules.penalty(isOnTime);
+            double bonus = rules.bonus(value, isOnTime);
+
+            // Company Rule 5: profit = order value + bonus – penalties – fuel cost
+            double profit = value + bonus - penalty - fuelCost;
+            kpis.accept(profit, penalty, bonus, fuelCost, isOnTime, routes.trafficLevel[route]);
+            deliveriesByDriver[driverIndex]++;
+            profitByDriver[driverIndex] += profit;
+
+            if (orderOutcomes != null) {
+                orderOutcomes.add(new OrderOutcome(orders.orders.get(order), driverIds[driverIndex],
+                        clockOrigin.plusSeconds(now), isOnTime, penalty, bonus, fuelCost, actualTimeMinutes));
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("Order {} delivered. Value: ₹{}, On time: {}, Penalty: ₹{}, Bonus: ₹{}, Profit: ₹{}",
+                            orders.orders.get(order).getOrderId(), value, isOnTime, penalty, bonus, profit);
+            }
+        }
+    }
+
+    /**
+     * Virtual clock seconds a delivery of the given (fatigue-adjusted) duration takes
+     */
+    static long travelSeconds(double travelHours) {
+        return Math.max(0, Math.round(travelHours * 3600));
+    }
+
+    private static int event(int type, int order) {
+        return (order << 1) | type;
+    }
+
+    private static void transition(byte[] status, int order, byte from, byte to) {
+        if (status[order] != from) {
+            throw new IllegalStateException("Order " + order + " cannot move to " +
+                    Order.OrderStatus.values()[to] + " from " + Order.OrderStatus.values()[status[order]]);
+        }
+        status[order] = to;
+    }
+
+    private DriverAllocator createAllocator(SimulationRequest request, List<Driver> drivers, OrderTable orders,
+                                            RouteTable routes, CompiledRules rules) {
+        if (request.getAllocationStrategy() == AllocationStrategy.PROFIT_MAX) {
+            int[] plan = new ProfitMaximizingSolver(solverMaxEvaluations)
+                    .solve(drivers, request.getMaxHoursPerDriver(), orders, routes, rules);
+            return DriverAllocator.planned(drivers, request.getMaxHoursPerDriver(), rules.fatigueFactor, plan);
+        }
+        return DriverAllocator.create(request.getAllocationStrategy(), drivers, request.getMaxHoursPerDriver(),
+                rules.fatigueFactor);
+    }
+}
@@ -0,0 +1,62 @@
+package com.purplemerit.greencartlogistics.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Work-stealing pool dedicated to CPU-bound simulation work,
+ * so parallel simulations never starve the common pool or request threads
+ */
+@Component
+public class SimulationExecutor {
+
+    @Value("${app.simulation.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool simulationPool;
+
+    @PostConstruct
+    public void init() {
+        simulationPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        simulationPool.shutdownNow();
+    }
+
+    public int getParallelism() {
+        return simulationPool.getParallelism();
+    }
+
+    /**
+     * Run all tasks on the pool and return their results in submission order
+     */
+    public <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        for (Future<T> future : simulationPool.invokeAll(tasks)) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Simulation was interrupted", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof CancellationException) {
+                    throw (CancellationException) e.getCause();
+                }
+                throw new RuntimeException("Simulation task failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+        return results;
+    }
+}
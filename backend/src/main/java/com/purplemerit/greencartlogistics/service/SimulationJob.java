@@ -0,0 +1,197 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.model.SimulationResult;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+
+/**
+ * A simulation submitted for background execution, with its progress and outcome
+ */
+public class SimulationJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    private final String id;
+
+    private final String userId;
+
+    private final LocalDateTime submittedAt;
+
+    private volatile Status status = Status.QUEUED;
+
+    private volatile LocalDateTime startedAt;
+
+    private volatile LocalDateTime finishedAt;
+
+    private volatile long completed;
+
+    private volatile long total;
+
+    private volatile KpiAccumulator kpis = new KpiAccumulator();
+
+    private volatile boolean cancelRequested;
+
+    private volatile SimulationResult result;
+
+    private volatile String error;
+
+    private volatile long startedNanos;
+
+    private Future<?> future;
+
+    public SimulationJob(String id, String userId, LocalDateTime submittedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.submittedAt = submittedAt;
+    }
+
+    /**
+     * Move from QUEUED to RUNNING
+     *
+     * @return false when the job was cancelled before it could start
+     */
+    synchronized boolean start() {
+        if (status != Status.QUEUED) {
+            return false;
+        }
+        status = Status.RUNNING;
+        startedAt = LocalDateTime.now();
+        startedNanos = System.nanoTime();
+        return true;
+    }
+
+    /**
+     * Progress callback for the running simulation; aborts it once cancellation was requested
+     */
+    void updateProgress(long completed, long total, KpiAccumulator kpis) {
+        if (cancelRequested) {
+            throw new CancellationException("Simulation job " + id + " was cancelled");
+        }
+        this.kpis = kpis.copy();
+        this.completed = completed;
+        this.total = total;
+    }
+
+    synchronized void complete(SimulationResult result) {
+        this.result = result;
+        this.completed = total;
+        finish(Status.COMPLETED);
+    }
+
+    synchronized void fail(String error) {
+        this.error = error;
+        finish(Status.FAILED);
+    }
+
+    synchronized void markCancelled() {
+        finish(Status.CANCELLED);
+    }
+
+    /**
+     * Request cancellation; a queued job is cancelled immediately, a running one at its next progress update
+     *
+     * @return false when the job had already finished
+     */
+    synchronized boolean cancel() {
+        if (isFinished()) {
+            return false;
+        }
+        cancelRequested = true;
+        if (status == Status.QUEUED) {
+            finish(Status.CANCELLED);
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+        return true;
+    }
+
+    private void finish(Status finalStatus) {
+        status = finalStatus;
+        finishedAt = LocalDateTime.now();
+    }
+
+    synchronized void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    /**
+     * Share of the run's orders handled so far, 0-100
+     */
+    public double getPercentComplete() {
+        if (status == Status.COMPLETED) {
+            return 100.0;
+        }
+        long totalOrders = total;
+        return totalOrders > 0 ? Math.min(100.0, completed * 100.0 / totalOrders) : 0.0;
+    }
+
+    /**
+     * Estimated time until a running job finishes, extrapolated from its progress so far; null when unknown
+     */
+    public Duration getEstimatedTimeRemaining() {
+        long done = completed;
+        long totalOrders = total;
+        if (status != Status.RUNNING || done == 0 || totalOrders == 0) {
+            return null;
+        }
+        long elapsedNanos = System.nanoTime() - startedNanos;
+        return Duration.ofNanos((long) (elapsedNanos * (double) (totalOrders - done) / done));
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public SimulationResult getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * KPI totals as of the latest progress update
+     */
+    public KpiAccumulator getKpis() {
+        return kpis;
+    }
+}
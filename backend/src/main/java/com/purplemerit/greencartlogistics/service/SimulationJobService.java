@@ -0,0 +1,194 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.dto.SimulationJobResponse;
+import com.purplemerit.greencartlogistics.dto.SimulationProgressEvent;
+import com.purplemerit.greencartlogistics.dto.SimulationRequest;
+import com.purplemerit.greencartlogistics.model.SimulationResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs simulations in the background on a dedicated bounded executor
+ * so long runs never hold a request thread
+ */
+@Service
+public class SimulationJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulationJobService.class);
+
+    @Autowired
+    private SimulationService simulationService;
+
+    @Value("${app.simulation.jobs.threads:2}")
+    private int threads;
+
+    @Value("${app.simulation.jobs.queue-capacity:16}")
+    private int queueCapacity;
+
+    @Value("${app.simulation.jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    @Value("${app.simulation.progress.emit-interval-ms:500}")
+    private long emitIntervalMillis;
+
+    @Value("${app.simulation.progress.stream-timeout-ms:1800000}")
+    private long streamTimeoutMillis;
+
+    private final Map<String, SimulationJob> jobs = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor jobExecutor;
+
+    // Drives progress streams at a fixed cadence, independent of how often jobs report progress
+    private ScheduledExecutorService progressScheduler;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        jobExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "simulation-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        progressScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "simulation-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        progressScheduler.shutdownNow();
+    }
+
+    /**
+     * Queue a simulation and return its job immediately
+     */
+    public SimulationJob submit(SimulationRequest request, String userId) {
+        evictExpiredJobs();
+
+        SimulationJob job = new SimulationJob(UUID.randomUUID().toString(), userId, LocalDateTime.now());
+        jobs.put(job.getId(), job);
+        try {
+            job.setFuture(jobExecutor.submit(() -> execute(job, request)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new RuntimeException("Too many simulation jobs in progress, please try again later");
+        }
+
+        logger.info("Queued simulation job {} for user {}", job.getId(), userId);
+        return job;
+    }
+
+    /**
+     * Get a job, visible only to the user who submitted it
+     */
+    public Optional<SimulationJob> getJob(String jobId, String userId) {
+        return Optional.ofNullable(jobs.get(jobId))
+                .filter(job -> job.getUserId().equals(userId));
+    }
+
+    /**
+     * Cancel a queued or running job
+     */
+    public SimulationJob cancel(String jobId, String userId) {
+        SimulationJob job = getJob(jobId, userId)
+                .orElseThrow(() -> new RuntimeException("Simulation job not found: " + jobId));
+        if (!job.cancel()) {
+            throw new RuntimeException("Simulation job " + jobId + " has already finished");
+        }
+        logger.info("Cancellation requested for simulation job {}", jobId);
+        return job;
+    }
+
+    /**
+     * Stream a job's running KPIs as Server-Sent Events: a {@code progress} event every emit interval
+     * while it runs, then one {@code complete} event with the final job status, after which the stream closes
+     */
+    public SseEmitter streamProgress(String jobId, String userId) {
+        SimulationJob job = getJob(jobId, userId)
+                .orElseThrow(() -> new RuntimeException("Simulation job not found: " + jobId));
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        AtomicReference<ScheduledFuture<?>> ticker = new AtomicReference<>();
+        Runnable stop = () -> {
+            ScheduledFuture<?> scheduled = ticker.get();
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        };
+        emitter.onCompletion(stop);
+        emitter.onTimeout(stop);
+        emitter.onError(error -> stop.run());
+
+        ticker.set(progressScheduler.scheduleAtFixedRate(() -> {
+            try {
+                if (job.isFinished()) {
+                    emitter.send(SseEmitter.event().name("complete").data(SimulationJobResponse.from(job)));
+                    emitter.complete();
+                    stop.run();
+                } else {
+                    emitter.send(SseEmitter.event().name("progress").data(SimulationProgressEvent.from(job)));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; stop pushing to it
+                stop.run();
+            }
+        }, 0, Math.max(1, emitIntervalMillis), TimeUnit.MILLISECONDS));
+
+        return emitter;
+    }
+
+    private void execute(SimulationJob job, SimulationRequest request) {
+        if (!job.start()) {
+            return;
+        }
+        try {
+            SimulationResult result = simulationService.runSimulation(request, job.getUserId(), job::updateProgress);
+            job.complete(result);
+            logger.info("Simulation job {} completed", job.getId());
+        } catch (CancellationException e) {
+            job.markCancelled();
+            logger.info("Simulation job {} cancelled", job.getId());
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+            logger.error("Simulation job {} failed: {}", job.getId(), e.getMessage());
+        } catch (Error e) {
+            // Still finish the job so it does not stay RUNNING and its progress streams complete
+            job.fail(e.toString());
+            logger.error("Simulation job {} failed", job.getId(), e);
+            throw e;
+        }
+    }
+
+    private void evictExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+}
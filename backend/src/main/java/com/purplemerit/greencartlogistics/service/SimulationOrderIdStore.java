@@ -0,0 +1,88 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.model.SimulationOrderIdChunk;
+import com.purplemerit.greencartlogistics.model.SimulationResult;
+import com.purplemerit.greencartlogistics.repository.SimulationOrderIdChunkRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores the order id lists of a simulation in fixed-size chunks keyed by simulation id,
+ * keeping them out of the simulation result document
+ */
+@Component
+public class SimulationOrderIdStore {
+
+    @Autowired
+    private SimulationOrderIdChunkRepository chunkRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.simulation.order-ids.chunk-size:10000}")
+    private int chunkSize;
+
+    /**
+     * Save a simulation's order ids, one document per chunk
+     */
+    public void save(String simulationId, SimulationOrderIdChunk.Kind kind, List<String> orderIds) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            return;
+        }
+
+        int effectiveChunkSize = Math.max(1, chunkSize);
+        List<SimulationOrderIdChunk> chunks = new ArrayList<>();
+        for (int from = 0; from < orderIds.size(); from += effectiveChunkSize) {
+            List<String> slice = orderIds.subList(from, Math.min(orderIds.size(), from + effectiveChunkSize));
+            chunks.add(new SimulationOrderIdChunk(simulationId, kind, chunks.size(), new ArrayList<>(slice)));
+        }
+        chunkRepository.saveAll(chunks);
+    }
+
+    /**
+     * Load a simulation's order ids in their original order. Results saved before the ids were
+     * chunked still carry them embedded, and are read from there.
+     *
+     * @return the ids, or null when none were stored
+     */
+    public List<String> load(String simulationId, SimulationOrderIdChunk.Kind kind) {
+        List<SimulationOrderIdChunk> chunks = chunkRepository.findBySimulationIdAndKindOrderBySequence(simulationId, kind);
+        if (chunks.isEmpty()) {
+            return loadEmbedded(simulationId, kind);
+        }
+
+        List<String> orderIds = new ArrayList<>();
+        for (SimulationOrderIdChunk chunk : chunks) {
+            orderIds.addAll(chunk.getOrderIds());
+        }
+        return orderIds;
+    }
+
+    /**
+     * The ids embedded in a simulation result document, as stored before they moved to chunks;
+     * only that one field of the result is read
+     */
+    private List<String> loadEmbedded(String simulationId, SimulationOrderIdChunk.Kind kind) {
+        String field = kind == SimulationOrderIdChunk.Kind.INPUT ? "inputOrderIds" : "processedOrderIds";
+        Query query = Query.query(Criteria.where("_id")
+                .is(ObjectId.isValid(simulationId) ? new ObjectId(simulationId) : simulationId));
+        query.fields().include(field);
+
+        Document result = mongoTemplate.findOne(query, Document.class,
+                mongoTemplate.getCollectionName(SimulationResult.class));
+        if (result == null) {
+            return null;
+        }
+        List<String> orderIds = result.getList(field, String.class);
+        return orderIds != null && !orderIds.isEmpty() ? new ArrayList<>(orderIds) : null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.model.DriverBreakdown;
+
+import java.util.List;
+
+/**
+ * Everything a simulation run produced before anything is written to the database
+ */
+public final class SimulationOutcome {
+
+    private final List<OrderOutcome> orderOutcomes;
+
+    private final KpiAccumulator kpis;
+
+    private final List<DriverBreakdown> driverBreakdown;
+
+    public SimulationOutcome(List<OrderOutcome> orderOutcomes, KpiAccumulator kpis,
+                             List<DriverBreakdown> driverBreakdown) {
+        this.orderOutcomes = orderOutcomes;
+        this.kpis = kpis;
+        this.driverBreakdown = driverBreakdown;
+    }
+
+    public List<OrderOutcome> getOrderOutcomes() {
+        return orderOutcomes;
+    }
+
+    public KpiAccumulator getKpis() {
+        return kpis;
+    }
+
+    public List<DriverBreakdown> getDriverBreakdown() {
+        return driverBreakdown;
+    }
+}
@@ -0,0 +1,21 @@
+package com.purplemerit.greencartlogistics.service;
+
+/**
+ * Receives progress updates from a running simulation.
+ * Implementations may throw {@link java.util.concurrent.CancellationException} to stop the run.
+ */
+@FunctionalInterface
+public interface SimulationProgressListener {
+
+    SimulationProgressListener NONE = (completed, total, kpis) -> { };
+
+    /**
+     * Called on the simulating thread; {@code kpis} keeps changing after the call returns,
+     * so listeners that hand it to other threads must {@link KpiAccumulator#copy() copy} it
+     *
+     * @param completed orders handled so far
+     * @param total     orders the run expects to handle
+     * @param kpis      running KPI totals of the orders delivered so far
+     */
+    void onProgress(long completed, long total, KpiAccumulator kpis);
+}
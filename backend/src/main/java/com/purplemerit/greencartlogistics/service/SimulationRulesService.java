@@ -0,0 +1,111 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.config.SimulationRulesProperties;
+import com.purplemerit.greencartlogistics.model.CompanyRules;
+import com.purplemerit.greencartlogistics.model.SimulationRuleSet;
+import com.purplemerit.greencartlogistics.repository.SimulationRuleSetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Company rules versions a simulation can select: those configured under app.simulation.rules,
+ * the built-in "v1", and versions added at runtime to the simulation_rules collection
+ */
+@Service
+public class SimulationRulesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulationRulesService.class);
+
+    private static final Pattern VERSION_NAME = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Autowired
+    private SimulationRulesProperties simulationRulesProperties;
+
+    @Autowired
+    private SimulationRuleSetRepository simulationRuleSetRepository;
+
+    /**
+     * Rule set for the requested version, or the default version when none is requested.
+     * Configured versions take precedence over stored ones of the same name.
+     */
+    public CompanyRules resolve(String version) {
+        String effectiveVersion = resolveVersion(version);
+        CompanyRules configured = simulationRulesProperties.getVersions().get(effectiveVersion);
+        if (configured != null) {
+            return configured;
+        }
+        Optional<SimulationRuleSet> stored = simulationRuleSetRepository.findById(effectiveVersion);
+        if (stored.isPresent()) {
+            return stored.get().getRules();
+        }
+        return simulationRulesProperties.resolve(effectiveVersion);
+    }
+
+    public String resolveVersion(String version) {
+        return simulationRulesProperties.resolveVersion(version);
+    }
+
+    /**
+     * Every selectable version: the built-in one, then configured, then stored versions
+     */
+    public Map<String, CompanyRules> getVersions() {
+        Map<String, CompanyRules> versions = new LinkedHashMap<>();
+        versions.put(SimulationRulesProperties.BUILT_IN_VERSION,
+                simulationRulesProperties.resolve(SimulationRulesProperties.BUILT_IN_VERSION));
+        versions.putAll(simulationRulesProperties.getVersions());
+        for (SimulationRuleSet ruleSet : simulationRuleSetRepository.findAll()) {
+            versions.putIfAbsent(ruleSet.getVersion(), ruleSet.getRules());
+        }
+        return versions;
+    }
+
+    /**
+     * Store a new rules version; existing versions cannot be replaced
+     */
+    public SimulationRuleSet createVersion(String version, CompanyRules rules, String userId) {
+        if (version == null || !VERSION_NAME.matcher(version).matches()) {
+            throw new RuntimeException("Rules version names use letters, digits, '.', '_' or '-', up to 64 characters");
+        }
+        if (SimulationRulesProperties.BUILT_IN_VERSION.equals(version)
+                || simulationRulesProperties.getVersions().containsKey(version)
+                || simulationRuleSetRepository.existsById(version)) {
+            throw new RuntimeException("Rules version already exists: " + version);
+        }
+        validate(rules);
+
+        SimulationRuleSet saved = simulationRuleSetRepository.insert(new SimulationRuleSet(version, rules, userId));
+        logger.info("Rules version {} added by {}", version, userId);
+        return saved;
+    }
+
+    private void validate(CompanyRules rules) {
+        if (rules == null) {
+            throw new RuntimeException("Rules are required");
+        }
+        if (rules.getLatePenalty() == null || rules.getLatePenalty() < 0
+                || rules.getLateGraceMinutes() == null || rules.getLateGraceMinutes() < 0
+                || rules.getHighValueThreshold() == null || rules.getHighValueThreshold() < 0
+                || rules.getHighValueBonusRate() == null || rules.getHighValueBonusRate() < 0
+                || rules.getFuelCostPerKm() == null || rules.getFuelCostPerKm() < 0) {
+            throw new RuntimeException("Penalties, grace minutes, thresholds, bonus rates and fuel costs must not be negative");
+        }
+        if (rules.getFatigueFactor() == null || rules.getFatigueFactor() < 1) {
+            throw new RuntimeException("Fatigue factor must be at least 1");
+        }
+        if (rules.getTrafficSurchargePerKm() == null) {
+            rules.setTrafficSurchargePerKm(new LinkedHashMap<>());
+        }
+        for (Map.Entry<String, Double> surcharge : rules.getTrafficSurchargePerKm().entrySet()) {
+            if (surcharge.getValue() == null || surcharge.getValue() < 0) {
+                throw new RuntimeException("Traffic surcharge for " + surcharge.getKey() + " must not be negative");
+            }
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package com.purplemerit.greencartlogistics.service;
 
 import com.purplemerit.greencartlogistics.dto.SimulationRequest;
+import com.purplemerit.greencartlogistics.dto.SimulationSummary;
 import com.purplemerit.greencartlogistics.model.*;
 import com.purplemerit.greencartlogistics.repository.*;
+import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -33,37 +42,234 @@ public class SimulationService {
     @Autowired
     private SimulationResultRepository simulationResultRepository;
     
+    @Autowired
+    private OrderOutcomeWriter orderOutcomeWriter;
+    
+    @Autowired
+    private SimulationExecutor simulationExecutor;
+    
+    @Autowired
+    private PendingOrderReader pendingOrderReader;
+    
+    @Autowired
+    private PendingOrderClaimer pendingOrderClaimer;
+    
+    @Autowired
+    private SimulationRulesService simulationRules;
+    
+    @Autowired
+    private IncrementalSimulationService incrementalSimulationService;
+    
+    @Autowired
+    private SimulationOrderIdStore simulationOrderIdStore;
+    
+    private final SimulationEngine simulationEngine = new SimulationEngine();
+    
+    @Value("${app.simulation.solver.max-evaluations:100000000}")
+    void setSolverMaxEvaluations(long solverMaxEvaluations) {
+        simulationEngine.setSolverMaxEvaluations(solverMaxEvaluations);
+    }
+    
     /**
      * Run simulation based on the provided parameters
      * Implements custom company rules for GreenCart Logistics
      */
     public SimulationResult runSimulation(SimulationRequest request, String userId) {
+        return runSimulation(request, userId, SimulationProgressListener.NONE);
+    }
+    
+    /**
+     * Run simulation, reporting progress to the listener; the listener may abort the run by throwing
+     * {@link java.util.concurrent.CancellationException}. Loaded runs are aborted before any order is
+     * written; streamed runs write each chunk as they go, so an abort saves a result marked cancelled
+     * covering the chunks already written
+     */
+    public SimulationResult runSimulation(SimulationRequest request, String userId, SimulationProgressListener listener) {
         logger.info("Starting simulation with {} drivers, start time: {}, max hours: {}", 
                    request.getNumberOfDrivers(), request.getRouteStartTime(), request.getMaxHoursPerDriver());
         
-        // Get available drivers and routes
-        List<Driver> availableDrivers = driverRepository.findByIsActiveTrueOrderByCurrentShiftHours()
-                .stream()
-                .limit(request.getNumberOfDrivers())
-                .collect(Collectors.toList());
+        if (request.isStreaming()) {
+            return runStreamingSimulation(request, userId, listener);
+        }
         
-        List<Route> activeRoutes = routeRepository.findByIsActiveTrue();
-        List<Order> pendingOrders = orderRepository.findByStatus(Order.OrderStatus.PENDING);
+        if (request.isDryRun()) {
+            // What-if runs change no orders, so they read the backlog without claiming it
+            SimulationSnapshot snapshot = loadSnapshot(request.getRulesVersion());
+            validateSnapshot(snapshot, request);
+            return executeSimulation(snapshot, request, userId, listener, null);
+        }
         
-        if (availableDrivers.size() < request.getNumberOfDrivers()) {
-            throw new RuntimeException("Not enough active drivers available. Available: " + 
-                                     availableDrivers.size() + ", Required: " + request.getNumberOfDrivers());
+        // Claim the pending orders first so concurrent runs work on disjoint orders;
+        // whatever this run does not deliver is released for the next one
+        String claimToken = pendingOrderClaimer.newToken();
+        try {
+            SimulationSnapshot snapshot = loadSnapshot(request, claimToken);
+            validateSnapshot(snapshot, request);
+            return executeSimulation(snapshot, request, userId, listener, claimToken);
+        } finally {
+            pendingOrderClaimer.release(claimToken);
         }
+    }
+    
+    /**
+     * Re-execute a stored simulation against the drivers and orders it originally ran on,
+     * with the same seed and simulation date. Refused when any input has changed since,
+     * as recorded by the result's input hash. Nothing is persisted.
+     */
+    public SimulationResult replaySimulation(String simulationId, String userId) {
+        SimulationResult original = simulationResultRepository.findById(simulationId)
+                .orElseThrow(() -> new RuntimeException("Simulation not found: " + simulationId));
         
-        if (activeRoutes.isEmpty()) {
-            throw new RuntimeException("No active routes available for simulation");
+        if (original.isStreamed()) {
+            throw new RuntimeException("Simulation " + simulationId + " streamed its orders and cannot be replayed");
+        }
+        List<String> inputOrderIds = simulationOrderIdStore.load(simulationId, SimulationOrderIdChunk.Kind.INPUT);
+        if (original.getSeed() == null || original.getDriverIds() == null || inputOrderIds == null
+                || original.getInputHash() == null) {
+            throw new RuntimeException("Simulation " + simulationId + " predates seeded runs and cannot be replayed");
+        }
+        
+        logger.info("Replaying simulation {} with seed {}", simulationId, original.getSeed());
+        
+        SimulationRequest request = new SimulationRequest(
+                original.getNumberOfDrivers(),
+                original.getRouteStartTime(),
+                original.getMaxHoursPerDriver()
+        );
+        request.setSeed(original.getSeed());
+        if (original.getAllocationStrategy() != null) {
+            request.setAllocationStrategy(original.getAllocationStrategy());
+        }
+        request.setReplications(original.getReplications());
+        request.setPartitionByWarehouse(original.isPartitionedByWarehouse());
+        request.setRulesVersion(original.getRulesVersion());
+        request.setNotes(original.getNotes());
+        request.setDryRun(true);
+        
+        SimulationSnapshot snapshot = new SimulationSnapshot(
+                inStoredOrder(driverRepository.findAllById(original.getDriverIds()), Driver::getId, original.getDriverIds()),
+                routeRepository.findByIsActiveTrue(),
+                inStoredOrder(orderRepository.findAllById(inputOrderIds), Order::getId, inputOrderIds),
+                original.getSimulationDate(),
+                simulationRules.resolve(request.getRulesVersion())
+        );
+        validateSnapshot(snapshot, request);
+        // Replays read the current documents, so they only reproduce the run while those are unchanged
+        if (!original.getInputHash().equals(snapshot.inputHash(request.getNumberOfDrivers()))) {
+            throw new RuntimeException("Drivers, orders, routes or rules used by simulation " + simulationId +
+                                     " have changed since it ran, so it cannot be replayed");
+        }
+        
+        return executeSimulation(snapshot, request, userId, SimulationProgressListener.NONE, null);
+    }
+    
+    /**
+     * Simulate a pending backlog too large to load at once: orders are read from a cursor in chunks,
+     * allocated incrementally and each chunk's outcomes are written before the next chunk is read
+     */
+    private SimulationResult runStreamingSimulation(SimulationRequest request, String userId,
+                                                    SimulationProgressListener listener) {
+        if (request.getReplications() != null && request.getReplications() > 1) {
+            throw new RuntimeException("Replications are not supported for streaming simulations");
+        }
+        if (request.isPartitionByWarehouse()) {
+            throw new RuntimeException("Warehouse partitioning is not supported for streaming simulations");
+        }
+        
+        SimulationSnapshot snapshot = new SimulationSnapshot(
+                driverRepository.findByIsActiveTrueOrderByCurrentShiftHours(),
+                routeRepository.findByIsActiveTrue(),
+                Collections.emptyList(),
+                LocalDate.now(),
+                simulationRules.resolve(request.getRulesVersion())
+        );
+        validateResources(snapshot, request);
+        
+        SimulationResult result = newResult(snapshot, request, userId);
+        result.setStreamed(true);
+        
+        // Progress is measured against the backlog size at start, checked before each chunk is written
+        long expectedOrders = listener == SimulationProgressListener.NONE ? 0
+                : orderRepository.countByStatus(Order.OrderStatus.PENDING);
+        long[] readSoFar = {0};
+        
+        SimulationEngine.Run run = simulationEngine.start(snapshot, request, new SplittableRandom(result.getSeed()).split());
+        List<String> processedOrderIds = new ArrayList<>();
+        String claimToken = request.isDryRun() ? null : pendingOrderClaimer.newToken();
+        Consumer<List<Order>> simulateChunk = chunk -> {
+            listener.onProgress(readSoFar[0], Math.max(expectedOrders, readSoFar[0]), run.getKpis());
+            List<OrderOutcome> outcomes = run.accept(chunk);
+            // Flush per chunk so outcomes never pile up in memory
+            if (!request.isDryRun()) {
+                orderOutcomeWriter.write(outcomes, claimToken);
+            }
+            for (OrderOutcome outcome : outcomes) {
+                processedOrderIds.add(outcome.getOrder().getOrderId());
+            }
+            readSoFar[0] += chunk.size();
+        };
+        
+        // Real runs claim each chunk before simulating it, so concurrent runs never share an order
+        long read;
+        if (claimToken == null) {
+            read = pendingOrderReader.forEachChunk(simulateChunk);
+        } else {
+            try {
+                read = pendingOrderClaimer.forEachBatch(claimToken, fleetHours(snapshot, request),
+                        routeHours(snapshot), simulateChunk);
+            } catch (RuntimeException e) {
+                savePartialResult(result, run, processedOrderIds, e);
+                throw e;
+            } finally {
+                pendingOrderClaimer.release(claimToken);
+            }
         }
         
-        if (pendingOrders.isEmpty()) {
+        if (read == 0) {
             throw new RuntimeException("No pending orders available for simulation");
         }
         
-        // Create simulation result object
+        result.setProcessedOrderIds(processedOrderIds);
+        result.setDriverBreakdown(run.getDriverBreakdown());
+        run.getKpis().applyTo(result);
+        logger.info("Streamed {} pending orders through the simulation, {} delivered", read, processedOrderIds.size());
+        
+        if (request.isDryRun()) {
+            result.setDryRun(true);
+            return result;
+        }
+        // Streamed outcomes are not retained, so later edits cannot be applied to this run incrementally
+        incrementalSimulationService.clear();
+        return save(result);
+    }
+    
+    /**
+     * Chunks written before a streamed run stopped stay delivered, so record them as a result
+     * marked cancelled rather than leaving delivered orders no run accounts for
+     */
+    private void savePartialResult(SimulationResult result, SimulationEngine.Run run,
+                                   List<String> processedOrderIds, RuntimeException cause) {
+        if (processedOrderIds.isEmpty()) {
+            return;
+        }
+        result.setCancelled(true);
+        result.setProcessedOrderIds(processedOrderIds);
+        result.setDriverBreakdown(run.getDriverBreakdown());
+        run.getKpis().applyTo(result);
+        incrementalSimulationService.clear();
+        try {
+            SimulationResult savedResult = save(result);
+            logger.warn("Streamed simulation stopped after writing {} orders, saved as cancelled result {}",
+                       processedOrderIds.size(), savedResult.getId());
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+    
+    /**
+     * Result skeleton carrying the request parameters and everything needed to replay the run
+     */
+    private SimulationResult newResult(SimulationSnapshot snapshot, SimulationRequest request, String userId) {
         SimulationResult result = new SimulationResult(
                 request.getNumberOfDrivers(),
                 request.getRouteStartTime(),
@@ -72,14 +278,72 @@ public class SimulationService {
         result.setSimulatedBy(userId);
         result.setNotes(request.getNotes());
         
-        // Simulate order allocation and delivery
-        simulateOrderAllocation(availableDrivers, activeRoutes, pendingOrders, request, result);
+        // Every run is seeded so it can be replayed
+        long seed = request.getSeed() != null ? request.getSeed() : new SplittableRandom().nextLong();
+        List<Driver> drivers = snapshot.driversFor(request.getNumberOfDrivers());
+        result.setSeed(seed);
+        result.setAllocationStrategy(request.getAllocationStrategy());
+        result.setRulesVersion(simulationRules.resolveVersion(request.getRulesVersion()));
+        result.setSimulationDate(snapshot.getSimulationDate());
+        result.setDriverIds(drivers.stream().map(Driver::getId).collect(Collectors.toList()));
+        result.setInputHash(snapshot.inputHash(request.getNumberOfDrivers()));
+        return result;
+    }
+    
+    /**
+     * Simulate the snapshot and, unless it is a dry run, persist the outcomes
+     *
+     * @param claimToken the claim the snapshot's pending orders are held under, null if they were not claimed
+     */
+    private SimulationResult executeSimulation(SimulationSnapshot snapshot, SimulationRequest request, String userId,
+                                               SimulationProgressListener listener, String claimToken) {
+        SimulationResult result = newResult(snapshot, request, userId);
+        result.setInputOrderIds(snapshot.getPendingOrders().stream().map(Order::getId).collect(Collectors.toList()));
+        
+        // Simulate order allocation and delivery entirely in memory
+        SplittableRandom random = new SplittableRandom(result.getSeed());
+        WarehousePartitioning partitioning = null;
+        SimulationOutcome outcome;
+        if (request.isPartitionByWarehouse()) {
+            // Each origin warehouse is simulated independently on its own core
+            partitioning = WarehousePartitioning.of(snapshot, request.getNumberOfDrivers());
+            WarehousePartitioning.Result partitioned = partitioning.run(simulationEngine, simulationExecutor,
+                    request, random.split(), listener);
+            outcome = partitioned.getOutcome();
+            result.setPartitionedByWarehouse(true);
+            result.setWarehouseBreakdown(partitioned.getBreakdown());
+        } else {
+            outcome = simulationEngine.run(snapshot, request, random.split(), listener);
+        }
+        result.setProcessedOrderIds(outcome.getOrderOutcomes().stream()
+                .map(orderOutcome -> orderOutcome.getOrder().getOrderId())
+                .collect(Collectors.toList()));
+        
+        // KPIs were accumulated during the run, no need to re-read delivered orders
+        outcome.getKpis().applyTo(result);
+        result.setDriverBreakdown(outcome.getDriverBreakdown());
+        
+        int replications = request.getReplications() != null ? request.getReplications() : 1;
+        if (replications > 1) {
+            runReplications(snapshot, partitioning, request, outcome.getKpis(), replications, random, result);
+        }
+        
+        // What-if runs leave orders untouched; the outcomes are an overlay that is simply discarded
+        if (request.isDryRun()) {
+            result.setDryRun(true);
+            logger.info("Dry-run simulation completed. Total profit: ₹{}, Efficiency: {}%", 
+                       result.getTotalProfit(), result.getEfficiencyScore());
+            return result;
+        }
         
-        // Calculate KPIs
-        calculateKPIs(result);
+        // Persist all order mutations in a single bulk write phase
+        orderOutcomeWriter.write(outcome.getOrderOutcomes(), claimToken);
         
         // Save simulation result
-        SimulationResult savedResult = simulationResultRepository.save(result);
+        SimulationResult savedResult = save(result);
+        
+        // Later edits to its routes, orders and drivers re-simulate only what they affect
+        incrementalSimulationService.register(savedResult, snapshot, outcome.getOrderOutcomes());
         
         logger.info("Simulation completed. Total profit: ₹{}, Efficiency: {}%", 
                    result.getTotalProfit(), result.getEfficiencyScore());
@@ -88,171 +352,147 @@ public class SimulationService {
     }
     
     /**
-     * Simulate order allocation to drivers based on availability and capacity
+     * Save a result, with its order id lists written in chunks beside it rather than embedded
      */
-    private void simulateOrderAllocation(List<Driver> drivers, List<Route> routes, 
-                                       List<Order> orders, SimulationRequest request, 
-                                       SimulationResult result) {
-        
-        Map<String, Double> driverWorkingHours = new HashMap<>();
-        Map<String, Route> routeMap = routes.stream()
-                .collect(Collectors.toMap(Route::getRouteId, r -> r));
-        
-        List<String> processedOrderIds = new ArrayList<>();
-        Map<String, Double> fuelCostBreakdown = new HashMap<>();
-        
-        int driverIndex = 0;
-        
-        for (Order order : orders) {
-            // Find route for this order
-            Route route = routeMap.get(order.getAssignedRouteId());
-            if (route == null) {
-                logger.warn("Route {} not found for order {}", order.getAssignedRouteId(), order.getOrderId());
-                continue;
-            }
-            
-            // Select driver in round-robin fashion
-            Driver selectedDriver = drivers.get(driverIndex % drivers.size());
-            driverIndex++;
-            
-            // Check if driver can handle this order within max hours
-            double currentHours = driverWorkingHours.getOrDefault(selectedDriver.getId(), 0.0);
-            double estimatedTimeHours = route.getBaseTimeMinutes() / 60.0;
-            
-            // Apply fatigue penalty if driver worked >8 hours yesterday
-            if (selectedDriver.isHasFatiguePenalty()) {
-                estimatedTimeHours *= 1.3; // 30% slower due to fatigue
-            }
-            
-            if (currentHours + estimatedTimeHours <= request.getMaxHoursPerDriver()) {
-                // Assign order to driver
-                order.setAssignedDriverId(selectedDriver.getId());
-                order.setStatus(Order.OrderStatus.ASSIGNED);
-                
-                // Simulate delivery
-                simulateDelivery(order, route, request.getRouteStartTime().plusMinutes((int)(currentHours * 60)));
-                
-                // Update driver working hours
-                driverWorkingHours.put(selectedDriver.getId(), currentHours + estimatedTimeHours);
-                
-                // Track fuel cost
-                Double fuelCost = route.calculateFuelCost();
-                order.setFuelCost(fuelCost);
-                fuelCostBreakdown.merge(route.getTrafficLevel(), fuelCost, Double::sum);
-                
-                processedOrderIds.add(order.getOrderId());
-                
-                // Save updated order
-                orderRepository.save(order);
-            }
-        }
-        
-        result.setProcessedOrderIds(processedOrderIds);
-        result.setFuelCostBreakdown(fuelCostBreakdown);
+    private SimulationResult save(SimulationResult result) {
+        SimulationResult savedResult = simulationResultRepository.save(result);
+        simulationOrderIdStore.save(savedResult.getId(), SimulationOrderIdChunk.Kind.INPUT,
+                result.getInputOrderIds());
+        simulationOrderIdStore.save(savedResult.getId(), SimulationOrderIdChunk.Kind.PROCESSED,
+                result.getProcessedOrderIds());
+        return savedResult;
     }
     
     /**
-     * Simulate delivery for an order and apply company rules
+     * Run additional independent replicas in parallel and record KPI distributions across all of them.
+     * The primary run supplies replica 0 and remains the one whose outcomes are persisted.
      */
-    private void simulateDelivery(Order order, Route route, LocalTime startTime) {
-        // Calculate actual delivery time
-        int baseTimeMinutes = route.getBaseTimeMinutes();
-        
-        // Add some randomness for simulation (±5 minutes)
-        Random random = new Random();
-        int actualTimeMinutes = baseTimeMinutes + random.nextInt(11) - 5; // -5 to +5 minutes
-        
-        LocalDateTime deliveryTime = LocalDateTime.now()
-                .with(startTime)
-                .plusMinutes(actualTimeMinutes);
-        
-        order.setDeliveryTimestamp(deliveryTime);
-        order.setStatus(Order.OrderStatus.DELIVERED);
-        
-        // Company Rule 1: Late Delivery Penalty
-        // If delivery time > (base route time + 10 minutes), apply ₹50 penalty
-        boolean isOnTime = actualTimeMinutes <= (baseTimeMinutes + 10);
-        order.setDeliveredOnTime(isOnTime);
-        
-        if (!isOnTime) {
-            order.setPenalty(50.0);
-        } else {
-            order.setPenalty(0.0);
+    private void runReplications(SimulationSnapshot snapshot, WarehousePartitioning partitioning,
+                                 SimulationRequest request, KpiAccumulator primary,
+                                 int replications, SplittableRandom random, SimulationResult result) {
+        // Split streams up front; SplittableRandom must not be shared across threads
+        List<Callable<KpiAccumulator>> replicas = new ArrayList<>(replications - 1);
+        for (int i = 1; i < replications; i++) {
+            SplittableRandom replicaRandom = random.split();
+            replicas.add(() -> partitioning != null
+                    ? partitioning.evaluate(simulationEngine, request, replicaRandom)
+                    : simulationEngine.evaluate(snapshot, request, replicaRandom));
         }
         
-        // Company Rule 3: High-Value Bonus
-        // If order value > ₹1000 AND delivered on time → add 10% bonus
-        if (order.getValueRs() > 1000 && isOnTime) {
-            order.setBonus(order.getValueRs() * 0.1); // 10% bonus
-        } else {
-            order.setBonus(0.0);
+        List<KpiAccumulator> replicaKpis = new ArrayList<>(replications);
+        replicaKpis.add(primary);
+        replicaKpis.addAll(simulationExecutor.invokeAll(replicas));
+        
+        double[] profits = new double[replications];
+        double[] efficiencies = new double[replications];
+        double[] lateDeliveries = new double[replications];
+        for (int i = 0; i < replications; i++) {
+            KpiAccumulator kpis = replicaKpis.get(i);
+            profits[i] = kpis.getTotalProfit();
+            efficiencies[i] = kpis.getEfficiencyScore();
+            lateDeliveries[i] = kpis.getLateDeliveries();
         }
         
-        // Calculate profit for this order
-        order.calculateProfit();
+        result.setReplications(replications);
+        result.setProfitDistribution(KpiDistribution.fromSamples(profits));
+        result.setEfficiencyDistribution(KpiDistribution.fromSamples(efficiencies));
+        result.setLateDeliveriesDistribution(KpiDistribution.fromSamples(lateDeliveries));
         
-        logger.debug("Order {} delivered. Value: ₹{}, On time: {}, Penalty: ₹{}, Bonus: ₹{}, Profit: ₹{}",
-                    order.getOrderId(), order.getValueRs(), isOnTime, order.getPenalty(), 
-                    order.getBonus(), order.getProfit());
+        logger.info("Ran {} simulation replicas. Profit mean: ₹{}, p5: ₹{}, p95: ₹{}", replications,
+                   result.getProfitDistribution().getMean(), result.getProfitDistribution().getP5(),
+                   result.getProfitDistribution().getP95());
     }
     
     /**
-     * Calculate overall KPIs based on simulation results
+     * Load active drivers, active routes and pending orders into an immutable snapshot,
+     * judged by the given company rules version (the default version when null)
      */
-    private void calculateKPIs(SimulationResult result) {
-        List<Order> deliveredOrders = orderRepository.findByStatus(Order.OrderStatus.DELIVERED);
-        
-        if (deliveredOrders.isEmpty()) {
-            result.setTotalProfit(0.0);
-            result.setEfficiencyScore(0.0);
-            result.setOnTimeDeliveries(0);
-            result.setLateDeliveries(0);
-            result.setTotalDeliveries(0);
-            return;
+    SimulationSnapshot loadSnapshot(String rulesVersion) {
+        // Resolved first so an unknown version fails before any data is read
+        CompanyRules rules = simulationRules.resolve(rulesVersion);
+        return new SimulationSnapshot(
+                driverRepository.findByIsActiveTrueOrderByCurrentShiftHours(),
+                routeRepository.findByIsActiveTrue(),
+                orderRepository.findByStatus(Order.OrderStatus.PENDING),
+                LocalDate.now(),
+                rules
+        );
+    }
+    
+    /**
+     * Load a snapshot whose pending orders are claimed under the token, taking from the front of
+     * the backlog only as many route hours as the requested drivers can drive
+     */
+    private SimulationSnapshot loadSnapshot(SimulationRequest request, String claimToken) {
+        CompanyRules rules = simulationRules.resolve(request.getRulesVersion());
+        List<Driver> drivers = driverRepository.findByIsActiveTrueOrderByCurrentShiftHours();
+        List<Route> routes = routeRepository.findByIsActiveTrue();
+        SimulationSnapshot resources = new SimulationSnapshot(drivers, routes, Collections.emptyList(),
+                LocalDate.now(), rules);
+        return new SimulationSnapshot(
+                drivers,
+                routes,
+                pendingOrderClaimer.claim(claimToken, fleetHours(resources, request), routeHours(resources)),
+                resources.getSimulationDate(),
+                rules
+        );
+    }
+    
+    /**
+     * Driving hours the requested drivers have between them, the most a run can deliver
+     */
+    private double fleetHours(SimulationSnapshot snapshot, SimulationRequest request) {
+        return (double) snapshot.driversFor(request.getNumberOfDrivers()).size() * request.getMaxHoursPerDriver();
+    }
+    
+    /**
+     * Base hours of an order on each active route; orders on unknown routes are never delivered and cost none
+     */
+    private ToDoubleFunction<String> routeHours(SimulationSnapshot snapshot) {
+        Map<String, Route> routes = snapshot.getRoutesById();
+        return routeId -> {
+            Route route = routeId != null ? routes.get(routeId) : null;
+            return route != null ? route.getBaseTimeMinutes() / 60.0 : 0;
+        };
+    }
+    
+    /**
+     * Reorder entities loaded by id into the order their ids were stored in
+     */
+    private <T> List<T> inStoredOrder(Iterable<T> entities, Function<T, String> idOf, List<String> storedIds) {
+        Map<String, T> byId = new HashMap<>();
+        for (T entity : entities) {
+            byId.put(idOf.apply(entity), entity);
+        }
+        
+        List<T> ordered = new ArrayList<>(storedIds.size());
+        for (String id : storedIds) {
+            T entity = byId.get(id);
+            if (entity != null) {
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+    
+    void validateSnapshot(SimulationSnapshot snapshot, SimulationRequest request) {
+        validateResources(snapshot, request);
+        
+        if (snapshot.getPendingOrders().isEmpty()) {
+            throw new RuntimeException("No pending orders available for simulation");
+        }
+    }
+    
+    private void validateResources(SimulationSnapshot snapshot, SimulationRequest request) {
+        int availableDrivers = snapshot.getActiveDrivers().size();
+        if (availableDrivers < request.getNumberOfDrivers()) {
+            throw new RuntimeException("Not enough active drivers available. Available: " + 
+                                     availableDrivers + ", Required: " + request.getNumberOfDrivers());
         }
         
-        // Filter orders processed in this simulation
-        List<Order> simulationOrders = deliveredOrders.stream()
-                .filter(order -> result.getProcessedOrderIds().contains(order.getOrderId()))
-                .collect(Collectors.toList());
-        
-        // Company Rule 5: Overall Profit calculation
-        // Sum of (order value + bonus – penalties – fuel cost)
-        double totalProfit = simulationOrders.stream()
-                .mapToDouble(Order::getProfit)
-                .sum();
-        
-        double totalPenalties = simulationOrders.stream()
-                .mapToDouble(Order::getPenalty)
-                .sum();
-        
-        double totalBonuses = simulationOrders.stream()
-                .mapToDouble(Order::getBonus)
-                .sum();
-        
-        double totalFuelCost = simulationOrders.stream()
-                .mapToDouble(Order::getFuelCost)
-                .sum();
-        
-        // Company Rule 6: Efficiency Score
-        // Formula: Efficiency = (OnTime Deliveries / Total Deliveries) × 100
-        long onTimeDeliveries = simulationOrders.stream()
-                .mapToLong(order -> order.isDeliveredOnTime() ? 1 : 0)
-                .sum();
-        
-        long lateDeliveries = simulationOrders.size() - onTimeDeliveries;
-        double efficiencyScore = simulationOrders.size() > 0 ? 
-                (double) onTimeDeliveries / simulationOrders.size() * 100 : 0;
-        
-        // Set results
-        result.setTotalProfit(totalProfit);
-        result.setTotalPenalties(totalPenalties);
-        result.setTotalBonuses(totalBonuses);
-        result.setTotalFuelCost(totalFuelCost);
-        result.setEfficiencyScore(efficiencyScore);
-        result.setOnTimeDeliveries((int) onTimeDeliveries);
-        result.setLateDeliveries((int) lateDeliveries);
-        result.setTotalDeliveries(simulationOrders.size());
+        if (snapshot.getRoutesById().isEmpty()) {
+            throw new RuntimeException("No active routes available for simulation");
+        }
     }
     
     /**
@@ -269,6 +509,63 @@ public class SimulationService {
         return simulationResultRepository.findBySimulatedByOrderBySimulationTimestampDesc(userId);
     }
     
+    /**
+     * Get one page of simulation history summaries, newest first
+     *
+     * @param beforeTimestamp timestamp of the last result on the previous page, null for the first page
+     * @param beforeId id of the last result on the previous page
+     */
+    public Slice<SimulationSummary> getSimulationHistory(LocalDateTime beforeTimestamp, String beforeId,
+                                                        Pageable pageable) {
+        if (beforeTimestamp == null) {
+            return simulationResultRepository.findSummariesByOrderBySimulationTimestampDescIdDesc(pageable);
+        }
+        return simulationResultRepository.findSummariesBefore(beforeTimestamp, new ObjectId(beforeId), pageable);
+    }
+    
+    /**
+     * Get one page of simulation history summaries for a specific user, newest first
+     */
+    public Slice<SimulationSummary> getSimulationHistoryByUser(String userId, LocalDateTime beforeTimestamp,
+                                                              String beforeId, Pageable pageable) {
+        if (beforeTimestamp == null) {
+            return simulationResultRepository.findSummariesBySimulatedByOrderBySimulationTimestampDescIdDesc(userId,
+                    pageable);
+        }
+        return simulationResultRepository.findSummariesBefore(userId, beforeTimestamp, new ObjectId(beforeId),
+                pageable);
+    }
+    
+    /**
+     * Get the newest simulation history summaries inside a time window
+     */
+    public Slice<SimulationSummary> getSimulationHistoryBetween(LocalDateTime from, LocalDateTime to,
+                                                               Pageable pageable) {
+        if (!from.isBefore(to)) {
+            throw new RuntimeException("History window must start before it ends");
+        }
+        return simulationResultRepository
+                .findSummariesBySimulationTimestampBetweenOrderBySimulationTimestampDescIdDesc(from, to, pageable);
+    }
+    
+    /**
+     * Get a simulation result by ID
+     */
+    public Optional<SimulationResult> getSimulation(String id) {
+        return simulationResultRepository.findById(id);
+    }
+    
+    /**
+     * Get the business ids of the orders a stored simulation delivered
+     */
+    public Optional<List<String>> getProcessedOrderIds(String id) {
+        if (!simulationResultRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        List<String> processedOrderIds = simulationOrderIdStore.load(id, SimulationOrderIdChunk.Kind.PROCESSED);
+        return Optional.of(processedOrderIds != null ? processedOrderIds : Collections.emptyList());
+    }
+    
     /**
      * Get latest simulation result
      */
@@ -0,0 +1,151 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.model.CompanyRules;
+import com.purplemerit.greencartlogistics.model.Driver;
+import com.purplemerit.greencartlogistics.model.Order;
+import com.purplemerit.greencartlogistics.model.Route;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable view of the data a simulation runs against.
+ * Loaded once per run so allocation and delivery rules can execute without touching the database.
+ */
+public final class SimulationSnapshot {
+
+    private final List<Driver> activeDrivers;
+
+    private final Map<String, Route> routesById;
+
+    private final List<Order> pendingOrders;
+
+    private final LocalDate simulationDate;
+
+    // Primitive working set, built once and shared read-only by every run on this snapshot
+    private final RouteTable routeTable;
+
+    private final OrderTable pendingOrderTable;
+
+    private final CompanyRules rules;
+
+    private final CompiledRules compiledRules;
+
+    public SimulationSnapshot(List<Driver> activeDrivers, List<Route> activeRoutes, List<Order> pendingOrders,
+                              LocalDate simulationDate) {
+        this(activeDrivers, activeRoutes, pendingOrders, simulationDate, CompanyRules.original());
+    }
+
+    public SimulationSnapshot(List<Driver> activeDrivers, List<Route> activeRoutes, List<Order> pendingOrders,
+                              LocalDate simulationDate, CompanyRules rules) {
+        Map<String, Route> routes = new LinkedHashMap<>();
+        for (Route route : activeRoutes) {
+            routes.put(route.getRouteId(), route);
+        }
+        this.activeDrivers = List.copyOf(activeDrivers);
+        this.routesById = Collections.unmodifiableMap(routes);
+        this.pendingOrders = List.copyOf(pendingOrders);
+        this.simulationDate = simulationDate;
+        this.routeTable = new RouteTable(routes.values());
+        this.pendingOrderTable = new OrderTable(this.pendingOrders, routeTable);
+        this.rules = rules;
+        this.compiledRules = new CompiledRules(rules, routeTable);
+    }
+
+    /**
+     * Active drivers ordered by current shift hours, least loaded first
+     */
+    public List<Driver> getActiveDrivers() {
+        return activeDrivers;
+    }
+
+    /**
+     * The first {@code numberOfDrivers} active drivers, as picked for a simulation run
+     */
+    public List<Driver> driversFor(int numberOfDrivers) {
+        return activeDrivers.subList(0, Math.min(numberOfDrivers, activeDrivers.size()));
+    }
+
+    public Map<String, Route> getRoutesById() {
+        return routesById;
+    }
+
+    public List<Order> getPendingOrders() {
+        return pendingOrders;
+    }
+
+    RouteTable getRouteTable() {
+        return routeTable;
+    }
+
+    OrderTable getPendingOrderTable() {
+        return pendingOrderTable;
+    }
+
+    /**
+     * Company rules deliveries are judged by
+     */
+    public CompanyRules getRules() {
+        return rules;
+    }
+
+    CompiledRules getCompiledRules() {
+        return compiledRules;
+    }
+
+    /**
+     * The virtual day deliveries are simulated on, fixed per run so results are reproducible
+     */
+    public LocalDate getSimulationDate() {
+        return simulationDate;
+    }
+
+    /**
+     * Fingerprint of everything a run on this snapshot depends on: the drivers it picks, the pending orders
+     * in simulation order, the routes those orders use and the company rules. Two snapshots with the same
+     * hash simulate identically for the same request and seed.
+     */
+    public String inputHash(int numberOfDrivers) {
+        StringBuilder content = new StringBuilder();
+        for (Driver driver : driversFor(numberOfDrivers)) {
+            content.append("driver|").append(driver.getId()).append('|').append(driver.isHasFatiguePenalty())
+                    .append('\n');
+        }
+        Set<String> routeIds = new TreeSet<>();
+        for (Order order : pendingOrders) {
+            content.append("order|").append(order.getId()).append('|').append(order.getOrderId()).append('|')
+                    .append(order.getValueRs()).append('|').append(order.getAssignedRouteId()).append('\n');
+            routeIds.add(String.valueOf(order.getAssignedRouteId()));
+        }
+        for (String routeId : routeIds) {
+            Route route = routesById.get(routeId);
+            content.append("route|").append(routeId);
+            if (route != null) {
+                content.append('|').append(route.getDistanceKm()).append('|').append(route.getTrafficLevel())
+                        .append('|').append(route.getBaseTimeMinutes()).append('|').append(route.getStartLocation());
+            }
+            content.append('\n');
+        }
+        content.append("rules|").append(rules.getLatePenalty()).append('|').append(rules.getLateGraceMinutes())
+                .append('|').append(rules.getFatigueFactor()).append('|').append(rules.getHighValueThreshold())
+                .append('|').append(rules.getHighValueBonusRate()).append('|').append(rules.getFuelCostPerKm())
+                .append('|').append(new TreeMap<>(rules.getTrafficSurchargePerKm()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.dto.SimulationRequest;
+import com.purplemerit.greencartlogistics.dto.SimulationSweepRequest;
+import com.purplemerit.greencartlogistics.dto.SimulationSweepResponse;
+import com.purplemerit.greencartlogistics.dto.SimulationSweepResponse.ScenarioResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+
+/**
+ * Service for evaluating many simulation scenarios in parallel against one shared snapshot
+ */
+@Service
+public class SimulationSweepService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulationSweepService.class);
+
+    @Autowired
+    private SimulationService simulationService;
+
+    @Autowired
+    private SimulationExecutor simulationExecutor;
+
+    @Value("${app.simulation.sweep.max-scenarios:1000}")
+    private int maxScenarios;
+
+    private final SimulationEngine simulationEngine = new SimulationEngine();
+
+    // Same budget as single runs, so sweep scenarios are allocated as the run endpoint would allocate them
+    @Value("${app.simulation.solver.max-evaluations:100000000}")
+    void setSolverMaxEvaluations(long solverMaxEvaluations) {
+        simulationEngine.setSolverMaxEvaluations(solverMaxEvaluations);
+    }
+
+    /**
+     * Simulate every combination of the requested parameter ranges as a dry run
+     * and return all scenario KPIs together with the profit/efficiency Pareto frontier
+     */
+    public SimulationSweepResponse runSweep(SimulationSweepRequest request) {
+        long startedAt = System.currentTimeMillis();
+
+        List<SimulationRequest> scenarios = expandScenarios(request);
+
+        // Load data once; every scenario reads the same immutable snapshot
+        SimulationSnapshot snapshot = simulationService.loadSnapshot(request.getRulesVersion());
+        for (SimulationRequest scenario : scenarios) {
+            simulationService.validateSnapshot(snapshot, scenario);
+        }
+
+        long seed = request.getSeed() != null ? request.getSeed() : new SplittableRandom().nextLong();
+        logger.info("Starting simulation sweep over {} scenarios with seed {} and parallelism {}",
+                   scenarios.size(), seed, simulationExecutor.getParallelism());
+
+        // Every scenario draws the same random numbers, as a single run with this seed would,
+        // so differences between scenarios come from their parameters rather than from noise.
+        // Each gets its own stream because SplittableRandom is not thread-safe.
+        List<Callable<ScenarioResult>> tasks = new ArrayList<>(scenarios.size());
+        for (SimulationRequest scenario : scenarios) {
+            scenario.setSeed(seed);
+            SplittableRandom scenarioRandom = new SplittableRandom(seed).split();
+            tasks.add(() -> evaluate(snapshot, scenario, scenarioRandom));
+        }
+
+        List<ScenarioResult> results = simulationExecutor.invokeAll(tasks);
+
+        long elapsedMillis = System.currentTimeMillis() - startedAt;
+        logger.info("Simulation sweep completed: {} scenarios in {} ms", results.size(), elapsedMillis);
+
+        return new SimulationSweepResponse(results, paretoFrontier(results), seed, elapsedMillis);
+    }
+
+    private List<SimulationRequest> expandScenarios(SimulationSweepRequest request) {
+        SimulationSweepRequest.IntRange driverRange = request.getNumberOfDrivers();
+        SimulationSweepRequest.IntRange maxHoursRange = request.getMaxHoursPerDriver();
+        SimulationSweepRequest.TimeRange startTimeRange = request.getRouteStartTime();
+
+        // Sizes are checked arithmetically so an oversized range is rejected before anything is built
+        long driverCount = driverRange.count();
+        long maxHoursCount = maxHoursRange.count();
+        long startTimeCount = startTimeRange.count();
+        if (driverCount == 0 || maxHoursCount == 0 || startTimeCount == 0) {
+            throw new RuntimeException("Sweep ranges must each contain at least one value");
+        }
+        // Each factor is at most maxScenarios before multiplying, so the product cannot overflow
+        long combinations = Math.min(driverCount, maxScenarios + 1L) * Math.min(maxHoursCount, maxScenarios + 1L)
+                * Math.min(startTimeCount, maxScenarios + 1L);
+        if (combinations > maxScenarios) {
+            throw new RuntimeException("Sweep would run too many scenarios," +
+                                     " maximum allowed is " + maxScenarios);
+        }
+        if (maxHoursRange.last() > 24) {
+            throw new RuntimeException("Max hours per driver must be between 1 and 24");
+        }
+
+        List<Integer> driverCounts = driverRange.values();
+        List<Integer> maxHours = maxHoursRange.values();
+        List<LocalTime> startTimes = startTimeRange.values();
+
+        List<SimulationRequest> scenarios = new ArrayList<>((int) combinations);
+        for (Integer drivers : driverCounts) {
+            for (Integer hours : maxHours) {
+                for (LocalTime startTime : startTimes) {
+                    SimulationRequest scenario = new SimulationRequest(drivers, startTime, hours);
+                    scenario.setDryRun(true);
+                    scenarios.add(scenario);
+                }
+            }
+        }
+        return scenarios;
+    }
+
+    private ScenarioResult evaluate(SimulationSnapshot snapshot, SimulationRequest scenario, SplittableRandom random) {
+        KpiAccumulator kpis = simulationEngine.evaluate(snapshot, scenario, random);
+        return new ScenarioResult(scenario.getNumberOfDrivers(), scenario.getMaxHoursPerDriver(),
+                scenario.getRouteStartTime(), kpis.getTotalProfit(), kpis.getEfficiencyScore(),
+                kpis.getTotalDeliveries(), kpis.getLateDeliveries());
+    }
+
+    /**
+     * Scenarios not dominated on both total profit and efficiency score, highest profit first
+     */
+    static List<ScenarioResult> paretoFrontier(List<ScenarioResult> results) {
+        List<ScenarioResult> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparingDouble(ScenarioResult::getTotalProfit).reversed()
+                .thenComparing(Comparator.comparingDouble(ScenarioResult::getEfficiencyScore).reversed()));
+
+        List<ScenarioResult> frontier = new ArrayList<>();
+        double bestEfficiency = Double.NEGATIVE_INFINITY;
+        for (ScenarioResult result : sorted) {
+            if (result.getEfficiencyScore() > bestEfficiency) {
+                frontier.add(result);
+                bestEfficiency = result.getEfficiencyScore();
+            }
+        }
+        return frontier;
+    }
+}
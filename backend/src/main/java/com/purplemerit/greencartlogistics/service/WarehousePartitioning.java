@@ -0,0 +1,282 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.dto.SimulationRequest;
+import com.purplemerit.greencartlogistics.model.Driver;
+import com.purplemerit.greencartlogistics.model.DriverBreakdown;
+import com.purplemerit.greencartlogistics.model.Order;
+import com.purplemerit.greencartlogistics.model.Route;
+import com.purplemerit.greencartlogistics.model.WarehouseBreakdown;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+
+/**
+ * Splits a snapshot into independent per-warehouse simulations.
+ *
+ * Orders are grouped by the start location of their route. Drivers have no home warehouse,
+ * so the selected drivers are apportioned to warehouses in proportion to each warehouse's
+ * pending route minutes (largest remainder, every warehouse with work gets a driver while
+ * drivers last) and dealt out in turn so rested and fatigued drivers spread evenly.
+ * Partitions share nothing mutable and can run on separate cores.
+ */
+final class WarehousePartitioning {
+
+    static final String UNASSIGNED = "Unassigned";
+
+    private final List<Partition> partitions;
+
+    private WarehousePartitioning(List<Partition> partitions) {
+        this.partitions = partitions;
+    }
+
+    static WarehousePartitioning of(SimulationSnapshot snapshot, int numberOfDrivers) {
+        Map<String, Route> routesById = snapshot.getRoutesById();
+        Map<String, List<Order>> ordersByWarehouse = new TreeMap<>();
+        Map<String, Double> minutesByWarehouse = new TreeMap<>();
+        for (Order order : snapshot.getPendingOrders()) {
+            Route route = routesById.get(order.getAssignedRouteId());
+            String warehouse = route != null && route.getStartLocation() != null ? route.getStartLocation() : UNASSIGNED;
+            ordersByWarehouse.computeIfAbsent(warehouse, key -> new ArrayList<>()).add(order);
+            minutesByWarehouse.merge(warehouse, route != null ? route.getBaseTimeMinutes() : 0.0, Double::sum);
+        }
+
+        List<String> warehouses = new ArrayList<>(ordersByWarehouse.keySet());
+        List<Driver> drivers = snapshot.driversFor(numberOfDrivers);
+        int[] driverCounts = apportion(warehouses, minutesByWarehouse, drivers.size());
+
+        // Deal drivers out one at a time to the warehouses still short of their share
+        List<List<Driver>> driversByWarehouse = new ArrayList<>();
+        for (int w = 0; w < warehouses.size(); w++) {
+            driversByWarehouse.add(new ArrayList<>(driverCounts[w]));
+        }
+        int dealt = 0;
+        for (int count : driverCounts) {
+            dealt += count;
+        }
+        int next = 0;
+        while (next < dealt) {
+            for (int w = 0; w < warehouses.size() && next < dealt; w++) {
+                if (driversByWarehouse.get(w).size() < driverCounts[w]) {
+                    driversByWarehouse.get(w).add(drivers.get(next++));
+                }
+            }
+        }
+
+        List<Route> routes = new ArrayList<>(routesById.values());
+        List<Partition> partitions = new ArrayList<>(warehouses.size());
+        for (int w = 0; w < warehouses.size(); w++) {
+            String warehouse = warehouses.get(w);
+            partitions.add(new Partition(warehouse, new SimulationSnapshot(driversByWarehouse.get(w), routes,
+                    ordersByWarehouse.get(warehouse), snapshot.getSimulationDate(), snapshot.getRules())));
+        }
+        return new WarehousePartitioning(partitions);
+    }
+
+    /**
+     * Number of drivers per warehouse, proportional to route minutes by the largest remainder method
+     */
+    private static int[] apportion(List<String> warehouses, Map<String, Double> minutes, int drivers) {
+        int[] counts = new int[warehouses.size()];
+        double totalMinutes = minutes.values().stream().mapToDouble(Double::doubleValue).sum();
+        if (warehouses.isEmpty() || drivers == 0 || totalMinutes == 0) {
+            return counts;
+        }
+
+        // Busiest warehouses first, so a shortage of drivers leaves the smallest ones unserved
+        List<Integer> byDemand = new ArrayList<>();
+        for (int w = 0; w < warehouses.size(); w++) {
+            if (minutes.get(warehouses.get(w)) > 0) {
+                byDemand.add(w);
+            }
+        }
+        byDemand.sort(Comparator.comparingDouble((Integer w) -> minutes.get(warehouses.get(w))).reversed());
+
+        int remaining = drivers;
+        for (int w : byDemand) {
+            if (remaining == 0) {
+                return counts;
+            }
+            counts[w] = 1;
+            remaining--;
+        }
+
+        double[] remainders = new double[counts.length];
+        int handedOut = 0;
+        for (int w : byDemand) {
+            double quota = minutes.get(warehouses.get(w)) / totalMinutes * remaining;
+            int extra = (int) quota;
+            counts[w] += extra;
+            handedOut += extra;
+            remainders[w] = quota - extra;
+        }
+        byDemand.sort(Comparator.comparingDouble((Integer w) -> remainders[w]).reversed());
+        for (int i = 0; i < remaining - handedOut; i++) {
+            counts[byDemand.get(i)]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Simulate every partition that has drivers in parallel and merge the outcomes.
+     * Random streams are split here, before the tasks start, since SplittableRandom is not thread-safe.
+     */
+    Result run(SimulationEngine engine, SimulationExecutor executor, SimulationRequest request,
+               SplittableRandom random, SimulationProgressListener listener) {
+        MergedProgress progress = new MergedProgress(partitions, listener);
+        List<Callable<SimulationOutcome>> tasks = new ArrayList<>();
+        List<Partition> simulated = new ArrayList<>();
+        for (int p = 0; p < partitions.size(); p++) {
+            Partition partition = partitions.get(p);
+            if (partition.snapshot.getActiveDrivers().isEmpty()) {
+                continue;
+            }
+            SplittableRandom partitionRandom = random.split();
+            int index = p;
+            tasks.add(() -> engine.run(partition.snapshot, request, partitionRandom, progress.forPartition(index)));
+            simulated.add(partition);
+        }
+
+        List<SimulationOutcome> outcomes = executor.invokeAll(tasks);
+
+        List<OrderOutcome> orderOutcomes = new ArrayList<>();
+        List<DriverBreakdown> driverBreakdown = new ArrayList<>();
+        KpiAccumulator kpis = new KpiAccumulator();
+        List<WarehouseBreakdown> breakdown = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions) {
+            int index = simulated.indexOf(partition);
+            KpiAccumulator partitionKpis = index >= 0 ? outcomes.get(index).getKpis() : new KpiAccumulator();
+            if (index >= 0) {
+                orderOutcomes.addAll(outcomes.get(index).getOrderOutcomes());
+                // Every driver belongs to exactly one partition
+                driverBreakdown.addAll(outcomes.get(index).getDriverBreakdown());
+            }
+            kpis.merge(partitionKpis);
+            breakdown.add(partition.toBreakdown(partitionKpis));
+        }
+        return new Result(new SimulationOutcome(orderOutcomes, kpis, driverBreakdown), breakdown);
+    }
+
+    /**
+     * KPIs only, partitions one after another; used by replicas, which are already parallel
+     */
+    KpiAccumulator evaluate(SimulationEngine engine, SimulationRequest request, SplittableRandom random) {
+        KpiAccumulator kpis = new KpiAccumulator();
+        for (Partition partition : partitions) {
+            if (!partition.snapshot.getActiveDrivers().isEmpty()) {
+                kpis.merge(engine.evaluate(partition.snapshot, request, random.split()));
+            }
+        }
+        return kpis;
+    }
+
+    List<Partition> getPartitions() {
+        return partitions;
+    }
+
+    static final class Partition {
+
+        private final String warehouse;
+
+        private final SimulationSnapshot snapshot;
+
+        private Partition(String warehouse, SimulationSnapshot snapshot) {
+            this.warehouse = warehouse;
+            this.snapshot = snapshot;
+        }
+
+        String getWarehouse() {
+            return warehouse;
+        }
+
+        SimulationSnapshot getSnapshot() {
+            return snapshot;
+        }
+
+        private WarehouseBreakdown toBreakdown(KpiAccumulator kpis) {
+            WarehouseBreakdown breakdown = new WarehouseBreakdown(warehouse,
+                    snapshot.getActiveDrivers().size(), snapshot.getPendingOrders().size());
+            kpis.applyTo(breakdown);
+            return breakdown;
+        }
+    }
+
+    static final class Result {
+
+        private final SimulationOutcome outcome;
+
+        private final List<WarehouseBreakdown> breakdown;
+
+        private Result(SimulationOutcome outcome, List<WarehouseBreakdown> breakdown) {
+            this.outcome = outcome;
+            this.breakdown = breakdown;
+        }
+
+        SimulationOutcome getOutcome() {
+            return outcome;
+        }
+
+        List<WarehouseBreakdown> getBreakdown() {
+            return breakdown;
+        }
+    }
+
+    /**
+     * Combines progress of partitions running on different threads into one report.
+     * Each partition's KPIs are copied on its own thread so the merge never reads a live accumulator.
+     */
+    private static final class MergedProgress {
+
+        private final long[] completed;
+
+        private final long[] total;
+
+        private final KpiAccumulator[] kpis;
+
+        private final SimulationProgressListener listener;
+
+        MergedProgress(List<Partition> partitions, SimulationProgressListener listener) {
+            this.completed = new long[partitions.size()];
+            this.total = new long[partitions.size()];
+            this.kpis = new KpiAccumulator[partitions.size()];
+            this.listener = listener;
+            // Until a partition reports how many orders it assigned, count all of its pending orders
+            for (int p = 0; p < total.length; p++) {
+                Partition partition = partitions.get(p);
+                total[p] = partition.snapshot.getActiveDrivers().isEmpty() ? 0
+                        : partition.snapshot.getPendingOrders().size();
+            }
+        }
+
+        SimulationProgressListener forPartition(int partition) {
+            if (listener == SimulationProgressListener.NONE) {
+                return SimulationProgressListener.NONE;
+            }
+            return (partitionCompleted, partitionTotal, partitionKpis) ->
+                    report(partition, partitionCompleted, partitionTotal, partitionKpis.copy());
+        }
+
+        private synchronized void report(int partition, long partitionCompleted, long partitionTotal,
+                                         KpiAccumulator partitionKpis) {
+            completed[partition] = partitionCompleted;
+            total[partition] = partitionTotal;
+            kpis[partition] = partitionKpis;
+
+            long allCompleted = 0;
+            long allTotal = 0;
+            KpiAccumulator merged = new KpiAccumulator();
+            for (int p = 0; p < kpis.length; p++) {
+                allCompleted += completed[p];
+                allTotal += total[p];
+                if (kpis[p] != null) {
+                    merged.merge(kpis[p]);
+                }
+            }
+            listener.onProgress(allCompleted, allTotal, merged);
+        }
+    }
+}
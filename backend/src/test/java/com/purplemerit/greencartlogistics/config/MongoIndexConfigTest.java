@@ -0,0 +1,173 @@
+package com.purplemerit.greencartlogistics.config;
+
+import com.purplemerit.greencartlogistics.model.Driver;
+import com.purplemerit.greencartlogistics.model.Order;
+import com.purplemerit.greencartlogistics.model.Route;
+import com.purplemerit.greencartlogistics.model.SimulationOrderIdChunk;
+import com.purplemerit.greencartlogistics.model.SimulationResult;
+import com.purplemerit.greencartlogistics.model.User;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the indexes MongoIndexConfig resolves from the document classes and how it ensures them;
+ * no database needed
+ */
+class MongoIndexConfigTest {
+
+    private final MongoMappingContext mappingContext = new MongoMappingContext();
+
+    @BeforeEach
+    void setUp() {
+        // Date and time fields are simple values, as in the application's mapping context
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(Collections.emptyList()).getSimpleTypeHolder());
+    }
+
+    @Test
+    void testResolveIndexes_Order() {
+        // When
+        List<IndexDefinition> indexes = MongoIndexConfig.resolveIndexes(mappingContext, Order.class);
+
+        // Then
+        assertEquals(List.of("{\"status\": 1, \"_id\": 1}", "{\"orderId\": 1}", "{\"assignedRouteId\": 1}",
+                        "{\"assignedDriverId\": 1}", "{\"claimToken\": 1}"),
+                keysOf(indexes));
+        assertTrue(optionsOf(indexes, "orderId").getBoolean("unique"));
+        assertTrue(optionsOf(indexes, "claimToken").getBoolean("sparse"));
+    }
+
+    @Test
+    void testResolveIndexes_DriverAndRoute() {
+        // When
+        List<IndexDefinition> driverIndexes = MongoIndexConfig.resolveIndexes(mappingContext, Driver.class);
+        List<IndexDefinition> routeIndexes = MongoIndexConfig.resolveIndexes(mappingContext, Route.class);
+
+        // Then
+        assertEquals(List.of("{\"isActive\": 1, \"currentShiftHours\": 1}"), keysOf(driverIndexes));
+        assertEquals(List.of("{\"isActive\": 1, \"distanceKm\": 1}", "{\"routeId\": 1}", "{\"trafficLevel\": 1}"),
+                keysOf(routeIndexes));
+        assertTrue(optionsOf(routeIndexes, "routeId").getBoolean("unique"));
+    }
+
+    @Test
+    void testResolveIndexes_SimulationHistoryAndOrderIds() {
+        // When
+        List<IndexDefinition> resultIndexes = MongoIndexConfig.resolveIndexes(mappingContext, SimulationResult.class);
+        List<IndexDefinition> chunkIndexes =
+                MongoIndexConfig.resolveIndexes(mappingContext, SimulationOrderIdChunk.class);
+
+        // Then
+        assertEquals(List.of("{\"simulationTimestamp\": -1, \"_id\": -1}",
+                        "{\"simulatedBy\": 1, \"simulationTimestamp\": -1, \"_id\": -1}"),
+                keysOf(resultIndexes));
+        assertEquals(List.of("{\"simulationId\": 1, \"kind\": 1, \"sequence\": 1}"), keysOf(chunkIndexes));
+    }
+
+    @Test
+    void testResolveIndexes_EveryDocumentDeclaresIndexes() {
+        for (Class<?> type : MongoIndexConfig.INDEXED_DOCUMENTS) {
+            assertFalse(MongoIndexConfig.resolveIndexes(mappingContext, type).isEmpty(), type.getSimpleName());
+        }
+        assertEquals(List.of("{\"username\": 1}", "{\"email\": 1}"),
+                keysOf(MongoIndexConfig.resolveIndexes(mappingContext, User.class)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEnsureIndexes_SkipsUniqueIndexOverDuplicateKeys() {
+        // Given: empty collections, except that the orders hold two documents with one orderId
+        MongoTemplate mongoTemplate = mockMongoTemplate();
+        IndexOperations indexOperations = mock(IndexOperations.class);
+        MongoCollection<Document> orders = collectionWithDuplicates(true);
+        MongoCollection<Document> others = collectionWithDuplicates(false);
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOperations);
+        when(mongoTemplate.getCollectionName(any(Class.class))).thenReturn("collection");
+        when(mongoTemplate.getCollectionName(Order.class)).thenReturn("orders");
+        when(mongoTemplate.getCollection(anyString())).thenReturn(others);
+        when(mongoTemplate.getCollection("orders")).thenReturn(orders);
+
+        // When
+        newConfig(mongoTemplate).ensureIndexes();
+
+        // Then
+        ArgumentCaptor<IndexDefinition> captor = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOperations, atLeastOnce()).ensureIndex(captor.capture());
+        List<String> ensured = keysOf(captor.getAllValues());
+        assertFalse(ensured.contains("{\"orderId\": 1}"));
+        assertTrue(ensured.contains("{\"routeId\": 1}"));
+        assertTrue(ensured.contains("{\"claimToken\": 1}"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEnsureIndexes_LogsInsteadOfFailingWithoutDatabase() {
+        // Given
+        MongoTemplate mongoTemplate = mockMongoTemplate();
+        when(mongoTemplate.indexOps(any(Class.class)))
+                .thenThrow(new DataAccessResourceFailureException("Timed out while waiting to connect"));
+
+        // When & Then
+        assertDoesNotThrow(() -> newConfig(mongoTemplate).ensureIndexes());
+        verify(mongoTemplate, times(1)).indexOps(any(Class.class));
+    }
+
+    private MongoTemplate mockMongoTemplate() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        return mongoTemplate;
+    }
+
+    @SuppressWarnings("unchecked")
+    private MongoCollection<Document> collectionWithDuplicates(boolean duplicates) {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        AggregateIterable<Document> groups = mock(AggregateIterable.class);
+        lenient().when(collection.aggregate(anyList())).thenReturn(groups);
+        lenient().when(groups.allowDiskUse(true)).thenReturn(groups);
+        lenient().when(groups.first()).thenReturn(duplicates ? new Document("count", 2) : null);
+        return collection;
+    }
+
+    private MongoIndexConfig newConfig(MongoTemplate mongoTemplate) {
+        MongoIndexConfig mongoIndexConfig = new MongoIndexConfig();
+        ReflectionTestUtils.setField(mongoIndexConfig, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(mongoIndexConfig, "ensureIndexes", true);
+        return mongoIndexConfig;
+    }
+
+    private List<String> keysOf(List<IndexDefinition> indexes) {
+        return indexes.stream().map(index -> index.getIndexKeys().toJson()).collect(Collectors.toList());
+    }
+
+    private Document optionsOf(List<IndexDefinition> indexes, String field) {
+        return indexes.stream()
+                .filter(index -> index.getIndexKeys().keySet().equals(Set.of(field)))
+                .findFirst()
+                .orElseThrow()
+                .getIndexOptions();
+    }
+}
@@ -0,0 +1,81 @@
+package com.purplemerit.greencartlogistics.controller;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for KeysetPagination
+ */
+class KeysetPaginationTest {
+
+    private final KeysetPagination keysetPagination = new KeysetPagination();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(keysetPagination, "defaultSize", 100);
+        ReflectionTestUtils.setField(keysetPagination, "maxSize", 500);
+    }
+
+    @Test
+    void testPageOf_CapsRequestedSize() {
+        assertEquals(100, keysetPagination.pageOf(null).getPageSize());
+        assertEquals(100, keysetPagination.pageOf(0).getPageSize());
+        assertEquals(20, keysetPagination.pageOf(20).getPageSize());
+        assertEquals(500, keysetPagination.pageOf(100_000).getPageSize());
+    }
+
+    @Test
+    void testToResponse_ReturnsTokenForLastItemWhenMoreFollow() {
+        // Given
+        String first = new ObjectId().toHexString();
+        String last = new ObjectId().toHexString();
+        List<String> ids = Arrays.asList(first, last);
+
+        // When
+        ResponseEntity<List<String>> more = keysetPagination.toResponse(
+                new SliceImpl<>(ids, PageRequest.of(0, 2), true), id -> new String[]{id});
+        ResponseEntity<List<String>> done = keysetPagination.toResponse(
+                new SliceImpl<>(ids, PageRequest.of(0, 2), false), id -> new String[]{id});
+
+        // Then
+        assertEquals(ids, more.getBody());
+        String cursor = more.getHeaders().getFirst(KeysetPagination.NEXT_CURSOR_HEADER);
+        assertEquals(last, keysetPagination.decodeId(cursor));
+        assertFalse(done.getHeaders().containsKey(KeysetPagination.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void testDecode_CompoundKey() {
+        // Given
+        String id = new ObjectId().toHexString();
+        String cursor = KeysetPagination.encode("2024-01-15T09:30:00.123", id);
+
+        // When
+        String[] keys = keysetPagination.decode(cursor, 2);
+
+        // Then
+        assertArrayEquals(new String[]{"2024-01-15T09:30:00.123", id}, keys);
+        assertNull(keysetPagination.decode(null, 2));
+    }
+
+    @Test
+    void testDecode_RejectsTamperedTokens() {
+        String id = new ObjectId().toHexString();
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                keysetPagination.decodeId("not base64!"));
+        assertEquals("Invalid continuation token", exception.getMessage());
+        assertThrows(RuntimeException.class, () -> keysetPagination.decodeId(KeysetPagination.encode("abc")));
+        assertThrows(RuntimeException.class, () -> keysetPagination.decode(KeysetPagination.encode(id), 2));
+    }
+}
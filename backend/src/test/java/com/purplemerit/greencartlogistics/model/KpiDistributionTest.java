@@ -0,0 +1,53 @@
+package com.purplemerit.greencartlogistics.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for KpiDistribution statistics
+ */
+class KpiDistributionTest {
+
+    @Test
+    void testFromSamples_MeanAndSampleStdDev() {
+        // Given
+        double[] samples = {2.0, 4.0, 4.0, 4.0, 5.0, 5.0, 7.0, 9.0};
+
+        // When
+        KpiDistribution distribution = KpiDistribution.fromSamples(samples);
+
+        // Then
+        assertEquals(5.0, distribution.getMean(), 0.0001);
+        assertEquals(Math.sqrt(32.0 / 7), distribution.getStdDev(), 0.0001);
+    }
+
+    @Test
+    void testFromSamples_InterpolatedPercentiles() {
+        // Given
+        double[] samples = new double[101];
+        for (int i = 0; i <= 100; i++) {
+            samples[100 - i] = i; // unsorted input
+        }
+
+        // When
+        KpiDistribution distribution = KpiDistribution.fromSamples(samples);
+
+        // Then
+        assertEquals(5.0, distribution.getP5(), 0.0001);
+        assertEquals(95.0, distribution.getP95(), 0.0001);
+        assertEquals(100.0, samples[0]); // input left untouched
+    }
+
+    @Test
+    void testFromSamples_SingleSample() {
+        // When
+        KpiDistribution distribution = KpiDistribution.fromSamples(new double[]{1250.0});
+
+        // Then
+        assertEquals(1250.0, distribution.getMean());
+        assertEquals(0.0, distribution.getStdDev());
+        assertEquals(1250.0, distribution.getP5());
+        assertEquals(1250.0, distribution.getP95());
+    }
+}
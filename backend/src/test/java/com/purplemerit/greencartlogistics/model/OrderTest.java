@@ -1,5 +1,6 @@
 package com.purplemerit.greencartlogistics.model;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
@@ -127,4 +128,25 @@ class OrderTest {
         assertTrue(result.contains("D001"));
         assertTrue(result.contains("DELIVERED"));
     }
+
+    @Test
+    void testClaimLeaseIsNeitherSerializedNorBound() throws Exception {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        Order order = new Order("ORD001", 1000.0, "R001", LocalDateTime.now());
+        order.setClaimToken("claim-1");
+        order.setClaimExpiresAt(LocalDateTime.now().plusMinutes(5));
+
+        // When
+        String json = objectMapper.writeValueAsString(order);
+        Order bound = objectMapper.readValue(
+                "{\"orderId\": \"ORD002\", \"claimToken\": \"claim-2\", \"claimExpiresAt\": \"2030-01-01T00:00:00\"}",
+                Order.class);
+
+        // Then
+        assertFalse(json.contains("claim"));
+        assertEquals("ORD002", bound.getOrderId());
+        assertNull(bound.getClaimToken());
+        assertNull(bound.getClaimExpiresAt());
+    }
 }
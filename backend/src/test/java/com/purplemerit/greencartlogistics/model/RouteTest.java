@@ -15,7 +15,7 @@ class RouteTest {
         Route route = new Route("R001", 10.0, "Low", 30);
 
         // When
-        Double fuelCost = route.calculateFuelCost();
+        Double fuelCost = route.calculateFuelCost(CompanyRules.original());
 
         // Then
         assertEquals(50.0, fuelCost); // 10km * ₹5/km = ₹50
@@ -27,7 +27,7 @@ class RouteTest {
         Route route = new Route("R002", 15.0, "Medium", 45);
 
         // When
-        Double fuelCost = route.calculateFuelCost();
+        Double fuelCost = route.calculateFuelCost(CompanyRules.original());
 
         // Then
         assertEquals(75.0, fuelCost); // 15km * ₹5/km = ₹75 (no surcharge for medium)
@@ -39,12 +39,26 @@ class RouteTest {
         Route route = new Route("R003", 12.0, "High", 50);
 
         // When
-        Double fuelCost = route.calculateFuelCost();
+        Double fuelCost = route.calculateFuelCost(CompanyRules.original());
 
         // Then
         assertEquals(84.0, fuelCost); // 12km * (₹5 + ₹2)/km = ₹84
     }
 
+    @Test
+    void testCalculateFuelCost_RulesWithoutHighTrafficSurcharge() {
+        // Given
+        Route route = new Route("R003", 12.0, "High", 50);
+        CompanyRules rules = new CompanyRules();
+        rules.getTrafficSurchargePerKm().put("Medium", 1.0);
+
+        // When
+        Double fuelCost = route.calculateFuelCost(rules);
+
+        // Then
+        assertEquals(60.0, fuelCost); // 12km * ₹5/km = ₹60, high traffic is not surcharged
+    }
+
     @Test
     void testRouteCreation() {
         // Given
@@ -0,0 +1,243 @@
+package com.purplemerit.greencartlogistics.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.purplemerit.greencartlogistics.config.MongoIndexConfig;
+import com.purplemerit.greencartlogistics.model.Order;
+import com.purplemerit.greencartlogistics.model.SimulationOrderIdChunk;
+import com.purplemerit.greencartlogistics.service.NdjsonExporter;
+import com.purplemerit.greencartlogistics.service.PendingOrderClaimer;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs every repository query, and the queries services build themselves, against a real MongoDB
+ * carrying the declared indexes, captures each find command the driver sends and explains it,
+ * failing when one would scan a whole collection. OrderRepository.findByIsDeliveredOnTime is left
+ * out: it matches about half the orders, so an index on the flag would not narrow it.
+ *
+ * Needs MONGODB_URI; a scratch database on that server is created and dropped. Skipped without it,
+ * except under the query-plans Maven profile (mvn -Pquery-plans test), which fails instead; the
+ * query-plans workflow runs that profile against a MongoDB service container.
+ */
+class QueryPlanTest {
+
+    private static final String DATABASE = "greencart_query_plan_test";
+
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    // Find commands sent since the last query ran
+    private static final List<BsonDocument> finds = new CopyOnWriteArrayList<>();
+
+    private static MongoClient mongoClient;
+
+    private static MongoTemplate mongoTemplate;
+
+    private static OrderRepository orderRepository;
+
+    private static DriverRepository driverRepository;
+
+    private static RouteRepository routeRepository;
+
+    private static SimulationResultRepository simulationResultRepository;
+
+    private static SimulationOrderIdChunkRepository simulationOrderIdChunkRepository;
+
+    private static UserRepository userRepository;
+
+    private static PendingOrderClaimer pendingOrderClaimer;
+
+    private static NdjsonExporter ndjsonExporter;
+
+    @BeforeAll
+    static void createIndexes() {
+        String uri = System.getenv("MONGODB_URI");
+        if (Boolean.getBoolean("queryPlans.required")) {
+            assertTrue(uri != null && !uri.isBlank(), "The query-plans profile needs MONGODB_URI");
+        }
+        assumeTrue(uri != null && !uri.isBlank(), "MONGODB_URI is not set");
+
+        CommandListener captureFinds = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                if ("find".equals(event.getCommandName())) {
+                    finds.add(event.getCommand().clone());
+                }
+            }
+        };
+        mongoClient = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .addCommandListener(captureFinds)
+                .build());
+        mongoTemplate = new MongoTemplate(mongoClient, DATABASE);
+        MongoIndexConfig mongoIndexConfig = new MongoIndexConfig();
+        ReflectionTestUtils.setField(mongoIndexConfig, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(mongoIndexConfig, "ensureIndexes", true);
+        mongoIndexConfig.ensureIndexes();
+
+        MongoRepositoryFactory repositoryFactory = new MongoRepositoryFactory(mongoTemplate);
+        orderRepository = repositoryFactory.getRepository(OrderRepository.class);
+        driverRepository = repositoryFactory.getRepository(DriverRepository.class);
+        routeRepository = repositoryFactory.getRepository(RouteRepository.class);
+        simulationResultRepository = repositoryFactory.getRepository(SimulationResultRepository.class);
+        simulationOrderIdChunkRepository = repositoryFactory.getRepository(SimulationOrderIdChunkRepository.class);
+        userRepository = repositoryFactory.getRepository(UserRepository.class);
+
+        pendingOrderClaimer = new PendingOrderClaimer();
+        ReflectionTestUtils.setField(pendingOrderClaimer, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(pendingOrderClaimer, "batchSize", 1000);
+        ReflectionTestUtils.setField(pendingOrderClaimer, "leaseSeconds", 600L);
+        ndjsonExporter = new NdjsonExporter();
+        ReflectionTestUtils.setField(ndjsonExporter, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(ndjsonExporter, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(ndjsonExporter, "batchSize", 1000);
+
+        // One pending order, so a claim goes on to re-read the orders it won
+        mongoTemplate.insert(new Order("ORD001", 500.0, "R001", null));
+    }
+
+    @AfterAll
+    static void dropDatabase() {
+        if (mongoTemplate != null) {
+            mongoTemplate.getDb().drop();
+        }
+        if (mongoClient != null) {
+            mongoClient.close();
+        }
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        ObjectId id = new ObjectId();
+        LocalDateTime now = LocalDateTime.now();
+
+        return Stream.of(
+                query("OrderRepository.findByOrderId", () -> orderRepository.findByOrderId("ORD001")),
+                query("OrderRepository.findByStatus", () -> orderRepository.findByStatus(Order.OrderStatus.PENDING)),
+                query("OrderRepository.findByAssignedDriverId",
+                        () -> orderRepository.findByAssignedDriverId(id.toHexString())),
+                query("OrderRepository.findByAssignedRouteId", () -> orderRepository.findByAssignedRouteId("R001")),
+                query("OrderRepository.findByIdGreaterThanOrderByIdAsc",
+                        () -> orderRepository.findByIdGreaterThanOrderByIdAsc(id.toHexString(), PAGE)),
+                query("PendingOrderClaimer.claim", () -> pendingOrderClaimer.claim("query-plan", 1.0, routeId -> 1.0)),
+                query("NdjsonExporter.exportOrders by status", () -> {
+                    try {
+                        ndjsonExporter.exportOrders(Order.OrderStatus.DELIVERED, null, null, null, null,
+                                new ByteArrayOutputStream());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }),
+                query("DriverRepository.findByIsActiveTrue", () -> driverRepository.findByIsActiveTrue()),
+                query("DriverRepository.findByIsActiveTrueOrderByCurrentShiftHours",
+                        () -> driverRepository.findByIsActiveTrueOrderByCurrentShiftHours()),
+                query("RouteRepository.findByIsActiveTrue", () -> routeRepository.findByIsActiveTrue()),
+                query("RouteRepository.findByRouteId", () -> routeRepository.findByRouteId("R001")),
+                query("RouteRepository.findByTrafficLevel", () -> routeRepository.findByTrafficLevel("High")),
+                query("RouteRepository.findByIsActiveTrueOrderByDistanceKm",
+                        () -> routeRepository.findByIsActiveTrueOrderByDistanceKm()),
+                query("SimulationResultRepository.findTopByOrderBySimulationTimestampDesc",
+                        () -> simulationResultRepository.findTopByOrderBySimulationTimestampDesc()),
+                query("SimulationResultRepository.findSummariesByOrderBySimulationTimestampDescIdDesc",
+                        () -> simulationResultRepository.findSummariesByOrderBySimulationTimestampDescIdDesc(PAGE)),
+                query("SimulationResultRepository.findSummariesBefore",
+                        () -> simulationResultRepository.findSummariesBefore(now, id, PAGE)),
+                query("SimulationResultRepository.findSummariesBySimulatedByOrderBySimulationTimestampDescIdDesc",
+                        () -> simulationResultRepository
+                                .findSummariesBySimulatedByOrderBySimulationTimestampDescIdDesc("user1", PAGE)),
+                query("SimulationResultRepository.findSummariesBefore by user",
+                        () -> simulationResultRepository.findSummariesBefore("user1", now, id, PAGE)),
+                query("SimulationResultRepository.findSummariesBySimulationTimestampBetween...",
+                        () -> simulationResultRepository
+                                .findSummariesBySimulationTimestampBetweenOrderBySimulationTimestampDescIdDesc(
+                                        now.minusDays(1), now, PAGE)),
+                query("SimulationOrderIdChunkRepository.findBySimulationIdAndKindOrderBySequence",
+                        () -> simulationOrderIdChunkRepository.findBySimulationIdAndKindOrderBySequence(
+                                id.toHexString(), SimulationOrderIdChunk.Kind.INPUT)),
+                query("UserRepository.findByUsername", () -> userRepository.findByUsername("admin")),
+                query("UserRepository.findByEmail", () -> userRepository.findByEmail("admin@greencart.com"))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void testQueryIsAnsweredFromAnIndex(String name, Runnable query) {
+        // Given
+        finds.clear();
+
+        // When
+        query.run();
+
+        // Then: every find the query sent is answered from an index
+        List<BsonDocument> sent = new ArrayList<>(finds);
+        assertFalse(sent.isEmpty(), name + " sent no find command");
+        for (BsonDocument find : sent) {
+            Document winningPlan = explain(find).get("queryPlanner", Document.class)
+                    .get("winningPlan", Document.class);
+            assertFalse(containsStage(winningPlan, "COLLSCAN"),
+                    name + " scans " + find.getString("find").getValue() + ": " + winningPlan.toJson());
+        }
+    }
+
+    private static Arguments query(String name, Runnable query) {
+        return Arguments.of(name, query);
+    }
+
+    /**
+     * Explain a captured find, keeping only the parts that shape its plan
+     */
+    private static Document explain(BsonDocument find) {
+        BsonDocument command = new BsonDocument("find", find.get("find"));
+        for (String field : List.of("filter", "sort", "projection", "hint", "skip", "limit")) {
+            if (find.containsKey(field)) {
+                command.append(field, find.get(field));
+            }
+        }
+        return mongoTemplate.getDb().runCommand(
+                new BsonDocument("explain", command).append("verbosity", new BsonString("queryPlanner")));
+    }
+
+    /**
+     * Search a plan tree, including nested input stages and $or branches, for a stage
+     */
+    private static boolean containsStage(Object plan, String stage) {
+        if (plan instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (plan instanceof List<?> list) {
+            return list.stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+}
@@ -0,0 +1,128 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.dto.DeliveryPerformance;
+import com.purplemerit.greencartlogistics.dto.DeliveryTotals;
+import com.purplemerit.greencartlogistics.model.Order;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypeBasedAggregationOperationContext;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DeliveryPerformanceService
+ */
+@ExtendWith(MockitoExtension.class)
+class DeliveryPerformanceServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private DeliveryPerformanceService deliveryPerformanceService;
+
+    @Test
+    void testPipeline_GroupsDeliveredOrdersInOnePass() {
+        // Given: the orders collection's mapping, as MongoTemplate renders typed aggregations
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(Collections.emptyList()).getSimpleTypeHolder());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+
+        // When
+        List<Document> stages = deliveryPerformanceService.pipeline(ZoneId.of("Asia/Kolkata"))
+                .toPipeline(new TypeBasedAggregationOperationContext(Order.class, mappingContext,
+                        new QueryMapper(converter)));
+
+        // Then
+        assertEquals(3, stages.size());
+        assertEquals(new Document("status", "DELIVERED"), stages.get(0).get("$match"));
+        Document day = stages.get(1).get("$project", Document.class).get("day", Document.class);
+        assertEquals("Asia/Kolkata", day.get("$dateToString", Document.class).get("timezone"));
+        Document facets = stages.get(2).get("$facet", Document.class);
+        assertEquals(Arrays.asList("overall", "byRoute", "byTrafficLevel", "byDriver", "byDay"),
+                List.copyOf(facets.keySet()));
+        List<Document> byTrafficLevel = facets.getList("byTrafficLevel", Document.class);
+        assertEquals("routes", byTrafficLevel.get(1).get("$lookup", Document.class).get("from"));
+        assertEquals("$route.trafficLevel", byTrafficLevel.get(3).get("$group", Document.class).get("_id"));
+        Document onTime = facets.getList("overall", Document.class).get(0).get("$group", Document.class)
+                .get("onTimeDeliveries", Document.class);
+        assertTrue(onTime.toJson().contains("$isDeliveredOnTime"));
+    }
+
+    @Test
+    void testGetDeliveryPerformance_MapsFacetTotals() {
+        // Given
+        Document facets = new Document("overall", List.of(group(null, 3, 1, 2500.0)))
+                .append("byRoute", List.of(group("R001", 3, 0, 2000.0), group("R002", 0, 1, 500.0)))
+                .append("byTrafficLevel", List.of(group("High", 3, 1, 2500.0)))
+                .append("byDriver", List.of(group("d1", 3, 1, 2500.0)))
+                .append("byDay", List.of(group("2024-01-15", 3, 1, 2500.0)));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Order.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(facets), new Document()));
+
+        // When
+        DeliveryPerformance performance = deliveryPerformanceService.getDeliveryPerformance();
+
+        // Then
+        assertEquals(3, performance.getOnTimeDeliveries());
+        assertEquals(1, performance.getLateDeliveries());
+        assertEquals(4, performance.getTotalDeliveries());
+        assertEquals(75.0, performance.getEfficiencyScore(), 0.001);
+        assertNull(performance.getOverall().getKey());
+        DeliveryTotals route = performance.getByRoute().get(1);
+        assertEquals("R002", route.getKey());
+        assertEquals(0.0, route.getEfficiencyScore(), 0.001);
+        assertEquals(500.0, route.getTotalProfit(), 0.001);
+        assertEquals(50.0, route.getTotalPenalties(), 0.001);
+        assertEquals("2024-01-15", performance.getByDay().get(0).getKey());
+        verify(mongoTemplate, times(1)).aggregate(any(Aggregation.class), eq(Order.class), eq(Document.class));
+    }
+
+    @Test
+    void testGetDeliveryPerformance_NoDeliveredOrders() {
+        // Given: $facet still returns one document, with empty groups
+        Document facets = new Document("overall", Collections.emptyList())
+                .append("byRoute", Collections.emptyList());
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Order.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(facets), new Document()));
+
+        // When
+        DeliveryPerformance performance = deliveryPerformanceService.getDeliveryPerformance();
+
+        // Then
+        assertEquals(0, performance.getTotalDeliveries());
+        assertEquals(0.0, performance.getEfficiencyScore(), 0.001);
+        assertTrue(performance.getByRoute().isEmpty());
+        assertTrue(performance.getByDay().isEmpty());
+    }
+
+    private Document group(String key, int onTime, int late, double profit) {
+        return new Document("_id", key)
+                .append("onTimeDeliveries", onTime)
+                .append("lateDeliveries", late)
+                .append("totalProfit", profit)
+                .append("totalFuelCost", 50.0 * (onTime + late))
+                .append("totalPenalties", 50.0 * late)
+                .append("totalBonuses", 0);
+    }
+}
@@ -0,0 +1,97 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.model.AllocationStrategy;
+import com.purplemerit.greencartlogistics.model.Driver;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DriverAllocator strategies
+ */
+class DriverAllocatorTest {
+
+    private static final double FATIGUE_FACTOR = 1.3;
+
+    @Test
+    void testRoundRobin_SkipsOrderWhenChosenDriverIsFull() {
+        // Given
+        DriverAllocator allocator = DriverAllocator.create(AllocationStrategy.ROUND_ROBIN,
+                drivers(false, false), 1.0, FATIGUE_FACTOR);
+
+        // When & Then
+        assertEquals(0, assignNext(allocator, 50 / 60.0));
+        assertEquals(1, assignNext(allocator, 10 / 60.0));
+        assertEquals(-1, assignNext(allocator, 50 / 60.0)); // driver 0 is out of hours, driver 1 is not asked
+        assertEquals(1, assignNext(allocator, 10 / 60.0));
+    }
+
+    @Test
+    void testLeastLoaded_PicksDriverWithFewestHours() {
+        // Given
+        DriverAllocator allocator = DriverAllocator.create(AllocationStrategy.LEAST_LOADED,
+                drivers(false, false, false), 8.0, FATIGUE_FACTOR);
+
+        // When
+        assignNext(allocator, 3.0);
+        assignNext(allocator, 1.0);
+        assignNext(allocator, 2.0);
+
+        // Then
+        assertEquals(1, allocator.select(0, 1.0)); // 1h is the lightest load
+        assignNext(allocator, 1.5);
+        assertEquals(2, allocator.select(0, 1.0)); // now 3.0 / 2.5 / 2.0
+    }
+
+    @Test
+    void testLeastLoaded_UsesOtherDriversWithSpareHours() {
+        // Given
+        DriverAllocator allocator = DriverAllocator.create(AllocationStrategy.LEAST_LOADED,
+                drivers(false, false), 1.0, FATIGUE_FACTOR);
+
+        // When & Then
+        assertEquals(0, assignNext(allocator, 50 / 60.0));
+        assertEquals(1, assignNext(allocator, 10 / 60.0));
+        assertEquals(1, assignNext(allocator, 50 / 60.0));
+        assertEquals(0, assignNext(allocator, 10 / 60.0));
+        assertEquals(-1, allocator.select(0, 10 / 60.0)); // everyone is full
+    }
+
+    @Test
+    void testLeastLoaded_AppliesFatigueWhenCheckingFit() {
+        // Given
+        DriverAllocator allocator = DriverAllocator.create(AllocationStrategy.LEAST_LOADED,
+                drivers(true, false), 2.0, FATIGUE_FACTOR);
+
+        // When
+        assignNext(allocator, 1.0); // goes to the rested driver on a tie
+        int fatiguedPick = assignNext(allocator, 1.5); // 1.5 × 1.3 = 1.95 still fits the fatigued driver
+
+        // Then
+        assertEquals(0, fatiguedPick);
+        assertEquals(1.95, allocator.hoursOf(0), 0.0001);
+        assertEquals(-1, allocator.select(0, 1.5)); // 1.0 + 1.5 and 1.95 + 1.95 both exceed 2h
+        assertEquals(1, allocator.select(0, 1.0));
+    }
+
+    private int assignNext(DriverAllocator allocator, double baseHours) {
+        int driver = allocator.select(0, baseHours);
+        if (driver >= 0) {
+            allocator.assign(driver, allocator.hoursNeeded(driver, baseHours));
+        }
+        return driver;
+    }
+
+    private List<Driver> drivers(boolean... fatigued) {
+        Driver[] drivers = new Driver[fatigued.length];
+        for (int i = 0; i < fatigued.length; i++) {
+            drivers[i] = new Driver("Driver " + i, 4.0, 35.0);
+            drivers[i].setId(String.valueOf(i));
+            drivers[i].setHasFatiguePenalty(fatigued[i]);
+        }
+        return Arrays.asList(drivers);
+    }
+}
@@ -0,0 +1,73 @@
+package com.purplemerit.greencartlogistics.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EventQueue
+ */
+class EventQueueTest {
+
+    @Test
+    void testPoll_ReturnsEventsInTimeOrder() {
+        // Given
+        EventQueue queue = new EventQueue(2);
+        queue.push(300, 3);
+        queue.push(100, 1);
+        queue.push(200, 2);
+
+        // When & Then
+        assertEquals(100, queue.peekTime());
+        assertEquals(1, queue.poll());
+        assertEquals(2, queue.poll());
+        assertEquals(3, queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testPoll_SameTimeEventsComeOutInInsertionOrder() {
+        // Given
+        EventQueue queue = new EventQueue();
+        for (int payload = 0; payload < 100; payload++) {
+            queue.push(60, payload);
+        }
+
+        // When & Then
+        for (int payload = 0; payload < 100; payload++) {
+            assertEquals(payload, queue.poll());
+        }
+    }
+
+    @Test
+    void testPoll_MillionsOfRandomEventsStayOrdered() {
+        // Given
+        SplittableRandom random = new SplittableRandom(1L);
+        EventQueue queue = new EventQueue();
+        for (int i = 0; i < 2_000_000; i++) {
+            queue.push(random.nextInt(86_400), i);
+        }
+
+        // When & Then
+        long previous = -1;
+        while (!queue.isEmpty()) {
+            long time = queue.peekTime();
+            queue.poll();
+            assertTrue(time >= previous);
+            previous = time;
+        }
+    }
+
+    @Test
+    void testPoll_EmptyQueueThrows() {
+        // Given
+        EventQueue queue = new EventQueue();
+
+        // When & Then
+        assertThrows(NoSuchElementException.class, queue::poll);
+        assertThrows(IllegalArgumentException.class, () -> queue.push(-1, 0));
+    }
+}
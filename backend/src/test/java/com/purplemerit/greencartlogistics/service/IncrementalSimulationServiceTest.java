@@ -0,0 +1,344 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.dto.SimulationRequest;
+import com.purplemerit.greencartlogistics.model.Driver;
+import com.purplemerit.greencartlogistics.model.DriverBreakdown;
+import com.purplemerit.greencartlogistics.model.Order;
+import com.purplemerit.greencartlogistics.model.Route;
+import com.purplemerit.greencartlogistics.model.SimulationResult;
+import com.purplemerit.greencartlogistics.model.WarehouseBreakdown;
+import com.purplemerit.greencartlogistics.repository.RouteRepository;
+import com.purplemerit.greencartlogistics.repository.SimulationResultRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for IncrementalSimulationService. Edits that leave the dispatch order alone must match
+ * a full rerun of the same seed; edits that move delivery times keep each order's simulated jitter.
+ */
+@ExtendWith(MockitoExtension.class)
+class IncrementalSimulationServiceTest {
+
+    private static final long SEED = 7L;
+
+    private static final LocalDate SIMULATION_DATE = LocalDate.of(2024, 1, 15);
+
+    @Mock
+    private SimulationResultRepository simulationResultRepository;
+
+    @Mock
+    private RouteRepository routeRepository;
+
+    @Mock
+    private OrderOutcomeWriter orderOutcomeWriter;
+
+    @InjectMocks
+    private IncrementalSimulationService incrementalSimulationService;
+
+    private final SimulationEngine simulationEngine = new SimulationEngine();
+
+    private final SimulationRequest request = new SimulationRequest(3, LocalTime.of(9, 0), 8);
+
+    private List<Driver> drivers;
+
+    private List<Route> routes;
+
+    private List<Order> orders;
+
+    private SimulationResult stored;
+
+    private List<OrderOutcome> simulated;
+
+    @BeforeEach
+    void setUp() {
+        drivers = Arrays.asList(createDriver("1", false), createDriver("2", false), createDriver("3", true));
+        routes = Arrays.asList(
+                new Route("R001", 10.0, "Low", 30),
+                new Route("R002", 15.0, "High", 45),
+                new Route("R003", 8.0, "Medium", 25)
+        );
+        orders = createOrders();
+
+        SimulationSnapshot snapshot = new SimulationSnapshot(drivers, routes, orders, SIMULATION_DATE);
+        SimulationOutcome outcome = simulationEngine.run(snapshot, request, new SplittableRandom(SEED));
+        stored = new SimulationResult(3, LocalTime.of(9, 0), 8);
+        stored.setId("sim1");
+        stored.setSimulationDate(SIMULATION_DATE);
+        outcome.getKpis().applyTo(stored);
+        stored.setDriverBreakdown(outcome.getDriverBreakdown());
+        simulated = outcome.getOrderOutcomes();
+        incrementalSimulationService.register(stored, snapshot, simulated);
+    }
+
+    @Test
+    void testRouteUpdated_PatchesKpisLikeFullRerun() {
+        // Given: R002 gets longer and its traffic clears
+        givenStoredSimulationIsLatest();
+        Route edited = new Route("R002", 20.0, "Low", 45);
+
+        // When
+        Optional<SimulationResult> patched = incrementalSimulationService.routeUpdated("R002", edited);
+
+        // Then
+        SimulationOutcome rerun = rerun(Arrays.asList(routes.get(0), edited, routes.get(2)), drivers, createOrders());
+        assertTrue(patched.isPresent());
+        assertKpisMatch(rerun.getKpis(), patched.get());
+        assertEquals(rerun.getKpis().getFuelCostBreakdown().get("Low"),
+                patched.get().getFuelCostBreakdown().get("Low"), 0.001);
+        assertEquals(0.0, patched.get().getFuelCostBreakdown().get("High"), 0.001);
+        for (int d = 0; d < 3; d++) {
+            assertEquals(rerun.getDriverBreakdown().get(d).getTotalProfit(),
+                    patched.get().getDriverBreakdown().get(d).getTotalProfit(), 0.001);
+        }
+        assertEquals(4, writtenOutcomes().size()); // only the orders on R002 change
+    }
+
+    @Test
+    void testRouteUpdated_MovesOrdersToTheRoutesNewWarehouse() {
+        // Given: R001 and R002 start at North and R003 at South, then R002 moves to South
+        Route r001 = new Route("R001", 10.0, "Low", 30);
+        Route r002 = new Route("R002", 15.0, "High", 45);
+        Route r003 = new Route("R003", 8.0, "Medium", 25);
+        r001.setStartLocation("North");
+        r002.setStartLocation("North");
+        r003.setStartLocation("South");
+        List<Route> warehouseRoutes = Arrays.asList(r001, r002, r003);
+        SimulationSnapshot snapshot = new SimulationSnapshot(drivers, warehouseRoutes, orders, SIMULATION_DATE);
+        SimulationOutcome outcome = simulationEngine.run(snapshot, request, new SplittableRandom(SEED));
+        stored.setWarehouseBreakdown(warehouseBreakdown(outcome.getOrderOutcomes(), warehouseRoutes));
+        incrementalSimulationService.register(stored, snapshot, outcome.getOrderOutcomes());
+        givenStoredSimulationIsLatest();
+        Route moved = new Route("R002", 15.0, "High", 45);
+        moved.setStartLocation("South");
+
+        // When
+        Optional<SimulationResult> patched = incrementalSimulationService.routeUpdated("R002", moved);
+
+        // Then
+        List<Route> editedRoutes = Arrays.asList(r001, moved, r003);
+        List<WarehouseBreakdown> expected = warehouseBreakdown(
+                rerun(editedRoutes, drivers, createOrders()).getOrderOutcomes(), editedRoutes);
+        assertTrue(patched.isPresent());
+        List<WarehouseBreakdown> actual = patched.get().getWarehouseBreakdown();
+        assertEquals(expected.size(), actual.size());
+        for (int w = 0; w < expected.size(); w++) {
+            assertEquals(expected.get(w).getWarehouse(), actual.get(w).getWarehouse());
+            assertEquals(expected.get(w).getTotalDeliveries(), actual.get(w).getTotalDeliveries());
+            assertEquals(expected.get(w).getOnTimeDeliveries(), actual.get(w).getOnTimeDeliveries());
+            assertEquals(expected.get(w).getTotalProfit(), actual.get(w).getTotalProfit(), 0.001);
+            assertEquals(expected.get(w).getTotalFuelCost(), actual.get(w).getTotalFuelCost(), 0.001);
+        }
+    }
+
+    @Test
+    void testRouteUpdated_ReplaysDeliveryTimesOfAffectedDrivers() {
+        // Given: R003 takes 30 minutes longer
+        givenStoredSimulationIsLatest();
+        Route edited = new Route("R003", 8.0, "Medium", 55);
+
+        // When
+        incrementalSimulationService.routeUpdated("R003", edited);
+
+        // Then: R003 deliveries keep their jitter, and so their on-time status, but their drivers finish later
+        Map<String, OrderOutcome> before = simulated.stream()
+                .collect(Collectors.toMap(outcome -> outcome.getOrder().getId(), outcome -> outcome));
+        List<OrderOutcome> written = writtenOutcomes();
+        assertFalse(written.isEmpty());
+        for (OrderOutcome outcome : written) {
+            OrderOutcome previous = before.get(outcome.getOrder().getId());
+            assertEquals(previous.getDriverId(), outcome.getDriverId());
+            assertTrue(outcome.getDeliveryTimestamp().isAfter(previous.getDeliveryTimestamp()));
+            if ("R003".equals(outcome.getOrder().getAssignedRouteId())) {
+                assertEquals(previous.getActualTimeMinutes() + 30, outcome.getActualTimeMinutes());
+                assertEquals(previous.isDeliveredOnTime(), outcome.isDeliveredOnTime());
+            }
+        }
+    }
+
+    @Test
+    void testOrderUpdated_PatchesKpisWithoutRewritingTheOrder() {
+        // Given: a delivered order crosses the high-value threshold
+        givenStoredSimulationIsLatest();
+        Order edited = createOrders().get(1);
+        edited.setValueRs(1800.0);
+        edited.setStatus(Order.OrderStatus.DELIVERED);
+        edited.setBonus(25.0);
+        when(routeRepository.findByRouteId(edited.getAssignedRouteId()))
+                .thenReturn(Optional.of(routes.get(2)));
+
+        // When
+        Optional<SimulationResult> patched = incrementalSimulationService.orderUpdated(edited);
+
+        // Then: the KPIs follow the new value, the order keeps what the user saved
+        List<Order> rerunOrders = createOrders();
+        rerunOrders.get(1).setValueRs(1800.0);
+        SimulationOutcome rerun = rerun(routes, drivers, rerunOrders);
+        assertTrue(patched.isPresent());
+        assertKpisMatch(rerun.getKpis(), patched.get());
+        assertEquals(25.0, edited.getBonus(), 0.001);
+        assertEquals(Order.OrderStatus.DELIVERED, edited.getStatus());
+        verify(orderOutcomeWriter, never()).write(argThat(outcomes -> outcomes.stream()
+                .anyMatch(outcome -> edited.getId().equals(outcome.getOrder().getId()))));
+    }
+
+    @Test
+    void testOrderUpdated_CancelledOrderDropsTheIndex() {
+        // Given
+        when(simulationResultRepository.findTopByOrderBySimulationTimestampDesc()).thenReturn(stored);
+        Order edited = createOrders().get(1);
+        edited.setStatus(Order.OrderStatus.CANCELLED);
+
+        // When
+        Optional<SimulationResult> patched = incrementalSimulationService.orderUpdated(edited);
+        Optional<SimulationResult> later = incrementalSimulationService.routeUpdated("R002",
+                new Route("R002", 20.0, "Low", 45));
+
+        // Then: the order stays cancelled and nothing is patched until a full rerun
+        assertTrue(patched.isEmpty());
+        assertTrue(later.isEmpty());
+        assertEquals(Order.OrderStatus.CANCELLED, edited.getStatus());
+        verifyNoInteractions(orderOutcomeWriter, routeRepository);
+        verify(simulationResultRepository, never()).save(any(SimulationResult.class));
+    }
+
+    @Test
+    void testDriverUpdated_ReplaysDeliveryTimesOnly() {
+        // Given: driver 1 turns out to be fatigued
+        givenStoredSimulationIsLatest();
+        double profit = stored.getTotalProfit();
+        double hoursUsed = stored.getDriverBreakdown().get(0).getHoursUsed();
+
+        // When
+        Optional<SimulationResult> patched = incrementalSimulationService.driverUpdated(createDriver("1", true));
+
+        // Then: the same deliveries, each taking 1.3× as long
+        assertTrue(patched.isPresent());
+        assertEquals(profit, patched.get().getTotalProfit(), 0.001);
+        DriverBreakdown driver = patched.get().getDriverBreakdown().get(0);
+        assertTrue(driver.isHasFatiguePenalty());
+        assertEquals(hoursUsed * 1.3, driver.getHoursUsed(), 1e-9);
+        assertEquals(8 - driver.getHoursUsed(), driver.getIdleHours(), 1e-9);
+        LocalDateTime clock = SIMULATION_DATE.atTime(9, 0);
+        for (OrderOutcome outcome : writtenOutcomes()) {
+            assertEquals("1", outcome.getDriverId());
+            clock = clock.plusSeconds(SimulationEngine.travelSeconds(outcome.getActualTimeMinutes() / 60.0 * 1.3));
+            assertEquals(clock, outcome.getDeliveryTimestamp());
+        }
+    }
+
+    @Test
+    void testRouteUpdated_IgnoredOnceNewerSimulationExists() {
+        // Given
+        SimulationResult newer = new SimulationResult(3, LocalTime.of(9, 0), 8);
+        newer.setId("sim2");
+        when(simulationResultRepository.findTopByOrderBySimulationTimestampDesc()).thenReturn(newer);
+
+        // When
+        Optional<SimulationResult> patched = incrementalSimulationService.routeUpdated("R002",
+                new Route("R002", 20.0, "Low", 45));
+
+        // Then
+        assertTrue(patched.isEmpty());
+        verifyNoInteractions(orderOutcomeWriter);
+        verify(simulationResultRepository, never()).save(any(SimulationResult.class));
+    }
+
+    private void givenStoredSimulationIsLatest() {
+        when(simulationResultRepository.findTopByOrderBySimulationTimestampDesc()).thenReturn(stored);
+        when(simulationResultRepository.findById("sim1")).thenReturn(Optional.of(stored));
+        when(simulationResultRepository.save(any(SimulationResult.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private SimulationOutcome rerun(List<Route> routes, List<Driver> drivers, List<Order> orders) {
+        return simulationEngine.run(new SimulationSnapshot(drivers, routes, orders, SIMULATION_DATE),
+                request, new SplittableRandom(SEED));
+    }
+
+    private void assertKpisMatch(KpiAccumulator expected, SimulationResult actual) {
+        assertEquals(expected.getTotalProfit(), actual.getTotalProfit(), 0.001);
+        assertEquals(expected.getTotalFuelCost(), actual.getTotalFuelCost(), 0.001);
+        assertEquals(expected.getTotalBonuses(), actual.getTotalBonuses(), 0.001);
+        assertEquals(expected.getTotalPenalties(), actual.getTotalPenalties(), 0.001);
+        assertEquals(expected.getOnTimeDeliveries(), actual.getOnTimeDeliveries());
+        assertEquals(expected.getEfficiencyScore(), actual.getEfficiencyScore(), 0.001);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OrderOutcome> writtenOutcomes() {
+        ArgumentCaptor<List<OrderOutcome>> captor = ArgumentCaptor.forClass(List.class);
+        verify(orderOutcomeWriter).write(captor.capture());
+        return captor.getValue();
+    }
+
+    private Map<String, LocalDateTime> deliveryTimes(List<OrderOutcome> outcomes) {
+        return outcomes.stream().collect(Collectors.toMap(outcome -> outcome.getOrder().getId(),
+                OrderOutcome::getDeliveryTimestamp));
+    }
+
+    private List<WarehouseBreakdown> warehouseBreakdown(List<OrderOutcome> outcomes, List<Route> routes) {
+        Map<String, WarehouseBreakdown> breakdowns = new TreeMap<>();
+        for (OrderOutcome outcome : outcomes) {
+            String warehouse = routes.stream()
+                    .filter(route -> route.getRouteId().equals(outcome.getOrder().getAssignedRouteId()))
+                    .findFirst().get().getStartLocation();
+            WarehouseBreakdown breakdown = breakdowns.computeIfAbsent(warehouse, key -> {
+                WarehouseBreakdown created = new WarehouseBreakdown(key, 1, 0);
+                created.setTotalDeliveries(0);
+                created.setOnTimeDeliveries(0);
+                created.setLateDeliveries(0);
+                created.setTotalProfit(0.0);
+                created.setTotalFuelCost(0.0);
+                return created;
+            });
+            breakdown.setTotalDeliveries(breakdown.getTotalDeliveries() + 1);
+            if (outcome.isDeliveredOnTime()) {
+                breakdown.setOnTimeDeliveries(breakdown.getOnTimeDeliveries() + 1);
+            } else {
+                breakdown.setLateDeliveries(breakdown.getLateDeliveries() + 1);
+            }
+            breakdown.setTotalProfit(breakdown.getTotalProfit() + outcome.getProfit());
+            breakdown.setTotalFuelCost(breakdown.getTotalFuelCost() + outcome.getFuelCost());
+        }
+        return new ArrayList<>(breakdowns.values());
+    }
+
+    private List<Order> createOrders() {
+        List<Order> created = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            Order order = new Order("ORD" + i, 400.0 + 100 * i, "R00" + (i % 3 + 1), null);
+            order.setId(String.valueOf(i));
+            created.add(order);
+        }
+        return created;
+    }
+
+    private Driver createDriver(String id, boolean hasFatiguePenalty) {
+        Driver driver = new Driver("Driver " + id, 4.0, 35.0);
+        driver.setId(id);
+        driver.setHasFatiguePenalty(hasFatiguePenalty);
+        return driver;
+    }
+}
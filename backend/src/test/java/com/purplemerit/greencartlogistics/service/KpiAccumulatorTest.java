@@ -0,0 +1,96 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.model.Order;
+import com.purplemerit.greencartlogistics.model.SimulationResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for KpiAccumulator
+ */
+class KpiAccumulatorTest {
+
+    @Test
+    void testAccept_MixedOnTimeAndLateDeliveries() {
+        // Given
+        KpiAccumulator kpis = new KpiAccumulator();
+
+        // When
+        kpis.accept(createOutcome(1200.0, true, 0.0, 120.0, 50.0), "Low");
+        kpis.accept(createOutcome(800.0, false, 50.0, 0.0, 105.0), "High");
+        kpis.accept(createOutcome(500.0, true, 0.0, 0.0, 40.0), "Low");
+
+        // Then
+        assertEquals(3, kpis.getTotalDeliveries());
+        assertEquals(2, kpis.getOnTimeDeliveries());
+        assertEquals(1, kpis.getLateDeliveries());
+        assertEquals(50.0, kpis.getTotalPenalties());
+        assertEquals(120.0, kpis.getTotalBonuses());
+        assertEquals(195.0, kpis.getTotalFuelCost());
+        assertEquals(2500.0 + 120.0 - 50.0 - 195.0, kpis.getTotalProfit());
+        assertEquals(2.0 / 3 * 100, kpis.getEfficiencyScore(), 0.0001);
+        assertEquals(90.0, kpis.getFuelCostBreakdown().get("Low"));
+        assertEquals(105.0, kpis.getFuelCostBreakdown().get("High"));
+    }
+
+    @Test
+    void testApplyTo_EmptyAccumulator() {
+        // Given
+        SimulationResult result = new SimulationResult(2, LocalTime.of(9, 0), 8);
+
+        // When
+        new KpiAccumulator().applyTo(result);
+
+        // Then
+        assertEquals(0.0, result.getTotalProfit());
+        assertEquals(0.0, result.getEfficiencyScore());
+        assertEquals(0, result.getTotalDeliveries());
+        assertTrue(result.getFuelCostBreakdown().isEmpty());
+    }
+
+    @Test
+    void testCopy_UnaffectedByLaterDeliveries() {
+        // Given
+        KpiAccumulator kpis = new KpiAccumulator();
+        kpis.accept(createOutcome(1200.0, true, 0.0, 120.0, 50.0), "Low");
+
+        // When
+        KpiAccumulator copy = kpis.copy();
+        kpis.accept(createOutcome(800.0, false, 50.0, 0.0, 105.0), "High");
+
+        // Then
+        assertEquals(1, copy.getTotalDeliveries());
+        assertEquals(1270.0, copy.getTotalProfit());
+        assertNull(copy.getFuelCostBreakdown().get("High"));
+        assertEquals(2, kpis.getTotalDeliveries());
+    }
+
+    @Test
+    void testAccept_IndexedTrafficLevelsMergeWithNamedOnes() {
+        // Given
+        KpiAccumulator kpis = new KpiAccumulator(new String[]{"Low", "High"});
+        KpiAccumulator other = new KpiAccumulator();
+        other.accept(createOutcome(500.0, true, 0.0, 0.0, 40.0), "Low");
+
+        // When
+        kpis.accept(1200.0 + 120.0 - 50.0, 0.0, 120.0, 50.0, true, 0);
+        kpis.accept(800.0 - 50.0 - 105.0, 50.0, 0.0, 105.0, false, 1);
+        kpis.merge(other);
+        kpis.accept(0.0 - 5.0, 0.0, 0.0, 5.0, true, 1);
+
+        // Then
+        assertEquals(4, kpis.getTotalDeliveries());
+        assertEquals(200.0, kpis.getTotalFuelCost());
+        assertEquals(90.0, kpis.getFuelCostBreakdown().get("Low"));
+        assertEquals(110.0, kpis.getFuelCostBreakdown().get("High"));
+    }
+
+    private OrderOutcome createOutcome(Double valueRs, boolean onTime, double penalty, double bonus, double fuelCost) {
+        Order order = new Order("ORD", valueRs, "R001", null);
+        return new OrderOutcome(order, "driver-1", LocalDateTime.now(), onTime, penalty, bonus, fuelCost, 30);
+    }
+}
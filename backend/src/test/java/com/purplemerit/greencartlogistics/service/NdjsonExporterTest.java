@@ -0,0 +1,118 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.purplemerit.greencartlogistics.model.Order;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NdjsonExporter
+ */
+@ExtendWith(MockitoExtension.class)
+class NdjsonExporterTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @InjectMocks
+    private NdjsonExporter ndjsonExporter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ndjsonExporter, "batchSize", 2);
+    }
+
+    @Test
+    void testExportOrders_WritesOneLinePerOrderAndClosesCursor() throws Exception {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Order> cursor = Stream.of(order("1"), order("2"), order("3")).onClose(() -> closed.set(true));
+        when(mongoTemplate.stream(any(Query.class), eq(Order.class))).thenReturn(cursor);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long written = ndjsonExporter.exportOrders(null, null, null, null, null, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, written);
+        assertEquals(4, lines.length);
+        assertEquals("", lines[3]); // every line is terminated
+        for (int i = 0; i < 3; i++) {
+            JsonNode node = objectMapper.readTree(lines[i]);
+            assertEquals(String.valueOf(i + 1), node.get("id").asText());
+            assertEquals("2024-01-15T10:30:00", node.get("deliveryTimestamp").asText());
+        }
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testExportOrders_CombinesFiltersOnTheCursorQuery() throws Exception {
+        // Given
+        when(mongoTemplate.stream(any(Query.class), eq(Order.class))).thenReturn(Stream.empty());
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+        // When
+        long written = ndjsonExporter.exportOrders(Order.OrderStatus.DELIVERED, "R001", "d1", from, to,
+                new ByteArrayOutputStream());
+
+        // Then
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(queryCaptor.capture(), eq(Order.class));
+        Document filter = queryCaptor.getValue().getQueryObject();
+        assertEquals(0, written);
+        assertEquals(Order.OrderStatus.DELIVERED, filter.get("status"));
+        assertEquals("R001", filter.get("assignedRouteId"));
+        assertEquals("d1", filter.get("assignedDriverId"));
+        Document range = (Document) filter.get("deliveryTimestamp");
+        assertEquals(from, range.get("$gte"));
+        assertEquals(to, range.get("$lt"));
+        assertEquals(2, queryCaptor.getValue().getMeta().getCursorBatchSize());
+    }
+
+    @Test
+    void testSimulationResultsQuery_FiltersOnlyWhatIsGiven() {
+        // When
+        Document filter = ndjsonExporter.simulationResultsQuery("d1", null,
+                LocalDateTime.of(2024, 2, 1, 0, 0)).getQueryObject();
+
+        // Then
+        assertEquals(2, filter.size());
+        assertEquals("d1", filter.get("driverIds"));
+        assertFalse(((Document) filter.get("simulationTimestamp")).containsKey("$gte"));
+    }
+
+    private Order order(String id) {
+        Order order = new Order("ORD" + id, 500.0, "R001", LocalDateTime.of(2024, 1, 15, 10, 30));
+        order.setId(id);
+        return order;
+    }
+}
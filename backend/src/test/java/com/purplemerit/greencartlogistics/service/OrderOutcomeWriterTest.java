@@ -0,0 +1,139 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.purplemerit.greencartlogistics.model.Order;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OrderOutcomeWriter
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderOutcomeWriterTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @InjectMocks
+    private OrderOutcomeWriter orderOutcomeWriter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderOutcomeWriter, "batchSize", 2);
+        ReflectionTestUtils.setField(orderOutcomeWriter, "ordered", false);
+    }
+
+    @Test
+    void testWrite_FlushesOneBulkOperationPerBatch() {
+        // Given
+        BulkWriteResult writeResult = mock(BulkWriteResult.class);
+        when(writeResult.getModifiedCount()).thenReturn(2, 2, 1);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(writeResult);
+
+        // When
+        int modified = orderOutcomeWriter.write(createOutcomes(5));
+
+        // Then
+        assertEquals(5, modified);
+        verify(mongoTemplate, times(3)).bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class);
+        verify(bulkOperations, times(5)).updateOne(any(Query.class), any(Update.class));
+        verify(bulkOperations, times(3)).execute();
+    }
+
+    @Test
+    void testWrite_UsesOrderedModeWhenConfigured() {
+        // Given
+        ReflectionTestUtils.setField(orderOutcomeWriter, "ordered", true);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Order.class)).thenReturn(bulkOperations);
+
+        // When
+        orderOutcomeWriter.write(createOutcomes(1));
+
+        // Then
+        verify(mongoTemplate).bulkOps(eq(BulkOperations.BulkMode.ORDERED), eq(Order.class));
+        verify(bulkOperations).execute();
+    }
+
+    @Test
+    void testWrite_SetsOnlyOutcomeFields() {
+        // Given
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)).thenReturn(bulkOperations);
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+
+        // When
+        orderOutcomeWriter.write(createOutcomes(1));
+
+        // Then
+        verify(bulkOperations).updateOne(queryCaptor.capture(), updateCaptor.capture());
+        assertEquals("order-0", queryCaptor.getValue().getQueryObject().get("id"));
+
+        Document setFields = (Document) updateCaptor.getValue().getUpdateObject().get("$set");
+        assertTrue(setFields.keySet().containsAll(List.of("assignedDriverId", "status", "isDeliveredOnTime",
+                "penalty", "bonus", "fuelCost", "profit", "deliveryTimestamp")));
+        assertFalse(setFields.containsKey("valueRs"));
+        assertEquals(1270.0, setFields.get("profit"));
+    }
+
+    @Test
+    void testWrite_OnlyWhileClaimIsHeld() {
+        // Given
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)).thenReturn(bulkOperations);
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+
+        // When
+        orderOutcomeWriter.write(createOutcomes(1), "claim-1");
+
+        // Then
+        verify(bulkOperations).updateOne(queryCaptor.capture(), updateCaptor.capture());
+        assertEquals("claim-1", queryCaptor.getValue().getQueryObject().get("claimToken"));
+        Document unsetFields = (Document) updateCaptor.getValue().getUpdateObject().get("$unset");
+        assertTrue(unsetFields.keySet().containsAll(List.of("claimToken", "claimExpiresAt")));
+    }
+
+    @Test
+    void testWrite_NoOutcomes() {
+        // When
+        int modified = orderOutcomeWriter.write(Collections.emptyList());
+
+        // Then
+        assertEquals(0, modified);
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private List<OrderOutcome> createOutcomes(int count) {
+        List<OrderOutcome> outcomes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Order order = new Order("ORD" + i, 1200.0, "R001", null);
+            order.setId("order-" + i);
+            outcomes.add(new OrderOutcome(order, "driver-1", LocalDateTime.now(), true, 0.0, 120.0, 50.0, 30));
+        }
+        return outcomes;
+    }
+}
@@ -0,0 +1,137 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.purplemerit.greencartlogistics.model.Order;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PendingOrderClaimer
+ */
+@ExtendWith(MockitoExtension.class)
+class PendingOrderClaimerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private PendingOrderClaimer pendingOrderClaimer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(pendingOrderClaimer, "batchSize", 2);
+        ReflectionTestUtils.setField(pendingOrderClaimer, "leaseSeconds", 600L);
+    }
+
+    @Test
+    void testClaimBatch_RetriesWhenAnotherRunWinsTheCandidates() {
+        // Given: the first candidates are claimed by another run between the read and the update
+        List<Order> claimed = orders("3", "4");
+        when(mongoTemplate.find(any(Query.class), eq(Order.class)))
+                .thenReturn(orders("1", "2"), orders("3", "4"), claimed);
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Order.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null), UpdateResult.acknowledged(2, 2L, null));
+
+        // When
+        List<Order> batch = pendingOrderClaimer.claimBatch("claim-1", 8.0, this::routeHours);
+
+        // Then
+        assertSame(claimed, batch);
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateMulti(queryCaptor.capture(), updateCaptor.capture(), eq(Order.class));
+        Document set = (Document) updateCaptor.getValue().getUpdateObject().get("$set");
+        assertEquals("claim-1", set.get("claimToken"));
+        assertNotNull(set.get("claimExpiresAt"));
+        // The update only succeeds on orders that are still pending and unleased
+        assertTrue(queryCaptor.getValue().getQueryObject().toString().contains("PENDING"));
+    }
+
+    @Test
+    void testForEachBatch_StopsWhenNothingIsLeft() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(Order.class)))
+                .thenReturn(orders("1", "2"), orders("1", "2"), orders("3"), orders("3"), Collections.emptyList());
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Order.class)))
+                .thenReturn(UpdateResult.acknowledged(2, 2L, null), UpdateResult.acknowledged(1, 1L, null));
+        List<Integer> batchSizes = new ArrayList<>();
+
+        // When
+        long claimed = pendingOrderClaimer.forEachBatch("claim-1", 8.0, this::routeHours,
+                batch -> batchSizes.add(batch.size()));
+
+        // Then
+        assertEquals(3, claimed);
+        assertEquals(Arrays.asList(2, 1), batchSizes);
+    }
+
+    @Test
+    void testForEachBatch_ClaimsOnlyWhatTheFleetCanDrive() {
+        // Given: half-hour orders and one hour of driving left to claim for
+        when(mongoTemplate.find(any(Query.class), eq(Order.class)))
+                .thenReturn(orders("1", "2"), orders("1", "2"), orders("3", "4"), orders("3"));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Order.class)))
+                .thenReturn(UpdateResult.acknowledged(2, 2L, null), UpdateResult.acknowledged(1, 1L, null));
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        // When
+        long claimed = pendingOrderClaimer.forEachBatch("claim-1", 1.5, this::routeHours, batch -> { });
+
+        // Then: the third order crosses the budget, the fourth is left for other runs
+        assertEquals(3, claimed);
+        verify(mongoTemplate, times(2)).updateMulti(queryCaptor.capture(), any(Update.class), eq(Order.class));
+        List<?> conditions = (List<?>) queryCaptor.getValue().getQueryObject().get("$and");
+        Document ids = (Document) ((Document) conditions.get(0)).get("id");
+        assertEquals(Collections.singletonList("3"), ids.get("$in"));
+    }
+
+    @Test
+    void testRelease_ClearsLeasesHeldUnderToken() {
+        // Given
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Order.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+        // When
+        long released = pendingOrderClaimer.release("claim-1");
+
+        // Then
+        assertEquals(1, released);
+        verify(mongoTemplate).updateMulti(queryCaptor.capture(), any(Update.class), eq(Order.class));
+        assertEquals("claim-1", queryCaptor.getValue().getQueryObject().get("claimToken"));
+    }
+
+    private double routeHours(String routeId) {
+        return "R001".equals(routeId) ? 0.5 : 0;
+    }
+
+    private List<Order> orders(String... ids) {
+        List<Order> orders = new ArrayList<>();
+        for (String id : ids) {
+            Order order = new Order("ORD" + id, 500.0, "R001", null);
+            order.setId(id);
+            orders.add(order);
+        }
+        return orders;
+    }
+}
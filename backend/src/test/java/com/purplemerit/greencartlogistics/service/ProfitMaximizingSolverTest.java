@@ -0,0 +1,173 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.model.CompanyRules;
+import com.purplemerit.greencartlogistics.model.Driver;
+import com.purplemerit.greencartlogistics.model.Order;
+import com.purplemerit.greencartlogistics.model.Route;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProfitMaximizingSolver
+ */
+class ProfitMaximizingSolverTest {
+
+    private final ProfitMaximizingSolver solver = new ProfitMaximizingSolver(ProfitMaximizingSolver.DEFAULT_MAX_EVALUATIONS);
+
+    @Test
+    void testSolve_PrefersMostProfitableOrdersWhenCapacityIsShort() {
+        // Given: one hour of capacity, three 30 minute orders
+        Route route = new Route("R001", 2.0, "Low", 30);
+        List<Order> orders = Arrays.asList(order(300.0, "R001"), order(900.0, "R001"), order(600.0, "R001"));
+
+        // When
+        int[] plan = solve(drivers(false), 1.0, Arrays.asList(route), orders, CompanyRules.original());
+
+        // Then
+        assertArrayEquals(new int[]{-1, 0, 0}, plan);
+    }
+
+    @Test
+    void testSolve_SwapsInHigherValueOrderAfterDensityPass() {
+        // Given: the dense short order fills the driver first, leaving no room for the valuable long one
+        Route shortRoute = new Route("SHORT", 1.0, "Low", 20);
+        Route longRoute = new Route("LONG", 1.0, "Low", 60);
+        List<Order> orders = Arrays.asList(order(500.0, "SHORT"), order(900.0, "LONG"));
+
+        // When
+        int[] plan = solve(drivers(false), 1.0, Arrays.asList(shortRoute, longRoute), orders, CompanyRules.original());
+
+        // Then
+        assertArrayEquals(new int[]{-1, 0}, plan);
+    }
+
+    @Test
+    void testSolve_StopsImprovingOnceEvaluationsRunOut() {
+        // Given: the same inputs as the swap above, with no evaluations to spend on improving
+        Route shortRoute = new Route("SHORT", 1.0, "Low", 20);
+        Route longRoute = new Route("LONG", 1.0, "Low", 60);
+        List<Driver> drivers = drivers(false);
+        List<Order> orders = Arrays.asList(order(500.0, "SHORT"), order(900.0, "LONG"));
+        SimulationSnapshot snapshot = new SimulationSnapshot(drivers, Arrays.asList(shortRoute, longRoute), orders,
+                LocalDate.of(2024, 1, 15), CompanyRules.original());
+
+        // When
+        int[] plan = new ProfitMaximizingSolver(0).solve(drivers, 1.0, snapshot.getPendingOrderTable(),
+                snapshot.getRouteTable(), snapshot.getCompiledRules());
+
+        // Then: the density pass plan is kept
+        assertArrayEquals(new int[]{0, -1}, plan);
+    }
+
+    @Test
+    void testSolve_AppliesFatigueToCapacity() {
+        // Given: a 50 minute order does not fit a fatigued driver's hour (65 minutes)
+        Route route = new Route("R001", 2.0, "Low", 50);
+        List<Order> orders = Arrays.asList(order(800.0, "R001"), order(700.0, "R001"));
+
+        // When
+        int[] plan = solve(drivers(true, false), 1.0, Arrays.asList(route), orders, CompanyRules.original());
+
+        // Then
+        assertArrayEquals(new int[]{1, -1}, plan);
+    }
+
+    @Test
+    void testSolve_SkipsLossMakingAndUnroutedOrders() {
+        // Given: fuel for a 100km route costs more than the order is worth
+        Route expensive = new Route("R001", 100.0, "High", 10);
+        List<Order> orders = Arrays.asList(order(500.0, "R001"), order(900.0, "MISSING"));
+
+        // When
+        int[] plan = solve(drivers(false), 8.0, Arrays.asList(expensive), orders, CompanyRules.original());
+
+        // Then
+        assertArrayEquals(new int[]{-1, -1}, plan);
+    }
+
+    @Test
+    void testSolve_ExpectsLatePenaltyUnderStricterRules() {
+        // Given: with no grace period 5 of the 11 jitter outcomes are late, so ₹50 × 5/11 is expected
+        // on top of ₹10 fuel, and an order worth ₹30 stops paying for itself
+        CompanyRules strict = CompanyRules.original();
+        strict.setLateGraceMinutes(0);
+        Route route = new Route("R001", 2.0, "Low", 10);
+        List<Order> orders = Arrays.asList(order(30.0, "R001"), order(40.0, "R001"));
+
+        // When
+        int[] relaxed = solve(drivers(false), 8.0, Arrays.asList(route), orders, CompanyRules.original());
+        int[] plan = solve(drivers(false), 8.0, Arrays.asList(route), orders, strict);
+
+        // Then
+        assertArrayEquals(new int[]{0, 0}, relaxed);
+        assertArrayEquals(new int[]{-1, 0}, plan);
+    }
+
+    @Test
+    void testSolve_HandlesHundredThousandOrdersWithinBudget() {
+        // Given
+        SplittableRandom random = new SplittableRandom(42L);
+        List<Route> routes = new ArrayList<>();
+        for (int r = 0; r < 10; r++) {
+            routes.add(new Route("R" + r, 5.0 + r * 2, r % 3 == 0 ? "High" : "Low", 20 + r * 10));
+        }
+        List<Order> orders = new ArrayList<>();
+        int[] orderRoutes = new int[100_000];
+        for (int i = 0; i < orderRoutes.length; i++) {
+            orderRoutes[i] = random.nextInt(routes.size());
+            orders.add(order(100.0 + random.nextInt(2000), "R" + orderRoutes[i]));
+        }
+        boolean[] fatigue = new boolean[200];
+        for (int d = 0; d < fatigue.length; d++) {
+            fatigue[d] = d % 4 == 0;
+        }
+        List<Driver> drivers = drivers(fatigue);
+        CompanyRules rules = CompanyRules.original();
+
+        // When
+        int[] plan = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> solve(drivers, 8.0, routes, orders, rules));
+
+        // Then: no driver is planned beyond max hours
+        double[] load = new double[drivers.size()];
+        for (int i = 0; i < plan.length; i++) {
+            if (plan[i] >= 0) {
+                load[plan[i]] += routes.get(orderRoutes[i]).getBaseTimeMinutes() / 60.0
+                        * (fatigue[plan[i]] ? rules.getFatigueFactor() : 1.0);
+            }
+        }
+        for (double hours : load) {
+            assertTrue(hours <= 8.0 + 1e-9);
+        }
+    }
+
+    private int[] solve(List<Driver> drivers, double maxHours, List<Route> routes, List<Order> orders,
+                        CompanyRules rules) {
+        SimulationSnapshot snapshot = new SimulationSnapshot(drivers, routes, orders, LocalDate.of(2024, 1, 15), rules);
+        return solver.solve(drivers, maxHours, snapshot.getPendingOrderTable(), snapshot.getRouteTable(),
+                snapshot.getCompiledRules());
+    }
+
+    private Order order(double value, String routeId) {
+        return new Order("ORD", value, routeId, null);
+    }
+
+    private List<Driver> drivers(boolean... fatigued) {
+        List<Driver> drivers = new ArrayList<>();
+        for (int i = 0; i < fatigued.length; i++) {
+            Driver driver = new Driver("Driver " + i, 4.0, 35.0);
+            driver.setId(String.valueOf(i));
+            driver.setHasFatiguePenalty(fatigued[i]);
+            drivers.add(driver);
+        }
+        return drivers;
+    }
+}
@@ -0,0 +1,259 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.dto.SimulationRequest;
+import com.purplemerit.greencartlogistics.model.AllocationStrategy;
+import com.purplemerit.greencartlogistics.model.Driver;
+import com.purplemerit.greencartlogistics.model.DriverBreakdown;
+import com.purplemerit.greencartlogistics.model.Order;
+import com.purplemerit.greencartlogistics.model.Route;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SimulationEngine
+ */
+class SimulationEngineTest {
+
+    private static final LocalDate SIMULATION_DATE = LocalDate.of(2024, 1, 15);
+
+    private final SimulationEngine simulationEngine = new SimulationEngine();
+
+    private SimulationSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        List<Driver> drivers = Arrays.asList(
+                createDriver("1", false),
+                createDriver("2", false),
+                createDriver("3", true)
+        );
+
+        List<Route> routes = Arrays.asList(
+                new Route("R001", 10.0, "Low", 30),
+                new Route("R002", 15.0, "High", 45),
+                new Route("R003", 8.0, "Medium", 25)
+        );
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            Order order = new Order("ORD" + i, 400.0 + 50 * i, "R00" + (i % 3 + 1), null);
+            order.setId(String.valueOf(i));
+            orders.add(order);
+        }
+
+        snapshot = new SimulationSnapshot(drivers, routes, orders, SIMULATION_DATE);
+    }
+
+    @Test
+    void testRun_SameSeedProducesIdenticalOutcomes() {
+        // Given
+        SimulationRequest request = new SimulationRequest(3, LocalTime.of(9, 0), 8);
+
+        // When
+        SimulationOutcome first = simulationEngine.run(snapshot, request, new SplittableRandom(7L));
+        SimulationOutcome second = simulationEngine.run(snapshot, request, new SplittableRandom(7L));
+
+        // Then
+        assertEquals(deliveryTimes(first), deliveryTimes(second));
+        assertEquals(first.getKpis().getTotalProfit(), second.getKpis().getTotalProfit());
+    }
+
+    @Test
+    void testRun_DeliveriesHappenOnSimulationDate() {
+        // Given
+        SimulationRequest request = new SimulationRequest(3, LocalTime.of(9, 0), 8);
+
+        // When
+        SimulationOutcome outcome = simulationEngine.run(snapshot, request, new SplittableRandom(7L));
+
+        // Then
+        assertFalse(outcome.getOrderOutcomes().isEmpty());
+        outcome.getOrderOutcomes().forEach(orderOutcome ->
+                assertEquals(SIMULATION_DATE, orderOutcome.getDeliveryTimestamp().toLocalDate()));
+    }
+
+    @Test
+    void testEvaluate_MatchesRunKpis() {
+        // Given
+        SimulationRequest request = new SimulationRequest(2, LocalTime.of(8, 30), 6);
+
+        // When
+        SimulationOutcome outcome = simulationEngine.run(snapshot, request, new SplittableRandom(11L));
+        KpiAccumulator kpis = simulationEngine.evaluate(snapshot, request, new SplittableRandom(11L));
+
+        // Then
+        assertEquals(outcome.getOrderOutcomes().size(), kpis.getTotalDeliveries());
+        assertEquals(outcome.getKpis().getTotalProfit(), kpis.getTotalProfit());
+    }
+
+    @Test
+    void testRun_RespectsMaxHoursPerDriver() {
+        // Given
+        SimulationRequest request = new SimulationRequest(3, LocalTime.of(9, 0), 1);
+
+        // When
+        SimulationOutcome outcome = simulationEngine.run(snapshot, request, new SplittableRandom(3L));
+
+        // Then
+        // One hour fits at most two 25-30 minute deliveries per driver
+        assertTrue(outcome.getOrderOutcomes().size() <= 6);
+        assertTrue(outcome.getOrderOutcomes().size() > 0);
+    }
+
+    @Test
+    void testRun_DriverBreakdownAddsUpToKpis() {
+        // Given
+        SimulationRequest request = new SimulationRequest(3, LocalTime.of(9, 0), 4);
+
+        // When
+        SimulationOutcome outcome = simulationEngine.run(snapshot, request, new SplittableRandom(5L));
+
+        // Then
+        List<DriverBreakdown> breakdown = outcome.getDriverBreakdown();
+        assertEquals(Arrays.asList("1", "2", "3"),
+                breakdown.stream().map(DriverBreakdown::getDriverId).collect(Collectors.toList()));
+        assertTrue(breakdown.get(2).isHasFatiguePenalty());
+        double profit = 0;
+        for (DriverBreakdown driver : breakdown) {
+            long delivered = outcome.getOrderOutcomes().stream()
+                    .filter(orderOutcome -> driver.getDriverId().equals(orderOutcome.getDriverId()))
+                    .count();
+            assertEquals(delivered, driver.getOrdersDelivered().longValue());
+            assertTrue(driver.getHoursUsed() <= 4.0);
+            assertEquals(4.0 - driver.getHoursUsed(), driver.getIdleHours(), 1e-9);
+            profit += driver.getTotalProfit();
+        }
+        assertEquals(outcome.getKpis().getTotalProfit(), profit, 0.01);
+    }
+
+    @Test
+    void testRun_LeastLoadedProcessesOrdersRoundRobinSkips() {
+        // Given: a long and a short route alternating, one hour per driver
+        List<Order> orders = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            Order order = new Order("ORD" + i, 500.0, i % 2 == 1 ? "LONG" : "SHORT", null);
+            order.setId(String.valueOf(i));
+            orders.add(order);
+        }
+        SimulationSnapshot alternating = new SimulationSnapshot(
+                Arrays.asList(createDriver("1", false), createDriver("2", false)),
+                Arrays.asList(new Route("LONG", 10.0, "Low", 50), new Route("SHORT", 2.0, "Low", 10)),
+                orders, SIMULATION_DATE);
+
+        SimulationRequest roundRobin = new SimulationRequest(2, LocalTime.of(9, 0), 1);
+        SimulationRequest leastLoaded = new SimulationRequest(2, LocalTime.of(9, 0), 1);
+        leastLoaded.setAllocationStrategy(AllocationStrategy.LEAST_LOADED);
+
+        // When
+        KpiAccumulator roundRobinKpis = simulationEngine.evaluate(alternating, roundRobin, new SplittableRandom(5L));
+        KpiAccumulator leastLoadedKpis = simulationEngine.evaluate(alternating, leastLoaded, new SplittableRandom(5L));
+
+        // Then
+        assertEquals(3, roundRobinKpis.getTotalDeliveries());
+        assertEquals(4, leastLoadedKpis.getTotalDeliveries());
+    }
+
+    @Test
+    void testRun_ProfitMaxEarnsAtLeastRoundRobinProfit() {
+        // Given
+        SimulationRequest roundRobin = new SimulationRequest(3, LocalTime.of(9, 0), 2);
+        SimulationRequest profitMax = new SimulationRequest(3, LocalTime.of(9, 0), 2);
+        profitMax.setAllocationStrategy(AllocationStrategy.PROFIT_MAX);
+
+        // When
+        KpiAccumulator roundRobinKpis = simulationEngine.evaluate(snapshot, roundRobin, new SplittableRandom(5L));
+        KpiAccumulator profitMaxKpis = simulationEngine.evaluate(snapshot, profitMax, new SplittableRandom(5L));
+
+        // Then
+        assertTrue(profitMaxKpis.getTotalProfit() > roundRobinKpis.getTotalProfit());
+    }
+
+    @Test
+    void testRun_DriverStartsNextOrderWhenPreviousDeliveryEnds() {
+        // Given: one driver with two 30 minute orders
+        List<Order> orders = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            Order order = new Order("ORD" + i, 500.0, "R001", null);
+            order.setId(String.valueOf(i));
+            orders.add(order);
+        }
+        SimulationSnapshot single = new SimulationSnapshot(Arrays.asList(createDriver("1", false)),
+                Arrays.asList(new Route("R001", 10.0, "Low", 30)), orders, SIMULATION_DATE);
+        SimulationRequest request = new SimulationRequest(1, LocalTime.of(9, 0), 8);
+
+        // When
+        List<LocalDateTime> times = deliveryTimes(simulationEngine.run(single, request, new SplittableRandom(9L)));
+
+        // Then: both trips take 25-35 minutes and the second starts where the first ended
+        LocalDateTime start = SIMULATION_DATE.atTime(9, 0);
+        long firstTrip = Duration.between(start, times.get(0)).toMinutes();
+        long secondTrip = Duration.between(times.get(0), times.get(1)).toMinutes();
+        assertTrue(firstTrip >= 25 && firstTrip <= 35);
+        assertTrue(secondTrip >= 25 && secondTrip <= 35);
+    }
+
+    @Test
+    void testRun_FatiguedDriverIsSlower() {
+        // Given
+        List<Order> orders = new ArrayList<>();
+        Order order = new Order("ORD1", 500.0, "R001", null);
+        order.setId("1");
+        orders.add(order);
+        Route route = new Route("R001", 10.0, "Low", 60);
+        SimulationRequest request = new SimulationRequest(1, LocalTime.of(9, 0), 8);
+
+        // When
+        LocalDateTime rested = deliveryTimes(simulationEngine.run(new SimulationSnapshot(
+                Arrays.asList(createDriver("1", false)), Arrays.asList(route), orders, SIMULATION_DATE),
+                request, new SplittableRandom(4L))).get(0);
+        LocalDateTime tired = deliveryTimes(simulationEngine.run(new SimulationSnapshot(
+                Arrays.asList(createDriver("1", true)), Arrays.asList(route), orders, SIMULATION_DATE),
+                request, new SplittableRandom(4L))).get(0);
+
+        // Then
+        assertTrue(tired.isAfter(rested));
+    }
+
+    @Test
+    void testStart_ChunkedRunMatchesSingleRun() {
+        // Given
+        SimulationRequest request = new SimulationRequest(3, LocalTime.of(9, 0), 4);
+        List<Order> orders = snapshot.getPendingOrders();
+
+        // When
+        KpiAccumulator whole = simulationEngine.evaluate(snapshot, request, new SplittableRandom(2L));
+        SimulationEngine.Run run = simulationEngine.start(snapshot, request, new SplittableRandom(2L));
+        for (int from = 0; from < orders.size(); from += 7) {
+            run.accept(orders.subList(from, Math.min(from + 7, orders.size())));
+        }
+
+        // Then
+        assertEquals(whole.getTotalDeliveries(), run.getKpis().getTotalDeliveries());
+        assertEquals(whole.getTotalProfit(), run.getKpis().getTotalProfit(), 0.01);
+    }
+
+    private List<LocalDateTime> deliveryTimes(SimulationOutcome outcome) {
+        return outcome.getOrderOutcomes().stream()
+                .map(OrderOutcome::getDeliveryTimestamp)
+                .collect(Collectors.toList());
+    }
+
+    private Driver createDriver(String id, boolean hasFatiguePenalty) {
+        Driver driver = new Driver("Driver " + id, 4.0, 35.0);
+        driver.setId(id);
+        driver.setHasFatiguePenalty(hasFatiguePenalty);
+        return driver;
+    }
+}
@@ -0,0 +1,184 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.dto.SimulationProgressEvent;
+import com.purplemerit.greencartlogistics.dto.SimulationRequest;
+import com.purplemerit.greencartlogistics.model.Order;
+import com.purplemerit.greencartlogistics.model.SimulationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SimulationJobService
+ */
+@ExtendWith(MockitoExtension.class)
+class SimulationJobServiceTest {
+
+    @Mock
+    private SimulationService simulationService;
+
+    @InjectMocks
+    private SimulationJobService simulationJobService;
+
+    private final SimulationRequest request = new SimulationRequest(2, LocalTime.of(9, 0), 8);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(simulationJobService, "threads", 1);
+        ReflectionTestUtils.setField(simulationJobService, "queueCapacity", 4);
+        ReflectionTestUtils.setField(simulationJobService, "retentionMinutes", 60L);
+        ReflectionTestUtils.setField(simulationJobService, "emitIntervalMillis", 20L);
+        ReflectionTestUtils.setField(simulationJobService, "streamTimeoutMillis", 5000L);
+        simulationJobService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulationJobService.shutdown();
+    }
+
+    @Test
+    void testSubmit_CompletesWithResult() throws InterruptedException {
+        // Given
+        SimulationResult result = new SimulationResult(2, LocalTime.of(9, 0), 8);
+        when(simulationService.runSimulation(eq(request), eq("user123"), any())).thenAnswer(invocation -> {
+            SimulationProgressListener listener = invocation.getArgument(2);
+            listener.onProgress(5, 10, new KpiAccumulator());
+            return result;
+        });
+
+        // When
+        SimulationJob job = simulationJobService.submit(request, "user123");
+        awaitFinished(job);
+
+        // Then
+        assertEquals(SimulationJob.Status.COMPLETED, job.getStatus());
+        assertSame(result, job.getResult());
+        assertEquals(100.0, job.getPercentComplete());
+        assertNotNull(job.getFinishedAt());
+    }
+
+    @Test
+    void testSubmit_RecordsFailure() throws InterruptedException {
+        // Given
+        when(simulationService.runSimulation(eq(request), eq("user123"), any()))
+                .thenThrow(new RuntimeException("No pending orders available for simulation"));
+
+        // When
+        SimulationJob job = simulationJobService.submit(request, "user123");
+        awaitFinished(job);
+
+        // Then
+        assertEquals(SimulationJob.Status.FAILED, job.getStatus());
+        assertEquals("No pending orders available for simulation", job.getError());
+    }
+
+    @Test
+    void testSubmit_RecordsErrorAsFailure() throws InterruptedException {
+        // Given
+        when(simulationService.runSimulation(eq(request), eq("user123"), any()))
+                .thenThrow(new OutOfMemoryError("Java heap space"));
+
+        // When
+        SimulationJob job = simulationJobService.submit(request, "user123");
+        awaitFinished(job);
+
+        // Then
+        assertEquals(SimulationJob.Status.FAILED, job.getStatus());
+        assertEquals("java.lang.OutOfMemoryError: Java heap space", job.getError());
+        assertNotNull(job.getFinishedAt());
+    }
+
+    @Test
+    void testCancel_StopsRunningJobAtNextProgressUpdate() throws InterruptedException {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        when(simulationService.runSimulation(eq(request), eq("user123"), any())).thenAnswer(invocation -> {
+            SimulationProgressListener listener = invocation.getArgument(2);
+            started.countDown();
+            for (long done = 0; ; done++) {
+                listener.onProgress(done % 100, 100, new KpiAccumulator());
+                Thread.sleep(5);
+            }
+        });
+        SimulationJob job = simulationJobService.submit(request, "user123");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        simulationJobService.cancel(job.getId(), "user123");
+        awaitFinished(job);
+
+        // Then
+        assertEquals(SimulationJob.Status.CANCELLED, job.getStatus());
+        assertNull(job.getResult());
+    }
+
+    @Test
+    void testGetJob_HiddenFromOtherUsers() throws InterruptedException {
+        // Given
+        when(simulationService.runSimulation(eq(request), eq("user123"), any()))
+                .thenReturn(new SimulationResult(2, LocalTime.of(9, 0), 8));
+        SimulationJob job = simulationJobService.submit(request, "user123");
+        awaitFinished(job);
+
+        // When & Then
+        assertTrue(simulationJobService.getJob(job.getId(), "user123").isPresent());
+        assertFalse(simulationJobService.getJob(job.getId(), "someoneElse").isPresent());
+        assertThrows(RuntimeException.class, () -> simulationJobService.cancel(job.getId(), "someoneElse"));
+    }
+
+    @Test
+    void testUpdateProgress_KeepsKpiSnapshotForStreaming() throws InterruptedException {
+        // Given
+        CountDownLatch reported = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(simulationService.runSimulation(eq(request), eq("user123"), any())).thenAnswer(invocation -> {
+            SimulationProgressListener listener = invocation.getArgument(2);
+            KpiAccumulator kpis = new KpiAccumulator();
+            kpis.accept(new OrderOutcome(new Order("ORD1", 1200.0, "R001", null), "1",
+                    LocalDateTime.now(), true, 0.0, 120.0, 50.0, 30), "Low");
+            listener.onProgress(1, 4, kpis);
+            reported.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new SimulationResult(2, LocalTime.of(9, 0), 8);
+        });
+
+        // When
+        SimulationJob job = simulationJobService.submit(request, "user123");
+        assertTrue(reported.await(5, TimeUnit.SECONDS));
+        SimulationProgressEvent event = SimulationProgressEvent.from(job);
+        release.countDown();
+
+        // Then
+        assertEquals(1, event.getOrdersProcessed());
+        assertEquals(25.0, event.getPercentComplete());
+        assertEquals(1270.0, event.getRunningProfit());
+        assertEquals(1.0, event.getOnTimeRatio());
+        assertEquals(50.0, event.getFuelCostBreakdown().get("Low"));
+        assertNotNull(simulationJobService.streamProgress(job.getId(), "user123"));
+        assertThrows(RuntimeException.class, () -> simulationJobService.streamProgress(job.getId(), "someoneElse"));
+    }
+
+    private void awaitFinished(SimulationJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!job.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(job.isFinished(), "Job did not finish in time");
+    }
+}
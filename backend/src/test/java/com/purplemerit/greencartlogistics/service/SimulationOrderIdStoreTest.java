@@ -0,0 +1,117 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.model.SimulationOrderIdChunk;
+import com.purplemerit.greencartlogistics.model.SimulationResult;
+import com.purplemerit.greencartlogistics.repository.SimulationOrderIdChunkRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SimulationOrderIdStore
+ */
+@ExtendWith(MockitoExtension.class)
+class SimulationOrderIdStoreTest {
+
+    @Mock
+    private SimulationOrderIdChunkRepository chunkRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private SimulationOrderIdStore simulationOrderIdStore;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(simulationOrderIdStore, "chunkSize", 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSave_SplitsIdsIntoSequencedChunks() {
+        // When
+        simulationOrderIdStore.save("sim1", SimulationOrderIdChunk.Kind.PROCESSED,
+                Arrays.asList("ORD1", "ORD2", "ORD3", "ORD4", "ORD5"));
+
+        // Then
+        ArgumentCaptor<List<SimulationOrderIdChunk>> captor = ArgumentCaptor.forClass(List.class);
+        verify(chunkRepository).saveAll(captor.capture());
+        List<SimulationOrderIdChunk> chunks = captor.getValue();
+        assertEquals(3, chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            assertEquals("sim1", chunks.get(i).getSimulationId());
+            assertEquals(SimulationOrderIdChunk.Kind.PROCESSED, chunks.get(i).getKind());
+            assertEquals(i, chunks.get(i).getSequence());
+        }
+        assertEquals(Arrays.asList("ORD5"), chunks.get(2).getOrderIds());
+    }
+
+    @Test
+    void testSave_NothingToStore() {
+        // When
+        simulationOrderIdStore.save("sim1", SimulationOrderIdChunk.Kind.INPUT, Collections.emptyList());
+        simulationOrderIdStore.save("sim1", SimulationOrderIdChunk.Kind.INPUT, null);
+
+        // Then
+        verifyNoInteractions(chunkRepository);
+    }
+
+    @Test
+    void testLoad_ConcatenatesChunksInSequence() {
+        // Given
+        when(chunkRepository.findBySimulationIdAndKindOrderBySequence("sim1", SimulationOrderIdChunk.Kind.INPUT))
+                .thenReturn(Arrays.asList(
+                        new SimulationOrderIdChunk("sim1", SimulationOrderIdChunk.Kind.INPUT, 0,
+                                new ArrayList<>(Arrays.asList("a", "b"))),
+                        new SimulationOrderIdChunk("sim1", SimulationOrderIdChunk.Kind.INPUT, 1,
+                                new ArrayList<>(Arrays.asList("c")))
+                ));
+
+        // When & Then
+        assertEquals(Arrays.asList("a", "b", "c"),
+                simulationOrderIdStore.load("sim1", SimulationOrderIdChunk.Kind.INPUT));
+        assertNull(simulationOrderIdStore.load("sim2", SimulationOrderIdChunk.Kind.INPUT));
+    }
+
+    @Test
+    void testLoad_FallsBackToIdsEmbeddedInOlderResults() {
+        // Given: a result saved before order ids were chunked
+        String simulationId = new ObjectId().toHexString();
+        when(chunkRepository.findBySimulationIdAndKindOrderBySequence(simulationId,
+                SimulationOrderIdChunk.Kind.PROCESSED)).thenReturn(Collections.emptyList());
+        when(mongoTemplate.getCollectionName(SimulationResult.class)).thenReturn("simulation_results");
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("simulation_results")))
+                .thenReturn(new Document("_id", new ObjectId(simulationId))
+                        .append("processedOrderIds", Arrays.asList("ORD1", "ORD2")));
+
+        // When
+        List<String> orderIds = simulationOrderIdStore.load(simulationId, SimulationOrderIdChunk.Kind.PROCESSED);
+
+        // Then
+        assertEquals(Arrays.asList("ORD1", "ORD2"), orderIds);
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(captor.capture(), eq(Document.class), eq("simulation_results"));
+        assertEquals(new ObjectId(simulationId), captor.getValue().getQueryObject().get("_id"));
+        assertEquals(new Document("processedOrderIds", 1), captor.getValue().getFieldsObject());
+    }
+}
@@ -0,0 +1,139 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.config.SimulationRulesProperties;
+import com.purplemerit.greencartlogistics.model.CompanyRules;
+import com.purplemerit.greencartlogistics.model.SimulationRuleSet;
+import com.purplemerit.greencartlogistics.repository.SimulationRuleSetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SimulationRulesService
+ */
+@ExtendWith(MockitoExtension.class)
+class SimulationRulesServiceTest {
+
+    @Mock
+    private SimulationRuleSetRepository simulationRuleSetRepository;
+
+    @InjectMocks
+    private SimulationRulesService simulationRulesService;
+
+    private SimulationRulesProperties simulationRulesProperties;
+
+    @BeforeEach
+    void setUp() {
+        // Bound the way Spring binds application.yml, so configured maps replace the defaults
+        simulationRulesProperties = new Binder(new MapConfigurationPropertySource(Map.of(
+                "app.simulation.rules.versions.v1.traffic-surcharge-per-km.[High]", "2.0",
+                "app.simulation.rules.versions.flat.fuel-cost-per-km", "6.0",
+                "app.simulation.rules.versions.flat.traffic-surcharge-per-km.[Medium]", "1.0")))
+                .bind("app.simulation.rules", SimulationRulesProperties.class)
+                .get();
+        ReflectionTestUtils.setField(simulationRulesService, "simulationRulesProperties", simulationRulesProperties);
+    }
+
+    @Test
+    void testResolve_ConfiguredVersionListsOnlyItsOwnSurcharges() {
+        // When
+        CompanyRules original = simulationRulesService.resolve(null);
+        CompanyRules flat = simulationRulesService.resolve("flat");
+
+        // Then
+        assertEquals(Map.of("High", 2.0), original.getTrafficSurchargePerKm());
+        assertEquals(Map.of("Medium", 1.0), flat.getTrafficSurchargePerKm());
+        assertEquals(6.0, flat.getFuelCostPerKm());
+        verify(simulationRuleSetRepository, never()).findById(any());
+    }
+
+    @Test
+    void testResolve_StoredVersion() {
+        // Given
+        CompanyRules lenient = CompanyRules.original();
+        lenient.setLatePenalty(10.0);
+        when(simulationRuleSetRepository.findById("lenient"))
+                .thenReturn(Optional.of(new SimulationRuleSet("lenient", lenient, "admin1")));
+
+        // When
+        CompanyRules rules = simulationRulesService.resolve("lenient");
+
+        // Then
+        assertSame(lenient, rules);
+    }
+
+    @Test
+    void testResolve_UnknownVersion() {
+        // Given
+        when(simulationRuleSetRepository.findById("missing")).thenReturn(Optional.empty());
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                simulationRulesService.resolve("missing"));
+        assertEquals("Unknown rules version: missing", exception.getMessage());
+    }
+
+    @Test
+    void testGetVersions_BuiltInConfiguredThenStored() {
+        // Given
+        when(simulationRuleSetRepository.findAll())
+                .thenReturn(List.of(new SimulationRuleSet("lenient", CompanyRules.original(), "admin1")));
+
+        // When
+        Map<String, CompanyRules> versions = simulationRulesService.getVersions();
+
+        // Then
+        assertEquals(List.of("v1", "flat", "lenient"), List.copyOf(versions.keySet()));
+    }
+
+    @Test
+    void testCreateVersion_StoresNewVersion() {
+        // Given
+        CompanyRules rules = new CompanyRules();
+        rules.setTrafficSurchargePerKm(null);
+        when(simulationRuleSetRepository.existsById("v2")).thenReturn(false);
+        when(simulationRuleSetRepository.insert(any(SimulationRuleSet.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        SimulationRuleSet saved = simulationRulesService.createVersion("v2", rules, "admin1");
+
+        // Then
+        assertEquals("v2", saved.getVersion());
+        assertEquals("admin1", saved.getCreatedBy());
+        assertTrue(saved.getRules().getTrafficSurchargePerKm().isEmpty());
+    }
+
+    @Test
+    void testCreateVersion_RefusesExistingOrInvalidVersions() {
+        // Given
+        CompanyRules negativePenalty = new CompanyRules();
+        negativePenalty.setLatePenalty(-1.0);
+        when(simulationRuleSetRepository.existsById("v3")).thenReturn(false);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () ->
+                simulationRulesService.createVersion("v1", new CompanyRules(), "admin1"));
+        assertThrows(RuntimeException.class, () ->
+                simulationRulesService.createVersion("flat", new CompanyRules(), "admin1"));
+        assertThrows(RuntimeException.class, () ->
+                simulationRulesService.createVersion("bad name", new CompanyRules(), "admin1"));
+        assertThrows(RuntimeException.class, () ->
+                simulationRulesService.createVersion("v3", negativePenalty, "admin1"));
+        verify(simulationRuleSetRepository, never()).insert(any(SimulationRuleSet.class));
+    }
+}
@@ -1,22 +1,43 @@
 package com.purplemerit.greencartlogistics.service;
 
+import com.purplemerit.greencartlogistics.config.SimulationRulesProperties;
 import com.purplemerit.greencartlogistics.dto.SimulationRequest;
+import com.purplemerit.greencartlogistics.dto.SimulationSummary;
 import com.purplemerit.greencartlogistics.model.*;
 import com.purplemerit.greencartlogistics.repository.*;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -37,6 +58,32 @@ class SimulationServiceTest {
     @Mock
     private SimulationResultRepository simulationResultRepository;
 
+    @Mock
+    private OrderOutcomeWriter orderOutcomeWriter;
+
+    @Mock
+    private PendingOrderReader pendingOrderReader;
+
+    @Mock
+    private PendingOrderClaimer pendingOrderClaimer;
+
+    @Mock
+    private IncrementalSimulationService incrementalSimulationService;
+
+    @Mock
+    private SimulationOrderIdStore simulationOrderIdStore;
+
+    @Spy
+    private SimulationExecutor simulationExecutor = new SimulationExecutor();
+
+    @Mock
+    private SimulationRuleSetRepository simulationRuleSetRepository;
+
+    private final SimulationRulesProperties simulationRulesProperties = new SimulationRulesProperties();
+
+    @Spy
+    private SimulationRulesService simulationRules = new SimulationRulesService();
+
     @InjectMocks
     private SimulationService simulationService;
 
@@ -46,6 +93,12 @@ class SimulationServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(simulationExecutor, "parallelism", 2);
+        simulationExecutor.init();
+        ReflectionTestUtils.setField(simulationRules, "simulationRulesProperties", simulationRulesProperties);
+        ReflectionTestUtils.setField(simulationRules, "simulationRuleSetRepository", simulationRuleSetRepository);
+        lenient().when(pendingOrderClaimer.newToken()).thenReturn("claim-1");
+
         // Setup mock drivers
         mockDrivers = Arrays.asList(
                 createDriver("1", "Driver 1", 4.0, 35.0, false),
@@ -78,10 +131,8 @@ class SimulationServiceTest {
                 .thenReturn(mockDrivers);
         when(routeRepository.findByIsActiveTrue())
                 .thenReturn(mockRoutes);
-        when(orderRepository.findByStatus(Order.OrderStatus.PENDING))
+        when(pendingOrderClaimer.claim(eq("claim-1"), eq(16.0), any()))
                 .thenReturn(mockOrders);
-        when(orderRepository.findByStatus(Order.OrderStatus.DELIVERED))
-                .thenReturn(Arrays.asList());
         when(simulationResultRepository.save(any(SimulationResult.class)))
                 .thenAnswer(invocation -> {
                     SimulationResult result = invocation.getArgument(0);
@@ -98,8 +149,435 @@ class SimulationServiceTest {
         assertEquals(2, result.getNumberOfDrivers());
         assertEquals(LocalTime.of(9, 0), result.getRouteStartTime());
         assertEquals(8, result.getMaxHoursPerDriver());
+        assertEquals("v1", result.getRulesVersion());
+
+        verify(simulationResultRepository, times(1)).save(any(SimulationResult.class));
+    }
+
+    @Test
+    void testRunSimulation_PersistsOrdersInSingleWritePhase() {
+        // Given
+        SimulationRequest request = new SimulationRequest(3, LocalTime.of(9, 0), 8);
+
+        when(driverRepository.findByIsActiveTrueOrderByCurrentShiftHours())
+                .thenReturn(mockDrivers);
+        when(routeRepository.findByIsActiveTrue())
+                .thenReturn(mockRoutes);
+        when(pendingOrderClaimer.claim(eq("claim-1"), anyDouble(), any()))
+                .thenReturn(mockOrders);
+        when(simulationResultRepository.save(any(SimulationResult.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        SimulationResult result = simulationService.runSimulation(request, "user123");
+
+        // Then
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderRepository, never()).saveAll(anyList());
+        verify(orderOutcomeWriter, times(1)).write(argThat(outcomes -> outcomes.size() == 3), eq("claim-1"));
+        assertEquals(3, result.getProcessedOrderIds().size());
+        verify(simulationOrderIdStore).save(result.getId(), SimulationOrderIdChunk.Kind.PROCESSED,
+                result.getProcessedOrderIds());
+        verify(simulationOrderIdStore).save(result.getId(), SimulationOrderIdChunk.Kind.INPUT,
+                Arrays.asList("1", "2", "3"));
+    }
+
+    @Test
+    void testRunSimulation_AccumulatesKpisWithoutRequery() {
+        // Given
+        SimulationRequest request = new SimulationRequest(3, LocalTime.of(9, 0), 8);
+
+        when(driverRepository.findByIsActiveTrueOrderByCurrentShiftHours())
+                .thenReturn(mockDrivers);
+        when(routeRepository.findByIsActiveTrue())
+                .thenReturn(mockRoutes);
+        when(pendingOrderClaimer.claim(eq("claim-1"), anyDouble(), any()))
+                .thenReturn(mockOrders);
+        when(simulationResultRepository.save(any(SimulationResult.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        SimulationResult result = simulationService.runSimulation(request, "user123");
+
+        // Then
+        // ±5 minute jitter always stays within the 10 minute grace period
+        assertEquals(3, result.getTotalDeliveries());
+        assertEquals(3, result.getOnTimeDeliveries());
+        assertEquals(0, result.getLateDeliveries());
+        assertEquals(100.0, result.getEfficiencyScore());
+        assertEquals(270.0, result.getTotalBonuses(), 0.001); // 10% of 1200 and 1500
+        assertEquals(195.0, result.getTotalFuelCost(), 0.001); // 50 + 105 + 40
+        assertEquals(3575.0, result.getTotalProfit(), 0.001); // 3500 + 270 - 195
+        assertEquals(105.0, result.getFuelCostBreakdown().get("High"), 0.001);
+        verify(orderRepository, never()).findByStatus(Order.OrderStatus.DELIVERED);
+    }
+
+    @Test
+    void testRunSimulation_DryRunPersistsNothing() {
+        // Given
+        SimulationRequest request = new SimulationRequest(3, LocalTime.of(9, 0), 8);
+        request.setDryRun(true);
+
+        when(driverRepository.findByIsActiveTrueOrderByCurrentShiftHours())
+                .thenReturn(mockDrivers);
+        when(routeRepository.findByIsActiveTrue())
+                .thenReturn(mockRoutes);
+        when(orderRepository.findByStatus(Order.OrderStatus.PENDING))
+                .thenReturn(mockOrders);
+
+        // When
+        SimulationResult result = simulationService.runSimulation(request, "user123");
 
+        // Then
+        assertTrue(result.isDryRun());
+        assertNull(result.getId());
+        assertEquals(3, result.getTotalDeliveries());
+        verifyNoInteractions(orderOutcomeWriter, simulationResultRepository, pendingOrderClaimer);
+        mockOrders.forEach(order -> {
+            assertEquals(Order.OrderStatus.PENDING, order.getStatus());
+            assertNull(order.getAssignedDriverId());
+        });
+    }
+
+    @Test
+    void testRunSimulation_AppliesSelectedRulesVersion() {
+        // Given: a strict variant where every delivery is late and fuel is a flat ₹6/km
+        CompanyRules strict = CompanyRules.original();
+        strict.setLateGraceMinutes(-6);
+        strict.setLatePenalty(100.0);
+        strict.setFuelCostPerKm(6.0);
+        strict.setTrafficSurchargePerKm(new HashMap<>());
+        simulationRulesProperties.getVersions().put("strict", strict);
+
+        SimulationRequest request = new SimulationRequest(3, LocalTime.of(9, 0), 8);
+        request.setRulesVersion("strict");
+        request.setDryRun(true);
+
+        when(driverRepository.findByIsActiveTrueOrderByCurrentShiftHours())
+                .thenReturn(mockDrivers);
+        when(routeRepository.findByIsActiveTrue())
+                .thenReturn(mockRoutes);
+        when(orderRepository.findByStatus(Order.OrderStatus.PENDING))
+                .thenReturn(mockOrders);
+
+        // When
+        SimulationResult result = simulationService.runSimulation(request, "user123");
+
+        // Then
+        assertEquals("strict", result.getRulesVersion());
+        assertEquals(3, result.getLateDeliveries());
+        assertEquals(300.0, result.getTotalPenalties(), 0.001);
+        assertEquals(0.0, result.getTotalBonuses(), 0.001); // late orders earn no bonus
+        assertEquals(198.0, result.getTotalFuelCost(), 0.001); // 33km × ₹6
+        assertEquals(3002.0, result.getTotalProfit(), 0.001); // 3500 - 300 - 198
+    }
+
+    @Test
+    void testRunSimulation_UnknownRulesVersion() {
+        // Given
+        SimulationRequest request = new SimulationRequest(3, LocalTime.of(9, 0), 8);
+        request.setRulesVersion("v99");
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> simulationService.runSimulation(request, "user123"));
+        assertEquals("Unknown rules version: v99", exception.getMessage());
+        verifyNoInteractions(driverRepository, orderRepository, simulationResultRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulationExecutor.shutdown();
+    }
+
+    @Test
+    void testRunSimulation_ReplicationsReportKpiDistributions() {
+        // Given
+        SimulationRequest request = new SimulationRequest(3, LocalTime.of(9, 0), 8);
+        request.setDryRun(true);
+        request.setReplications(5);
+
+        when(driverRepository.findByIsActiveTrueOrderByCurrentShiftHours())
+                .thenReturn(mockDrivers);
+        when(routeRepository.findByIsActiveTrue())
+                .thenReturn(mockRoutes);
+        when(orderRepository.findByStatus(Order.OrderStatus.PENDING))
+                .thenReturn(mockOrders);
+
+        // When
+        SimulationResult result = simulationService.runSimulation(request, "user123");
+
+        // Then
+        assertEquals(5, result.getReplications());
+        // Jitter never crosses the grace period, so every replica yields identical KPIs
+        assertEquals(result.getTotalProfit(), result.getProfitDistribution().getMean(), 0.001);
+        assertEquals(0.0, result.getProfitDistribution().getStdDev(), 0.001);
+        assertEquals(100.0, result.getEfficiencyDistribution().getP5(), 0.001);
+        assertEquals(0.0, result.getLateDeliveriesDistribution().getP95(), 0.001);
+        verify(simulationExecutor, times(1)).invokeAll(argThat(replicas -> replicas.size() == 4));
+    }
+
+    @Test
+    void testReplaySimulation_ReproducesStoredRun() {
+        // Given
+        SimulationRequest request = new SimulationRequest(2, LocalTime.of(9, 0), 8);
+        request.setSeed(42L);
+
+        when(driverRepository.findByIsActiveTrueOrderByCurrentShiftHours())
+                .thenReturn(mockDrivers);
+        when(routeRepository.findByIsActiveTrue())
+                .thenReturn(mockRoutes);
+        when(pendingOrderClaimer.claim(eq("claim-1"), anyDouble(), any()))
+                .thenReturn(mockOrders);
+        when(simulationResultRepository.save(any(SimulationResult.class)))
+                .thenAnswer(invocation -> {
+                    SimulationResult saved = invocation.getArgument(0);
+                    saved.setId("sim123");
+                    return saved;
+                });
+
+        SimulationResult original = simulationService.runSimulation(request, "user123");
+
+        // Repository returns entities in arbitrary order; replay must restore the stored order
+        when(simulationResultRepository.findById("sim123")).thenReturn(Optional.of(original));
+        when(driverRepository.findAllById(original.getDriverIds()))
+                .thenReturn(Arrays.asList(mockDrivers.get(1), mockDrivers.get(0)));
+        when(simulationOrderIdStore.load("sim123", SimulationOrderIdChunk.Kind.INPUT))
+                .thenReturn(original.getInputOrderIds());
+        when(orderRepository.findAllById(original.getInputOrderIds()))
+                .thenReturn(Arrays.asList(mockOrders.get(2), mockOrders.get(0), mockOrders.get(1)));
+
+        // When
+        SimulationResult replay = simulationService.replaySimulation("sim123", "user456");
+
+        // Then
+        assertEquals(42L, original.getSeed());
+        assertEquals(Arrays.asList("1", "2"), original.getDriverIds());
+        assertTrue(replay.isDryRun());
+        assertEquals(original.getSeed(), replay.getSeed());
+        assertEquals(original.getSimulationDate(), replay.getSimulationDate());
+        assertEquals(original.getProcessedOrderIds(), replay.getProcessedOrderIds());
+        assertEquals(original.getTotalProfit(), replay.getTotalProfit());
+        assertEquals(original.getEfficiencyScore(), replay.getEfficiencyScore());
+        assertEquals(original.getFuelCostBreakdown(), replay.getFuelCostBreakdown());
         verify(simulationResultRepository, times(1)).save(any(SimulationResult.class));
+        verify(orderOutcomeWriter, times(1)).write(anyList(), eq("claim-1"));
+    }
+
+    @Test
+    void testReplaySimulation_ReproducesProfitMaximizingRun() {
+        // Given: one driver hour for 100 minutes of orders, and a solver budget that ends mid-improvement
+        simulationService.setSolverMaxEvaluations(3L);
+        SimulationRequest request = new SimulationRequest(1, LocalTime.of(9, 0), 1);
+        request.setSeed(7L);
+        request.setAllocationStrategy(AllocationStrategy.PROFIT_MAX);
+
+        when(driverRepository.findByIsActiveTrueOrderByCurrentShiftHours())
+                .thenReturn(mockDrivers);
+        when(routeRepository.findByIsActiveTrue())
+                .thenReturn(mockRoutes);
+        when(pendingOrderClaimer.claim(eq("claim-1"), anyDouble(), any()))
+                .thenReturn(mockOrders);
+        when(simulationResultRepository.save(any(SimulationResult.class)))
+                .thenAnswer(invocation -> {
+                    SimulationResult saved = invocation.getArgument(0);
+                    saved.setId("sim123");
+                    return saved;
+                });
+
+        SimulationResult original = simulationService.runSimulation(request, "user123");
+
+        when(simulationResultRepository.findById("sim123")).thenReturn(Optional.of(original));
+        when(driverRepository.findAllById(original.getDriverIds()))
+                .thenReturn(Arrays.asList(mockDrivers.get(0)));
+        when(simulationOrderIdStore.load("sim123", SimulationOrderIdChunk.Kind.INPUT))
+                .thenReturn(original.getInputOrderIds());
+        when(orderRepository.findAllById(original.getInputOrderIds()))
+                .thenReturn(mockOrders);
+
+        // When
+        SimulationResult replay = simulationService.replaySimulation("sim123", "user456");
+
+        // Then
+        assertEquals(AllocationStrategy.PROFIT_MAX, replay.getAllocationStrategy());
+        assertTrue(original.getProcessedOrderIds().size() < mockOrders.size());
+        assertEquals(original.getProcessedOrderIds(), replay.getProcessedOrderIds());
+        assertEquals(original.getTotalProfit(), replay.getTotalProfit());
+        assertEquals(original.getFuelCostBreakdown(), replay.getFuelCostBreakdown());
+    }
+
+    @Test
+    void testReplaySimulation_RefusedOnceARouteChanged() {
+        // Given
+        SimulationRequest request = new SimulationRequest(2, LocalTime.of(9, 0), 8);
+        request.setSeed(42L);
+
+        when(driverRepository.findByIsActiveTrueOrderByCurrentShiftHours())
+                .thenReturn(mockDrivers);
+        when(routeRepository.findByIsActiveTrue())
+                .thenReturn(mockRoutes);
+        when(pendingOrderClaimer.claim(eq("claim-1"), anyDouble(), any()))
+                .thenReturn(mockOrders);
+        when(simulationResultRepository.save(any(SimulationResult.class)))
+                .thenAnswer(invocation -> {
+                    SimulationResult saved = invocation.getArgument(0);
+                    saved.setId("sim123");
+                    return saved;
+                });
+
+        SimulationResult original = simulationService.runSimulation(request, "user123");
+
+        // A route the run used has since become longer
+        List<Route> editedRoutes = new ArrayList<>();
+        for (Route route : mockRoutes) {
+            editedRoutes.add(new Route(route.getRouteId(), route.getDistanceKm() + 5, route.getTrafficLevel(),
+                    route.getBaseTimeMinutes()));
+        }
+        when(routeRepository.findByIsActiveTrue()).thenReturn(editedRoutes);
+        when(simulationResultRepository.findById("sim123")).thenReturn(Optional.of(original));
+        when(driverRepository.findAllById(original.getDriverIds())).thenReturn(mockDrivers.subList(0, 2));
+        when(simulationOrderIdStore.load("sim123", SimulationOrderIdChunk.Kind.INPUT))
+                .thenReturn(original.getInputOrderIds());
+        when(orderRepository.findAllById(original.getInputOrderIds())).thenReturn(mockOrders);
+
+        // When & Then
+        assertNotNull(original.getInputHash());
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                simulationService.replaySimulation("sim123", "user456"));
+        assertTrue(exception.getMessage().contains("changed since it ran"));
+    }
+
+    @Test
+    void testReplaySimulation_NotFound() {
+        // Given
+        when(simulationResultRepository.findById("missing")).thenReturn(Optional.empty());
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                simulationService.replaySimulation("missing", "user123"));
+        assertTrue(exception.getMessage().contains("Simulation not found"));
+    }
+
+    @Test
+    void testRunSimulation_StreamingFlushesEachChunk() {
+        // Given
+        SimulationRequest request = new SimulationRequest(3, LocalTime.of(9, 0), 8);
+        request.setStreaming(true);
+
+        when(driverRepository.findByIsActiveTrueOrderByCurrentShiftHours())
+                .thenReturn(mockDrivers);
+        when(routeRepository.findByIsActiveTrue())
+                .thenReturn(mockRoutes);
+        when(pendingOrderClaimer.forEachBatch(eq("claim-1"), anyDouble(), any(), any())).thenAnswer(invocation -> {
+            Consumer<List<Order>> consumer = invocation.getArgument(3);
+            consumer.accept(mockOrders.subList(0, 2));
+            consumer.accept(mockOrders.subList(2, 3));
+            return 3L;
+        });
+        when(simulationResultRepository.save(any(SimulationResult.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        SimulationResult result = simulationService.runSimulation(request, "user123");
+
+        // Then
+        verify(orderRepository, never()).findByStatus(any());
+        verify(pendingOrderReader, never()).forEachChunk(any());
+        verify(pendingOrderClaimer).release("claim-1");
+        verify(orderOutcomeWriter).write(argThat(outcomes -> outcomes.size() == 2), eq("claim-1"));
+        verify(orderOutcomeWriter).write(argThat(outcomes -> outcomes.size() == 1), eq("claim-1"));
+        assertTrue(result.isStreamed());
+        assertNull(result.getInputOrderIds());
+        assertEquals(3, result.getTotalDeliveries());
+        assertEquals(3575.0, result.getTotalProfit(), 0.01);
+    }
+
+    @Test
+    void testRunSimulation_StreamingCancelledAfterFirstChunkSavesPartialResult() {
+        // Given
+        SimulationRequest request = new SimulationRequest(3, LocalTime.of(9, 0), 8);
+        request.setStreaming(true);
+        SimulationProgressListener cancelOnSecondChunk = (processed, total, kpis) -> {
+            if (processed > 0) {
+                throw new CancellationException("Simulation cancelled");
+            }
+        };
+
+        when(driverRepository.findByIsActiveTrueOrderByCurrentShiftHours())
+                .thenReturn(mockDrivers);
+        when(routeRepository.findByIsActiveTrue())
+                .thenReturn(mockRoutes);
+        when(orderRepository.countByStatus(Order.OrderStatus.PENDING)).thenReturn(3L);
+        when(pendingOrderClaimer.forEachBatch(eq("claim-1"), anyDouble(), any(), any())).thenAnswer(invocation -> {
+            Consumer<List<Order>> consumer = invocation.getArgument(3);
+            consumer.accept(mockOrders.subList(0, 2));
+            consumer.accept(mockOrders.subList(2, 3));
+            return 3L;
+        });
+        when(simulationResultRepository.save(any(SimulationResult.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When & Then
+        assertThrows(CancellationException.class, () ->
+                simulationService.runSimulation(request, "user123", cancelOnSecondChunk));
+        verify(orderOutcomeWriter, times(1)).write(any(), eq("claim-1"));
+        verify(pendingOrderClaimer).release("claim-1");
+        verify(simulationResultRepository).save(argThat(result -> result.isCancelled()
+                && result.getTotalDeliveries() == 2
+                && result.getProcessedOrderIds().size() == 2));
+        verify(incrementalSimulationService).clear();
+    }
+
+    @Test
+    void testRunSimulation_StreamingWithNoPendingOrders() {
+        // Given
+        SimulationRequest request = new SimulationRequest(2, LocalTime.of(9, 0), 8);
+        request.setStreaming(true);
+
+        when(driverRepository.findByIsActiveTrueOrderByCurrentShiftHours())
+                .thenReturn(mockDrivers);
+        when(routeRepository.findByIsActiveTrue())
+                .thenReturn(mockRoutes);
+        when(pendingOrderClaimer.forEachBatch(eq("claim-1"), anyDouble(), any(), any())).thenReturn(0L);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                simulationService.runSimulation(request, "user123"));
+        assertEquals("No pending orders available for simulation", exception.getMessage());
+        verify(simulationResultRepository, never()).save(any(SimulationResult.class));
+    }
+
+    @Test
+    void testRunSimulation_PartitionedByWarehouse() {
+        // Given
+        SimulationRequest request = new SimulationRequest(3, LocalTime.of(9, 0), 8);
+        request.setPartitionByWarehouse(true);
+        mockRoutes.get(0).setStartLocation("Warehouse A");
+        mockRoutes.get(1).setStartLocation("Warehouse B");
+        mockRoutes.get(2).setStartLocation("Warehouse A");
+
+        when(driverRepository.findByIsActiveTrueOrderByCurrentShiftHours())
+                .thenReturn(mockDrivers);
+        when(routeRepository.findByIsActiveTrue())
+                .thenReturn(mockRoutes);
+        when(pendingOrderClaimer.claim(eq("claim-1"), anyDouble(), any()))
+                .thenReturn(mockOrders);
+        when(simulationResultRepository.save(any(SimulationResult.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        SimulationResult result = simulationService.runSimulation(request, "user123");
+
+        // Then
+        assertTrue(result.isPartitionedByWarehouse());
+        assertEquals(2, result.getWarehouseBreakdown().size());
+        assertEquals("Warehouse A", result.getWarehouseBreakdown().get(0).getWarehouse());
+        assertEquals(2, result.getWarehouseBreakdown().get(0).getTotalDeliveries());
+        assertEquals(1, result.getWarehouseBreakdown().get(1).getTotalDeliveries());
+        assertEquals(3575.0, result.getTotalProfit(), 0.01);
+        assertEquals(3, result.getDriverBreakdown().size());
+        assertEquals(3, result.getDriverBreakdown().stream().mapToInt(DriverBreakdown::getOrdersDelivered).sum());
+        verify(orderOutcomeWriter, times(1)).write(argThat(outcomes -> outcomes.size() == 3), eq("claim-1"));
     }
 
     @Test
@@ -148,7 +626,7 @@ class SimulationServiceTest {
                 .thenReturn(mockDrivers);
         when(routeRepository.findByIsActiveTrue())
                 .thenReturn(mockRoutes);
-        when(orderRepository.findByStatus(Order.OrderStatus.PENDING))
+        when(pendingOrderClaimer.claim(eq("claim-1"), anyDouble(), any()))
                 .thenReturn(Arrays.asList()); // No pending orders
 
         // When & Then
@@ -157,6 +635,41 @@ class SimulationServiceTest {
         );
 
         assertTrue(exception.getMessage().contains("No pending orders available"));
+        verify(pendingOrderClaimer).release("claim-1");
+    }
+
+    @Test
+    void testRunSimulation_OverlappingRunsClaimDisjointShares() {
+        // Given: six half-hour orders, and runs whose single driver can drive one hour each
+        List<Order> backlog = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            backlog.add(createOrder(String.valueOf(i), "ORD00" + i, 500.0, "R001"));
+        }
+        InMemoryClaimer claimer = new InMemoryClaimer(backlog);
+        ReflectionTestUtils.setField(simulationService, "pendingOrderClaimer", claimer);
+        SimulationRequest request = new SimulationRequest(1, LocalTime.of(9, 0), 1);
+
+        when(driverRepository.findByIsActiveTrueOrderByCurrentShiftHours())
+                .thenReturn(mockDrivers);
+        when(routeRepository.findByIsActiveTrue())
+                .thenReturn(mockRoutes);
+        when(simulationResultRepository.save(any(SimulationResult.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        // The second run starts while the first still holds its claim
+        List<SimulationResult> overlapping = new ArrayList<>();
+        when(orderOutcomeWriter.write(anyList(), eq("claim-1"))).thenAnswer(invocation -> {
+            overlapping.add(simulationService.runSimulation(request, "user2"));
+            return 0;
+        });
+
+        // When
+        SimulationResult first = simulationService.runSimulation(request, "user1");
+
+        // Then
+        SimulationResult second = overlapping.get(0);
+        assertEquals(Arrays.asList("1", "2"), first.getInputOrderIds());
+        assertEquals(Arrays.asList("3", "4"), second.getInputOrderIds());
+        assertTrue(claimer.leases.isEmpty());
     }
 
     @Test
@@ -179,6 +692,34 @@ class SimulationServiceTest {
         verify(simulationResultRepository, times(1)).findAllByOrderBySimulationTimestampDesc();
     }
 
+    @Test
+    void testGetSimulationHistory_ContinuesBeforeLastResultOfPreviousPage() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 2);
+        LocalDateTime before = LocalDateTime.of(2024, 1, 15, 9, 30);
+        String beforeId = new ObjectId().toHexString();
+        Slice<SimulationSummary> page = new SliceImpl<>(Arrays.asList(new SimulationSummary()));
+        when(simulationResultRepository.findSummariesBefore(before, new ObjectId(beforeId), pageable)).thenReturn(page);
+
+        // When
+        Slice<SimulationSummary> result = simulationService.getSimulationHistory(before, beforeId, pageable);
+
+        // Then
+        assertSame(page, result);
+        verify(simulationResultRepository, never()).findSummariesByOrderBySimulationTimestampDescIdDesc(any());
+    }
+
+    @Test
+    void testGetSimulationHistoryBetween_RejectsEmptyWindow() {
+        // Given
+        LocalDateTime from = LocalDateTime.of(2024, 1, 15, 9, 30);
+
+        // When & Then
+        assertThrows(RuntimeException.class,
+                () -> simulationService.getSimulationHistoryBetween(from, from, PageRequest.of(0, 5)));
+        verifyNoInteractions(simulationResultRepository);
+    }
+
     // Helper methods to create mock objects
     private Driver createDriver(String id, String name, Double currentShiftHours, 
                               Double past7DayWorkHours, boolean hasFatiguePenalty) {
@@ -201,6 +742,47 @@ class SimulationServiceTest {
         return order;
     }
 
+    /**
+     * Claimer over one shared backlog, leasing each order to at most one token at a time
+     */
+    private static class InMemoryClaimer extends PendingOrderClaimer {
+
+        private final List<Order> backlog;
+        private final Map<String, String> leases = new HashMap<>();
+        private int tokens;
+
+        InMemoryClaimer(List<Order> backlog) {
+            this.backlog = backlog;
+        }
+
+        @Override
+        public String newToken() {
+            return "claim-" + (++tokens);
+        }
+
+        @Override
+        public List<Order> claim(String token, double hours, ToDoubleFunction<String> routeHours) {
+            List<Order> claimed = new ArrayList<>();
+            double remaining = hours;
+            for (Order order : backlog) {
+                if (remaining <= 0) {
+                    break;
+                }
+                if (leases.putIfAbsent(order.getId(), token) == null) {
+                    claimed.add(order);
+                    remaining -= routeHours.applyAsDouble(order.getAssignedRouteId());
+                }
+            }
+            return claimed;
+        }
+
+        @Override
+        public long release(String token) {
+            leases.values().removeIf(token::equals);
+            return 0;
+        }
+    }
+
     private SimulationResult createSimulationResult(String id, String simulatedBy) {
         SimulationResult result = new SimulationResult(3, LocalTime.of(9, 0), 8);
         result.setId(id);
@@ -0,0 +1,225 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.dto.SimulationRequest;
+import com.purplemerit.greencartlogistics.dto.SimulationSweepRequest;
+import com.purplemerit.greencartlogistics.dto.SimulationSweepRequest.IntRange;
+import com.purplemerit.greencartlogistics.dto.SimulationSweepRequest.TimeRange;
+import com.purplemerit.greencartlogistics.dto.SimulationSweepResponse;
+import com.purplemerit.greencartlogistics.dto.SimulationSweepResponse.ScenarioResult;
+import com.purplemerit.greencartlogistics.model.Driver;
+import com.purplemerit.greencartlogistics.model.Order;
+import com.purplemerit.greencartlogistics.model.Route;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SimulationSweepService
+ */
+@ExtendWith(MockitoExtension.class)
+class SimulationSweepServiceTest {
+
+    @Mock
+    private SimulationService simulationService;
+
+    @Spy
+    private SimulationExecutor simulationExecutor = new SimulationExecutor();
+
+    @InjectMocks
+    private SimulationSweepService simulationSweepService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(simulationSweepService, "maxScenarios", 100);
+        ReflectionTestUtils.setField(simulationExecutor, "parallelism", 4);
+        simulationExecutor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulationExecutor.shutdown();
+    }
+
+    @Test
+    void testRunSweep_EvaluatesEveryCombinationAgainstOneSnapshot() {
+        // Given
+        when(simulationService.loadSnapshot(null)).thenReturn(createSnapshot());
+        SimulationSweepRequest request = new SimulationSweepRequest(
+                new IntRange(1, 3, 1),
+                new IntRange(1, 8, 7),
+                new TimeRange(LocalTime.of(8, 0), LocalTime.of(9, 0), 30));
+
+        // When
+        SimulationSweepResponse response = simulationSweepService.runSweep(request);
+
+        // Then
+        assertEquals(3 * 2 * 3, response.getScenarioCount());
+        verify(simulationService, times(1)).loadSnapshot(null);
+        verify(simulationService, times(18)).validateSnapshot(any(SimulationSnapshot.class), any(SimulationRequest.class));
+
+        // More drivers and hours can only deliver more of the six orders
+        ScenarioResult smallest = response.getScenarios().get(0);
+        ScenarioResult largest = response.getScenarios().get(response.getScenarioCount() - 1);
+        assertTrue(smallest.getTotalDeliveries() < largest.getTotalDeliveries());
+        assertEquals(6, largest.getTotalDeliveries());
+        assertFalse(response.getParetoFrontier().isEmpty());
+    }
+
+    @Test
+    void testRunSweep_SeededScenariosShareOneRandomStream() {
+        // Given
+        SimulationSnapshot snapshot = createSnapshot();
+        when(simulationService.loadSnapshot(null)).thenReturn(snapshot);
+        SimulationSweepRequest request = new SimulationSweepRequest(
+                new IntRange(2, 3, 1),
+                new IntRange(8, 8, 1),
+                new TimeRange(LocalTime.of(9, 0), LocalTime.of(9, 0), 30));
+        request.setSeed(42L);
+
+        // When
+        SimulationSweepResponse first = simulationSweepService.runSweep(request);
+        SimulationSweepResponse second = simulationSweepService.runSweep(request);
+
+        // Then: the sweep is reproducible and each scenario matches a single run with the same seed
+        assertEquals(42L, first.getSeed());
+        for (int i = 0; i < first.getScenarioCount(); i++) {
+            assertEquals(first.getScenarios().get(i).getTotalProfit(), second.getScenarios().get(i).getTotalProfit());
+        }
+        SimulationRequest single = new SimulationRequest(2, LocalTime.of(9, 0), 8);
+        double singleProfit = new SimulationEngine()
+                .evaluate(snapshot, single, new SplittableRandom(42L).split()).getTotalProfit();
+        assertEquals(singleProfit, first.getScenarios().get(0).getTotalProfit());
+    }
+
+    @Test
+    void testRunSweep_RejectsTooManyScenarios() {
+        // Given
+        SimulationSweepRequest request = new SimulationSweepRequest(
+                new IntRange(1, 10, 1),
+                new IntRange(1, 24, 1),
+                new TimeRange(LocalTime.of(8, 0), LocalTime.of(9, 0), 30));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                simulationSweepService.runSweep(request));
+        assertTrue(exception.getMessage().contains("maximum allowed is 100"));
+        verifyNoInteractions(simulationService);
+    }
+
+    @Test
+    void testRunSweep_RejectsHugeRangeBeforeBuildingIt() {
+        // Given: a range with about two billion values, ending next to Integer.MAX_VALUE
+        SimulationSweepRequest request = new SimulationSweepRequest(
+                new IntRange(1, Integer.MAX_VALUE, 1),
+                new IntRange(8, 8, 1),
+                new TimeRange(LocalTime.of(9, 0), LocalTime.of(9, 0), 30));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                simulationSweepService.runSweep(request));
+        assertTrue(exception.getMessage().contains("maximum allowed is 100"));
+        verifyNoInteractions(simulationService);
+    }
+
+    @Test
+    void testRunSweep_RejectsNonPositiveStep() {
+        // Given
+        SimulationSweepRequest request = new SimulationSweepRequest(
+                new IntRange(1, 3, 0),
+                new IntRange(8, 8, 1),
+                new TimeRange(LocalTime.of(9, 0), LocalTime.of(9, 0), 30));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                simulationSweepService.runSweep(request));
+        assertTrue(exception.getMessage().contains("step"));
+        verifyNoInteractions(simulationService);
+    }
+
+    @Test
+    void testIntRange_StepsToTheLastValueWithoutOverflow() {
+        // Given
+        IntRange range = new IntRange(Integer.MAX_VALUE - 4, Integer.MAX_VALUE, 2);
+
+        // When & Then
+        assertEquals(3, range.count());
+        assertEquals(Arrays.asList(Integer.MAX_VALUE - 4, Integer.MAX_VALUE - 2, Integer.MAX_VALUE), range.values());
+        assertEquals(Integer.MAX_VALUE, range.last());
+    }
+
+    @Test
+    void testSetSolverMaxEvaluations_AppliesToScenarioEngine() {
+        // When
+        simulationSweepService.setSolverMaxEvaluations(250L);
+
+        // Then
+        Object engine = ReflectionTestUtils.getField(simulationSweepService, "simulationEngine");
+        assertEquals(250L, ReflectionTestUtils.getField(engine, "solverMaxEvaluations"));
+    }
+
+    @Test
+    void testParetoFrontier_KeepsOnlyNonDominatedScenarios() {
+        // Given
+        List<ScenarioResult> results = Arrays.asList(
+                scenario(5000.0, 80.0),
+                scenario(4000.0, 90.0),
+                scenario(3000.0, 85.0), // dominated by 4000/90
+                scenario(5000.0, 70.0), // dominated by 5000/80
+                scenario(2000.0, 100.0)
+        );
+
+        // When
+        List<ScenarioResult> frontier = SimulationSweepService.paretoFrontier(results);
+
+        // Then
+        assertEquals(3, frontier.size());
+        assertEquals(5000.0, frontier.get(0).getTotalProfit());
+        assertEquals(80.0, frontier.get(0).getEfficiencyScore());
+        assertEquals(4000.0, frontier.get(1).getTotalProfit());
+        assertEquals(2000.0, frontier.get(2).getTotalProfit());
+    }
+
+    private ScenarioResult scenario(double profit, double efficiency) {
+        return new ScenarioResult(2, 8, LocalTime.of(9, 0), profit, efficiency, 10, 0);
+    }
+
+    private SimulationSnapshot createSnapshot() {
+        List<Driver> drivers = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Driver driver = new Driver("Driver " + i, 4.0, 35.0);
+            driver.setId(String.valueOf(i));
+            drivers.add(driver);
+        }
+
+        List<Route> routes = Arrays.asList(
+                new Route("R001", 10.0, "Low", 60),
+                new Route("R002", 15.0, "High", 90)
+        );
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            Order order = new Order("ORD00" + i, 500.0 * i, i % 2 == 0 ? "R002" : "R001", null);
+            order.setId(String.valueOf(i));
+            orders.add(order);
+        }
+
+        return new SimulationSnapshot(drivers, routes, orders, LocalDate.of(2024, 1, 15));
+    }
+}
@@ -0,0 +1,155 @@
+package com.purplemerit.greencartlogistics.service;
+
+import com.purplemerit.greencartlogistics.dto.SimulationRequest;
+import com.purplemerit.greencartlogistics.model.Driver;
+import com.purplemerit.greencartlogistics.model.Order;
+import com.purplemerit.greencartlogistics.model.Route;
+import com.purplemerit.greencartlogistics.model.WarehouseBreakdown;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WarehousePartitioning
+ */
+class WarehousePartitioningTest {
+
+    private final SimulationExecutor simulationExecutor = new SimulationExecutor();
+
+    private List<Route> routes;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(simulationExecutor, "parallelism", 2);
+        simulationExecutor.init();
+
+        routes = Arrays.asList(
+                createRoute("R001", "Warehouse A", 60),
+                createRoute("R002", "Warehouse B", 30),
+                createRoute("R003", "Warehouse C", 30)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulationExecutor.shutdown();
+    }
+
+    @Test
+    void testOf_ApportionsDriversByRouteMinutes() {
+        // Given: Warehouse A has twice the minutes of B, C has a single short order
+        List<Order> orders = new ArrayList<>();
+        orders.addAll(createOrders("R001", 4)); // 240 min
+        orders.addAll(createOrders("R002", 4)); // 120 min
+        orders.addAll(createOrders("R003", 1)); //  30 min
+        SimulationSnapshot snapshot = snapshot(createDrivers(6), orders);
+
+        // When
+        WarehousePartitioning partitioning = WarehousePartitioning.of(snapshot, 6);
+
+        // Then
+        assertEquals(Arrays.asList("Warehouse A", "Warehouse B", "Warehouse C"), warehouses(partitioning));
+        assertEquals(Arrays.asList(3, 2, 1), driverCounts(partitioning));
+        assertEquals(4, partitioning.getPartitions().get(0).getSnapshot().getPendingOrders().size());
+    }
+
+    @Test
+    void testOf_FewerDriversThanWarehousesServesBusiestFirst() {
+        // Given
+        List<Order> orders = new ArrayList<>();
+        orders.addAll(createOrders("R001", 2));
+        orders.addAll(createOrders("R002", 1));
+        orders.addAll(createOrders("R003", 3));
+        Order unrouted = new Order("ORDX", 500.0, "R999", null);
+        orders.add(unrouted);
+        SimulationSnapshot snapshot = snapshot(createDrivers(2), orders);
+
+        // When
+        WarehousePartitioning partitioning = WarehousePartitioning.of(snapshot, 2);
+
+        // Then
+        assertEquals(Arrays.asList("Unassigned", "Warehouse A", "Warehouse B", "Warehouse C"),
+                warehouses(partitioning));
+        assertEquals(Arrays.asList(0, 1, 0, 1), driverCounts(partitioning));
+    }
+
+    @Test
+    void testRun_MergesPartitionKpisWithBreakdown() {
+        // Given
+        List<Order> orders = new ArrayList<>();
+        orders.addAll(createOrders("R001", 3));
+        orders.addAll(createOrders("R002", 3));
+        orders.addAll(createOrders("R003", 3));
+        SimulationSnapshot snapshot = snapshot(createDrivers(3), orders);
+        SimulationRequest request = new SimulationRequest(3, LocalTime.of(9, 0), 8);
+
+        // When
+        WarehousePartitioning.Result result = WarehousePartitioning.of(snapshot, 3)
+                .run(new SimulationEngine(), simulationExecutor, request, new SplittableRandom(1L),
+                        SimulationProgressListener.NONE);
+
+        // Then
+        assertEquals(9, result.getOutcome().getKpis().getTotalDeliveries());
+        assertEquals(9, result.getOutcome().getOrderOutcomes().size());
+        assertEquals(3, result.getBreakdown().size());
+        double breakdownProfit = 0;
+        for (WarehouseBreakdown breakdown : result.getBreakdown()) {
+            assertEquals(3, breakdown.getTotalDeliveries());
+            breakdownProfit += breakdown.getTotalProfit();
+        }
+        assertEquals(result.getOutcome().getKpis().getTotalProfit(), breakdownProfit, 0.01);
+    }
+
+    private List<String> warehouses(WarehousePartitioning partitioning) {
+        return partitioning.getPartitions().stream()
+                .map(WarehousePartitioning.Partition::getWarehouse)
+                .collect(Collectors.toList());
+    }
+
+    private List<Integer> driverCounts(WarehousePartitioning partitioning) {
+        return partitioning.getPartitions().stream()
+                .map(partition -> partition.getSnapshot().getActiveDrivers().size())
+                .collect(Collectors.toList());
+    }
+
+    private SimulationSnapshot snapshot(List<Driver> drivers, List<Order> orders) {
+        return new SimulationSnapshot(drivers, routes, orders, LocalDate.of(2024, 1, 15));
+    }
+
+    private Route createRoute(String routeId, String startLocation, int baseTimeMinutes) {
+        Route route = new Route(routeId, 10.0, "Low", baseTimeMinutes);
+        route.setStartLocation(startLocation);
+        return route;
+    }
+
+    private List<Order> createOrders(String routeId, int count) {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Order order = new Order(routeId + "-" + i, 600.0, routeId, null);
+            order.setId(routeId + "-" + i);
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    private List<Driver> createDrivers(int count) {
+        List<Driver> drivers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Driver driver = new Driver("Driver " + i, 4.0, 35.0);
+            driver.setId(String.valueOf(i));
+            drivers.add(driver);
+        }
+        return drivers;
+    }
+}
@@ -50,7 +50,7 @@ const Dashboard = () => {
         axios.get('/drivers/count').catch(() => ({ data: 0 })),
         axios.get('/routes/active').catch(() => ({ data: [] })),
         axios.get('/orders/status/PENDING').catch(() => ({ data: [] })),
-        axios.get('/simulation/history').catch(() => ({ data: [] }))
+        axios.get('/simulation/history', { params: { limit: 5 } }).catch(() => ({ data: [] }))
       ]);
 
       const latestSimulation = simulationResponse.data;
@@ -67,7 +67,7 @@ const Dashboard = () => {
         pendingOrders: ordersResponse.data.length
       });
 
-      setSimulationHistory(historyResponse.data.slice(0, 5)); // Last 5 simulations
+      setSimulationHistory(historyResponse.data); // Last 5 simulations
 
     } catch (error) {
       console.error('Error fetching dashboard data:', error);
@@ -14,6 +14,8 @@ import LoadingSpinner from '../components/LoadingSpinner';
 const Drivers = () => {
   const [drivers, setDrivers] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [showModal, setShowModal] = useState(false);
   const [editingDriver, setEditingDriver] = useState(null);
   const [formData, setFormData] = useState({
@@ -33,6 +35,7 @@ const Drivers = () => {
       setLoading(true);
       const response = await axios.get('/drivers');
       setDrivers(response.data);
+      setNextCursor(response.headers['x-next-cursor'] || null);
     } catch (error) {
       console.error('Error fetching drivers:', error);
       toast.error('Failed to load drivers');
@@ -41,6 +44,20 @@ const Drivers = () => {
     }
   };
 
+  const loadMoreDrivers = async () => {
+    try {
+      setLoadingMore(true);
+      const response = await axios.get('/drivers', { params: { cursor: nextCursor } });
+      setDrivers(previous => [...previous, ...response.data]);
+      setNextCursor(response.headers['x-next-cursor'] || null);
+    } catch (error) {
+      console.error('Error fetching drivers:', error);
+      toast.error('Failed to load more drivers');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleSubmit = async (e) => {
     e.preventDefault();
     try {
@@ -229,6 +246,17 @@ const Drivers = () => {
                 ))}
               </tbody>
             </table>
+            {nextCursor && (
+              <div className="flex justify-center py-4 border-t">
+                <button
+                  onClick={loadMoreDrivers}
+                  disabled={loadingMore}
+                  className="px-4 py-2 text-sm text-primary-600 border border-primary-600 rounded-lg hover:bg-primary-50 disabled:opacity-50 transition-colors"
+                >
+                  {loadingMore ? 'Loading...' : 'Load More'}
+                </button>
+              </div>
+            )}
           </div>
         ) : (
           <div className="text-center py-12">
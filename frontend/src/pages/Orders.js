@@ -19,6 +19,8 @@ const Orders = () => {
   const [routes, setRoutes] = useState([]);
   const [drivers, setDrivers] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [showModal, setShowModal] = useState(false);
   const [editingOrder, setEditingOrder] = useState(null);
   const [formData, setFormData] = useState({
@@ -46,6 +48,7 @@ const Orders = () => {
       ]);
       
       setOrders(ordersResponse.data);
+      setNextCursor(ordersResponse.headers['x-next-cursor'] || null);
       setRoutes(routesResponse.data);
       setDrivers(driversResponse.data);
     } catch (error) {
@@ -56,6 +59,20 @@ const Orders = () => {
     }
   };
 
+  const loadMoreOrders = async () => {
+    try {
+      setLoadingMore(true);
+      const response = await axios.get('/orders', { params: { cursor: nextCursor } });
+      setOrders(previous => [...previous, ...response.data]);
+      setNextCursor(response.headers['x-next-cursor'] || null);
+    } catch (error) {
+      console.error('Error fetching orders:', error);
+      toast.error('Failed to load more orders');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleSubmit = async (e) => {
     e.preventDefault();
     try {
@@ -302,6 +319,17 @@ const Orders = () => {
                 })}
               </tbody>
             </table>
+            {nextCursor && (
+              <div className="flex justify-center py-4 border-t">
+                <button
+                  onClick={loadMoreOrders}
+                  disabled={loadingMore}
+                  className="px-4 py-2 text-sm text-primary-600 border border-primary-600 rounded-lg hover:bg-primary-50 disabled:opacity-50 transition-colors"
+                >
+                  {loadingMore ? 'Loading...' : 'Load More'}
+                </button>
+              </div>
+            )}
           </div>
         ) : (
           <div className="text-center py-12">
@@ -16,6 +16,8 @@ import LoadingSpinner from '../components/LoadingSpinner';
 const Routes = () => {
   const [routes, setRoutes] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [showModal, setShowModal] = useState(false);
   const [editingRoute, setEditingRoute] = useState(null);
   const [formData, setFormData] = useState({
@@ -37,6 +39,7 @@ const Routes = () => {
       setLoading(true);
       const response = await axios.get('/routes');
       setRoutes(response.data);
+      setNextCursor(response.headers['x-next-cursor'] || null);
     } catch (error) {
       console.error('Error fetching routes:', error);
       toast.error('Failed to load routes');
@@ -45,6 +48,20 @@ const Routes = () => {
     }
   };
 
+  const loadMoreRoutes = async () => {
+    try {
+      setLoadingMore(true);
+      const response = await axios.get('/routes', { params: { cursor: nextCursor } });
+      setRoutes(previous => [...previous, ...response.data]);
+      setNextCursor(response.headers['x-next-cursor'] || null);
+    } catch (error) {
+      console.error('Error fetching routes:', error);
+      toast.error('Failed to load more routes');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleSubmit = async (e) => {
     e.preventDefault();
     try {
@@ -261,6 +278,17 @@ const Routes = () => {
                 ))}
               </tbody>
             </table>
+            {nextCursor && (
+              <div className="flex justify-center py-4 border-t">
+                <button
+                  onClick={loadMoreRoutes}
+                  disabled={loadingMore}
+                  className="px-4 py-2 text-sm text-primary-600 border border-primary-600 rounded-lg hover:bg-primary-50 disabled:opacity-50 transition-colors"
+                >
+                  {loadingMore ? 'Loading...' : 'Load More'}
+                </button>
+              </div>
+            )}
           </div>
         ) : (
           <div className="text-center py-12">
@@ -1,9 +1,10 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import axios from 'axios';
 import toast from 'react-hot-toast';
 import { useForm } from 'react-hook-form';
 import { 
   PlayIcon, 
+  StopIcon,
   ClockIcon, 
   TruckIcon,
   CurrencyRupeeIcon,
@@ -18,7 +19,11 @@ const Simulation = () => {
   const [loading, setLoading] = useState(false);
   const [simulationResult, setSimulationResult] = useState(null);
   const [simulationHistory, setSimulationHistory] = useState([]);
+  const [historyCursor, setHistoryCursor] = useState(null);
+  const [loadingMoreHistory, setLoadingMoreHistory] = useState(false);
   const [availableDrivers, setAvailableDrivers] = useState(0);
+  const [progress, setProgress] = useState(null);
+  const jobIdRef = useRef(null);
   
   const { register, handleSubmit, formState: { errors }, reset } = useForm({
     defaultValues: {
@@ -42,38 +47,126 @@ const Simulation = () => {
 
       setAvailableDrivers(driversResponse.data);
       setSimulationHistory(historyResponse.data);
+      setHistoryCursor(historyResponse.headers['x-next-cursor'] || null);
     } catch (error) {
       console.error('Error fetching initial data:', error);
       toast.error('Failed to load simulation data');
     }
   };
 
+  const loadMoreHistory = async () => {
+    try {
+      setLoadingMoreHistory(true);
+      const response = await axios.get('/simulation/history/my', { params: { cursor: historyCursor } });
+      setSimulationHistory(previous => [...previous, ...response.data]);
+      setHistoryCursor(response.headers['x-next-cursor'] || null);
+    } catch (error) {
+      console.error('Error fetching simulation history:', error);
+      toast.error('Failed to load more simulation history');
+    } finally {
+      setLoadingMoreHistory(false);
+    }
+  };
+
+  // Read the job's Server-Sent Events until the complete event arrives.
+  // fetch is used instead of EventSource so the bearer token can be sent.
+  const streamJob = async (jobId) => {
+    const response = await fetch(`${axios.defaults.baseURL}/simulation/jobs/${jobId}/events`, {
+      headers: {
+        Accept: 'text/event-stream',
+        Authorization: axios.defaults.headers.common['Authorization']
+      }
+    });
+    if (!response.ok) {
+      throw new Error('Lost connection to simulation progress');
+    }
+
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+
+    while (true) {
+      const { done, value } = await reader.read();
+      if (done) {
+        throw new Error('Simulation progress stream ended unexpectedly');
+      }
+      buffer += decoder.decode(value, { stream: true });
+
+      let boundary;
+      while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+        const block = buffer.slice(0, boundary);
+        buffer = buffer.slice(boundary + 2);
+
+        let eventName = 'message';
+        let data = '';
+        block.split('\n').forEach((line) => {
+          if (line.startsWith('event:')) {
+            eventName = line.slice(6).trim();
+          } else if (line.startsWith('data:')) {
+            data += line.slice(5).trim();
+          }
+        });
+
+        if (eventName === 'progress') {
+          setProgress(JSON.parse(data));
+        } else if (eventName === 'complete') {
+          reader.cancel();
+          return JSON.parse(data);
+        }
+      }
+    }
+  };
+
   const onSubmit = async (data) => {
     try {
       setLoading(true);
+      setProgress(null);
       
-      const response = await axios.post('/simulation/run', {
+      const response = await axios.post('/simulation/jobs', {
         numberOfDrivers: parseInt(data.numberOfDrivers),
         routeStartTime: data.routeStartTime,
         maxHoursPerDriver: parseInt(data.maxHoursPerDriver),
         notes: data.notes
       });
+      jobIdRef.current = response.data.jobId;
 
-      setSimulationResult(response.data);
-      toast.success('Simulation completed successfully!');
-      
-      // Refresh history
-      fetchInitialData();
+      const job = await streamJob(response.data.jobId);
+
+      if (job.status === 'COMPLETED') {
+        setSimulationResult(job.result);
+        toast.success('Simulation completed successfully!');
+        
+        // Refresh history
+        fetchInitialData();
+      } else if (job.status === 'CANCELLED') {
+        toast('Simulation cancelled');
+      } else {
+        toast.error(job.error || 'Simulation failed');
+      }
       
     } catch (error) {
       console.error('Simulation error:', error);
-      const message = error.response?.data?.message || 'Simulation failed';
+      const message = error.response?.data?.message || error.message || 'Simulation failed';
       toast.error(message);
     } finally {
+      jobIdRef.current = null;
+      setProgress(null);
       setLoading(false);
     }
   };
 
+  const cancelSimulation = async () => {
+    if (!jobIdRef.current) {
+      return;
+    }
+    try {
+      await axios.delete(`/simulation/jobs/${jobIdRef.current}`);
+    } catch (error) {
+      console.error('Cancel error:', error);
+      toast.error(error.response?.data?.message || 'Failed to cancel simulation');
+    }
+  };
+
   const formatDateTime = (dateTimeString) => {
     return new Date(dateTimeString).toLocaleString();
   };
@@ -188,8 +281,56 @@ const Simulation = () => {
                   </>
                 )}
               </button>
+
+              {loading && (
+                <button
+                  type="button"
+                  onClick={cancelSimulation}
+                  className="w-full flex items-center justify-center py-2 px-4 border border-red-300 text-red-600 rounded-lg hover:bg-red-50 transition-colors"
+                >
+                  <StopIcon className="w-5 h-5 mr-2" />
+                  Abort Simulation
+                </button>
+              )}
             </form>
 
+            {/* Live Progress */}
+            {loading && progress && (
+              <div className="mt-6 p-4 bg-gray-50 border rounded-lg space-y-3">
+                <div>
+                  <div className="flex justify-between text-sm text-gray-600 mb-1">
+                    <span>{progress.ordersProcessed} / {progress.totalOrders} orders</span>
+                    <span>
+                      {progress.percentComplete.toFixed(0)}%
+                      {progress.etaSeconds != null && ` · ~${progress.etaSeconds}s left`}
+                    </span>
+                  </div>
+                  <div className="w-full bg-gray-200 rounded-full h-2">
+                    <div
+                      className="bg-primary-600 h-2 rounded-full transition-all"
+                      style={{ width: `${progress.percentComplete}%` }}
+                    ></div>
+                  </div>
+                </div>
+                <div className="grid grid-cols-2 gap-2 text-sm">
+                  <div>
+                    <p className="text-gray-600">Running Profit</p>
+                    <p className="font-semibold text-green-600">{formatCurrency(progress.runningProfit)}</p>
+                  </div>
+                  <div>
+                    <p className="text-gray-600">On Time</p>
+                    <p className="font-semibold text-blue-600">{(progress.onTimeRatio * 100).toFixed(1)}%</p>
+                  </div>
+                </div>
+                {Object.entries(progress.fuelCostBreakdown || {}).map(([traffic, cost]) => (
+                  <div key={traffic} className="flex justify-between text-xs text-gray-600">
+                    <span>Fuel ({traffic} traffic)</span>
+                    <span>{formatCurrency(cost)}</span>
+                  </div>
+                ))}
+              </div>
+            )}
+
             {/* Company Rules Info */}
             <div className="mt-6 p-4 bg-blue-50 border border-blue-200 rounded-lg">
               <div className="flex items-start">
@@ -371,6 +512,17 @@ const Simulation = () => {
                 ))}
               </tbody>
             </table>
+            {historyCursor && (
+              <div className="flex justify-center py-4 border-t">
+                <button
+                  onClick={loadMoreHistory}
+                  disabled={loadingMoreHistory}
+                  className="px-4 py-2 text-sm text-primary-600 border border-primary-600 rounded-lg hover:bg-primary-50 disabled:opacity-50 transition-colors"
+                >
+                  {loadingMoreHistory ? 'Loading...' : 'Load More'}
+                </button>
+              </div>
+            )}
           </div>
         ) : (
           <div className="text-center py-8">